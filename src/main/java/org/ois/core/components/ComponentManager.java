@@ -3,8 +3,10 @@ package org.ois.core.components;
 import com.badlogic.gdx.utils.Disposable;
 import org.ois.core.utils.io.data.DataNode;
 import org.ois.core.utils.io.data.IDataObject;
+import org.ois.core.utils.io.data.formats.DataWriter;
 import org.ois.core.utils.log.Logger;
 
+import java.io.IOException;
 import java.util.Hashtable;
 import java.util.Map;
 
@@ -117,4 +119,22 @@ public class ComponentManager<C> implements IDataObject<ComponentManager<C>>, Di
 
         return componentsNode;
     }
+
+    @Override
+    public void write(DataWriter writer) throws IOException {
+        int count = 0;
+        for (IComponent component : this.components.values()) {
+            if (component instanceof IDataObject) {
+                count++;
+            }
+        }
+        writer.beginObject(count);
+        for (Map.Entry<String, IComponent> componentEntry : this.components.entrySet()) {
+            if (componentEntry.getValue() instanceof IDataObject) {
+                writer.key(componentEntry.getKey());
+                ((IDataObject<?>) componentEntry.getValue()).write(writer);
+            }
+        }
+        writer.endObject();
+    }
 }
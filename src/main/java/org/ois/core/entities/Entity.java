@@ -6,9 +6,12 @@ import org.ois.core.project.Entities;
 import org.ois.core.utils.ID;
 import org.ois.core.utils.io.data.DataNode;
 import org.ois.core.utils.io.data.DataObject;
+import org.ois.core.utils.io.data.formats.DataParser;
+import org.ois.core.utils.io.data.formats.DataWriter;
 import org.ois.core.utils.io.data.properties.*;
 import org.ois.core.utils.log.Logger;
 
+import java.io.IOException;
 import java.util.Objects;
 
 /**
@@ -98,6 +101,16 @@ public class Entity extends DataObject {
         return (T) entity;
     }
 
+    @Override
+    protected void loadAttribute(String key, DataParser parser) {
+        if (Components.COMPONENTS_PROPERTY.equals(key) && parser.current() == DataParser.Event.ObjectStart) {
+            // Load components data
+            components.loadData(parser.readNode());
+            return;
+        }
+        super.loadAttribute(key, parser);
+    }
+
     @Override
     public DataNode convertToDataNode() {
         DataNode root = super.convertToDataNode();
@@ -109,4 +122,16 @@ public class Entity extends DataObject {
         return root;
     }
 
+    @Override
+    public void write(DataWriter writer) throws IOException {
+        boolean writeComponents = !components.isEmpty();
+        writer.beginObject(getWrittenPropertyCount() + (writeComponents ? 1 : 0));
+        writeProperties(writer);
+        if (writeComponents) {
+            //Set components data
+            writer.key(Components.COMPONENTS_PROPERTY);
+            components.write(writer);
+        }
+        writer.endObject();
+    }
 }
@@ -8,8 +8,11 @@ import org.ois.core.utils.ID;
 import org.ois.core.utils.io.data.DataBlueprint;
 import org.ois.core.utils.io.data.DataNode;
 import org.ois.core.utils.io.data.IDataObject;
+import org.ois.core.utils.io.data.formats.DataParser;
+import org.ois.core.utils.io.data.formats.DataWriter;
 import org.ois.core.utils.log.Logger;
 
+import java.io.IOException;
 import java.util.*;
 
 /**
@@ -196,12 +199,14 @@ public class EntityManager implements IDataObject<EntityManager>, Disposable {
             loadData(cachedManifest);
             return;
         }
-        // Load from file system
-        DataNode data = Entities.loadManifest(manifest);
-        if (saveCache) {
-            cachedManifest = data;
+        if (!saveCache) {
+            // Load from file system, binding the entities as they are parsed
+            loadData(Entities.parseManifest(manifest));
+            return;
         }
-        loadData(data);
+        // Load from file system and keep the data, frozen so the entities can share it safely
+        cachedManifest = Entities.loadManifest(manifest).freeze();
+        loadData(cachedManifest);
     }
 
     @Override
@@ -213,6 +218,31 @@ public class EntityManager implements IDataObject<EntityManager>, Disposable {
         return (M) this;
     }
 
+    /**
+     * Loads the entities from a manifest parser, each entity is created as soon as its data was parsed.
+     * Only the data of a single entity is materialised at a time, attributes other than the entities are skipped.
+     *
+     * @param parser The parser of the manifest data, positioned before the manifest root object.
+     * @return The updated {@code EntityManager} instance.
+     */
+    public <M extends EntityManager> M loadData(DataParser parser) {
+        dispose();
+        if (parser.next() != DataParser.Event.ObjectStart) {
+            throw new RuntimeException(String.format("can't load entities: expected manifest object but found '%s'", parser.current()));
+        }
+        while (parser.next() == DataParser.Event.Key) {
+            boolean entitiesProperty = Entities.ENTITIES_PROPERTY.equals(parser.getKey());
+            if (parser.next() != DataParser.Event.CollectionStart || !entitiesProperty) {
+                parser.skipValue();
+                continue;
+            }
+            while (parser.next() != DataParser.Event.CollectionEnd) {
+                create(parser.readNode());
+            }
+        }
+        return (M) this;
+    }
+
     @Override
     public DataNode convertToDataNode() {
         DataNode root = DataNode.Object();
@@ -228,6 +258,24 @@ public class EntityManager implements IDataObject<EntityManager>, Disposable {
         return root;
     }
 
+    @Override
+    public void write(DataWriter writer) throws IOException {
+        int count = 0;
+        for (Map<ID, Entity> typeInstances : entities.values()) {
+            count += typeInstances.size();
+        }
+        writer.beginObject(1);
+        writer.key(Entities.ENTITIES_PROPERTY);
+        writer.beginCollection(count);
+        for (Map<ID, Entity> typeInstances : entities.values()) {
+            for (Entity entity : typeInstances.values()) {
+                entity.write(writer);
+            }
+        }
+        writer.endCollection();
+        writer.endObject();
+    }
+
     @Override
     public void dispose() {
         for (Map<ID, Entity> typeInstances : entities.values()) {
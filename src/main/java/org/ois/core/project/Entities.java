@@ -1,5 +1,6 @@
 package org.ois.core.project;
 
+import com.badlogic.gdx.Application;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.files.FileHandle;
 import com.badlogic.gdx.utils.reflect.ReflectionException;
@@ -9,12 +10,15 @@ import org.ois.core.entities.EntityManager;
 import org.ois.core.utils.ReflectionUtils;
 import org.ois.core.utils.io.data.DataBlueprint;
 import org.ois.core.utils.io.data.DataNode;
-import org.ois.core.utils.io.data.formats.JsonFormat;
+import org.ois.core.utils.io.data.formats.DataParser;
 import org.ois.core.utils.log.Logger;
 
 import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
 import java.util.Hashtable;
+import java.util.List;
 import java.util.Map;
+import java.util.stream.IntStream;
 
 /**
  * The {@code Entities} class is responsible for managing and loading entity blueprints and their corresponding
@@ -44,6 +48,9 @@ public class Entities {
     /** The property name for a custom entity class in the entity blueprint. */
     public final static String ENTITY_CUSTOM_CLASS_PROPERTY = "class";
 
+    /** The minimal number of entity types for loading their blueprints in parallel */
+    public static final int PARALLEL_THRESHOLD = 8;
+
     /** A map that holds blueprints indexed by their entity type. */
     private static final Map<String, DataBlueprint<Entity>> blueprints = new Hashtable<>();
 
@@ -60,6 +67,9 @@ public class Entities {
     /**
      * Loads all the entity blueprints from the project directory, parsing the relevant files and creating the
      * corresponding {@code Blueprint} objects.
+     * <p>
+     * When the project has at least {@link #PARALLEL_THRESHOLD} entity types and the platform supports threads (not HTML),
+     * the blueprints are read, parsed and created in parallel. They are registered in the order of the directories either way.
      *
      * @throws ReflectionException If a reflection operation fails while loading the blueprint class.
      * @throws InvocationTargetException If an exception occurs while invoking a method via reflection.
@@ -70,39 +80,119 @@ public class Entities {
     public static void loadBlueprints() throws ReflectionException, InvocationTargetException, NoSuchMethodException, InstantiationException, IllegalAccessException {
         // Entities are optional, make sure the prerequisites are valid before loading
         FileHandle entitiesDir = Gdx.files.internal(ENTITIES_DIRECTORY);
-        if (!entitiesDir.exists() || !entitiesDir.isDirectory()) {
+        if (ProjectBundle.getActive() == null && (!entitiesDir.exists() || !entitiesDir.isDirectory())) {
             // Nothing to do
             return;
         }
-        FileHandle[] entitiesDirContent = entitiesDir.list();
-        if (entitiesDirContent == null || entitiesDirContent.length == 0) {
+        List<FileHandle> blueprintFiles = ProjectBundle.getActive() != null ? getBundledBlueprintFiles(ProjectBundle.getActive()) : getBlueprintFiles(entitiesDir);
+        if (blueprintFiles.isEmpty()) {
             // Nothing to do
             return;
         }
         log.debug(LOG_TOPIC, "Loading Project entities blueprints");
+        @SuppressWarnings("unchecked")
+        DataBlueprint<Entity>[] loaded = (DataBlueprint<Entity>[]) new DataBlueprint[blueprintFiles.size()];
+        if (blueprintFiles.size() >= PARALLEL_THRESHOLD && supportsParallelLoading()) {
+            log.debug(LOG_TOPIC, "Loading '%d' entities blueprints in parallel", blueprintFiles.size());
+            // Failures are kept per blueprint and thrown after the stream, the same as the serial loading
+            Exception[] failures = new Exception[loaded.length];
+            IntStream.range(0, loaded.length).parallel().forEach(i -> {
+                try {
+                    loaded[i] = loadBlueprint(blueprintFiles.get(i));
+                } catch (Exception e) {
+                    failures[i] = e;
+                }
+            });
+            for (Exception failure : failures) {
+                if (failure != null) {
+                    throwFailure(failure);
+                }
+            }
+        } else {
+            for (int i = 0; i < loaded.length; i++) {
+                loaded[i] = loadBlueprint(blueprintFiles.get(i));
+            }
+        }
+        // Register in the order of the directories, the same as a serial load
+        for (int i = 0; i < loaded.length; i++) {
+            blueprints.put(blueprintFiles.get(i).parent().name(), loaded[i]);
+        }
+        log.debug(LOG_TOPIC, "Loaded '%d' entities blueprints", blueprints.size());
+    }
+
+    private static List<FileHandle> getBlueprintFiles(FileHandle entitiesDir) {
+        List<FileHandle> blueprintFiles = new ArrayList<>();
+        FileHandle[] entitiesDirContent = entitiesDir.list();
+        if (entitiesDirContent == null) {
+            return blueprintFiles;
+        }
         for (FileHandle entityDefDir : entitiesDirContent) {
             if (!entityDefDir.isDirectory()) {
                 // entities information should be provided at a child directory named after the entity type
                 continue;
             }
             String entityType = entityDefDir.name();
-            FileHandle entityBlueprintFile = entityDefDir.child(String.format("%s.blueprint.ois", entityType));
+            FileHandle entityBlueprintFile = entityDefDir.child(getBlueprintFileName(entityType));
             if (!entityBlueprintFile.exists() || entityBlueprintFile.isDirectory()) {
                 log.warn(String.format("entity '%s' skipped, can't find valid blueprint at '%s.blueprint.ois'", entityType, entityType));
                 continue;
             }
-            log.debug(LOG_TOPIC, "loading '%s'", entityBlueprintFile);
-            byte[] data = entityBlueprintFile.readBytes();
-            if (data == null) {
-                throw new RuntimeException(String.format("Can't load '%s' blueprint", entityType));
+            blueprintFiles.add(entityBlueprintFile);
+        }
+        return blueprintFiles;
+    }
+
+    private static List<FileHandle> getBundledBlueprintFiles(ProjectBundle bundle) {
+        // The bundle holds the valid blueprints only: 'entities/<type>/<type>.blueprint.ois'
+        List<FileHandle> blueprintFiles = new ArrayList<>();
+        for (String path : bundle.getPaths()) {
+            String[] parts = path.split("/");
+            if (parts.length == 3 && parts[0].equals(ENTITIES_DIRECTORY) && parts[2].equals(getBlueprintFileName(parts[1]))) {
+                blueprintFiles.add(Gdx.files.internal(path));
             }
-            String rawData = new String(data);
-            DataNode dataNode = JsonFormat.compact().deserialize(rawData);
-            DataBlueprint<Entity> entityBlueprint = dataNode.contains(BLUEPRINT_CUSTOM_CLASS_PROPERTY) ? ReflectionUtils.newInstance(dataNode.get(BLUEPRINT_CUSTOM_CLASS_PROPERTY).getString()) : new EntityBlueprint(entityType);
-            log.debug(LOG_TOPIC, "'%s' Blueprint (%s): %s", entityType, entityBlueprint.getClass().getName(), rawData);
-            blueprints.put(entityType, entityBlueprint.loadData(dataNode));
         }
-        log.debug(LOG_TOPIC, "Loaded '%d' entities blueprints", blueprints.size());
+        return blueprintFiles;
+    }
+
+    private static String getBlueprintFileName(String entityType) {
+        return String.format("%s.blueprint.ois", entityType);
+    }
+
+    private static void throwFailure(Exception failure) throws ReflectionException, InvocationTargetException, NoSuchMethodException, InstantiationException, IllegalAccessException {
+        if (failure instanceof ReflectionException) {
+            throw (ReflectionException) failure;
+        }
+        if (failure instanceof InvocationTargetException) {
+            throw (InvocationTargetException) failure;
+        }
+        if (failure instanceof NoSuchMethodException) {
+            throw (NoSuchMethodException) failure;
+        }
+        if (failure instanceof InstantiationException) {
+            throw (InstantiationException) failure;
+        }
+        if (failure instanceof IllegalAccessException) {
+            throw (IllegalAccessException) failure;
+        }
+        throw (RuntimeException) failure;
+    }
+
+    private static DataBlueprint<Entity> loadBlueprint(FileHandle entityBlueprintFile) throws ReflectionException, InvocationTargetException, NoSuchMethodException, InstantiationException, IllegalAccessException {
+        String entityType = entityBlueprintFile.parent().name();
+        log.debug(LOG_TOPIC, "loading '%s'", entityBlueprintFile);
+        DataNode dataNode = ProjectBundle.load(entityBlueprintFile);
+        DataBlueprint<Entity> entityBlueprint = dataNode.contains(BLUEPRINT_CUSTOM_CLASS_PROPERTY) ? ReflectionUtils.newInstance(dataNode.get(BLUEPRINT_CUSTOM_CLASS_PROPERTY).getString()) : new EntityBlueprint(entityType);
+        log.debug(LOG_TOPIC, "'%s' Blueprint (%s): %s", entityType, entityBlueprint.getClass().getName(), dataNode);
+        return entityBlueprint.loadData(dataNode);
+    }
+
+    /**
+     * Checks if the platform can load blueprints on multiple threads, HTML (GWT) runs on a single thread.
+     *
+     * @return true if the blueprints can be loaded in parallel
+     */
+    private static boolean supportsParallelLoading() {
+        return Gdx.app == null || Gdx.app.getType() != Application.ApplicationType.WebGL;
     }
 
     /**
@@ -112,7 +202,7 @@ public class Entities {
      */
     public static void setManagerManifest(EntityManager manager, FileHandle stateManifestDir) {
         FileHandle entityManagerManifest = stateManifestDir.child("entities.manifest.ois");
-        if (!entityManagerManifest.exists() || entityManagerManifest.isDirectory()) {
+        if (!ProjectBundle.exists(entityManagerManifest)) {
             // Nothing to do
             return;
         }
@@ -127,12 +217,20 @@ public class Entities {
      * @return The deserialized {@code DataNode} containing the manifest data.
      */
     public static DataNode loadManifest(FileHandle entityManagerManifest) {
-            byte[] data = entityManagerManifest.readBytes();
-        if (data == null) {
-            throw new RuntimeException(String.format("Can't load manifest '%s'", entityManagerManifest));
-        }
-        String rawData = new String(data);
-        log.debug(LOG_TOPIC, "Loaded entities manifest: %s", rawData);
-        return JsonFormat.compact().deserialize(rawData);
+        DataNode manifest = ProjectBundle.load(entityManagerManifest);
+        log.debug(LOG_TOPIC, "Loaded entities manifest: %s", manifest);
+        return manifest;
+    }
+
+    /**
+     * Creates a pull parser over the manifest of entities from the provided manifest file.
+     * Allows consumers to bind the entities while parsing, without materialising the whole manifest.
+     *
+     * @param entityManagerManifest The file handle pointing to the entities manifest.
+     * @return The {@code DataParser} positioned before the manifest data.
+     */
+    public static DataParser parseManifest(FileHandle entityManagerManifest) {
+        log.debug(LOG_TOPIC, "Parsing entities manifest: %s", entityManagerManifest);
+        return ProjectBundle.parser(entityManagerManifest);
     }
 }
@@ -0,0 +1,269 @@
+package org.ois.core.project;
+
+import com.badlogic.gdx.files.FileHandle;
+import org.ois.core.utils.io.data.DataFiles;
+import org.ois.core.utils.io.data.DataNode;
+import org.ois.core.utils.io.data.formats.BinaryFormat;
+import org.ois.core.utils.io.data.formats.DataParser;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A precompiled bundle of the project data files (manifest, state and entity blueprints, entity manifests).
+ * <p>
+ * The bundle is created at build time (see {@code org.ois.core.utils.io.ProjectBundler}) and loaded with a single read
+ * at startup instead of reading and parsing every loose JSON file. It starts with an index of the bundled files,
+ * followed by the content of each file in the {@link BinaryFormat}:
+ * <pre>
+ * magic, version, entry count, [path length, path (UTF-8), data length] * entry count, [data] * entry count
+ * </pre>
+ * Entries are keyed by the internal path of their file (relative to the simulation directory, with '/' separators)
+ * and are deserialized when accessed.
+ * <p>
+ * When a bundle is active ({@link #setActive(ProjectBundle)}), the project loaders read the bundled files from it and
+ * fall back to the loose files for paths that are not bundled.
+ */
+public class ProjectBundle {
+    /** The name of the bundle file inside the simulation directory */
+    public static final String DEFAULT_FILE_NAME = "project.bundle";
+
+    private static final int MAGIC = 0x4F495350; // "OISP"
+    private static final int VERSION = 1;
+
+    /** The bundle used by the project loaders, null if the project is loaded from loose files */
+    private static ProjectBundle active;
+
+    private final ByteBuffer data;
+    /** The offset and length of each entry data in the bundle, by path */
+    private final Map<String, int[]> index;
+
+    private ProjectBundle(ByteBuffer data, Map<String, int[]> index) {
+        this.data = data;
+        this.index = index;
+    }
+
+    /**
+     * Opens a bundle file, the file is read once and the entries are deserialized when accessed.
+     *
+     * @param file the bundle file
+     * @return the bundle
+     */
+    public static ProjectBundle open(FileHandle file) {
+        return open(DataFiles.read(file));
+    }
+
+    /**
+     * Opens a bundle held in a buffer.
+     *
+     * @param data the bundle content, the position of the buffer is not changed
+     * @return the bundle
+     */
+    public static ProjectBundle open(ByteBuffer data) {
+        ByteBuffer buffer = data.duplicate();
+        if (buffer.remaining() < 12 || buffer.getInt() != MAGIC) {
+            throw new RuntimeException("not a project bundle");
+        }
+        int version = buffer.getInt();
+        if (version != VERSION) {
+            throw new RuntimeException(String.format("unsupported project bundle version %d (expected %d)", version, VERSION));
+        }
+        int count = buffer.getInt();
+        List<String> paths = new ArrayList<>(count);
+        int[] lengths = new int[count];
+        for (int i = 0; i < count; i++) {
+            byte[] path = new byte[buffer.getInt()];
+            buffer.get(path);
+            paths.add(new String(path, StandardCharsets.UTF_8));
+            lengths[i] = buffer.getInt();
+        }
+        Map<String, int[]> index = new LinkedHashMap<>();
+        int offset = buffer.position();
+        for (int i = 0; i < count; i++) {
+            if (offset + lengths[i] > buffer.limit()) {
+                throw new RuntimeException(String.format("project bundle is truncated at entry '%s'", paths.get(i)));
+            }
+            index.put(paths.get(i), new int[]{offset, lengths[i]});
+            offset += lengths[i];
+        }
+        return new ProjectBundle(data, index);
+    }
+
+    /**
+     * Writes data files in the bundle format.
+     *
+     * @param entries the content of the files to bundle by their internal path, written in the iteration order
+     * @param output the stream to write into, not closed by this method
+     * @throws IOException if an I/O error occurs while writing
+     */
+    public static void write(Map<String, DataNode> entries, OutputStream output) throws IOException {
+        List<byte[]> paths = new ArrayList<>(entries.size());
+        List<byte[]> contents = new ArrayList<>(entries.size());
+        int indexSize = 12;
+        for (Map.Entry<String, DataNode> entry : entries.entrySet()) {
+            byte[] path = normalize(entry.getKey()).getBytes(StandardCharsets.UTF_8);
+            paths.add(path);
+            contents.add(BinaryFormat.get().serializeToBytes(entry.getValue()));
+            indexSize += 4 + path.length + 4;
+        }
+        ByteBuffer index = ByteBuffer.allocate(indexSize);
+        index.putInt(MAGIC).putInt(VERSION).putInt(entries.size());
+        for (int i = 0; i < paths.size(); i++) {
+            index.putInt(paths.get(i).length).put(paths.get(i)).putInt(contents.get(i).length);
+        }
+        output.write(index.array());
+        for (byte[] content : contents) {
+            output.write(content);
+        }
+        output.flush();
+    }
+
+    /**
+     * Writes data files in the bundle format.
+     *
+     * @param entries the content of the files to bundle by their internal path
+     * @return the bundle content
+     */
+    public static byte[] toBytes(Map<String, DataNode> entries) {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try {
+            write(entries, output);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        return output.toByteArray();
+    }
+
+    /**
+     * Sets the bundle used by the project loaders.
+     *
+     * @param bundle the bundle, or null to load the project from loose files
+     */
+    public static void setActive(ProjectBundle bundle) {
+        active = bundle;
+    }
+
+    /**
+     * Retrieves the bundle used by the project loaders.
+     *
+     * @return the active bundle, or null if the project is loaded from loose files
+     */
+    public static ProjectBundle getActive() {
+        return active;
+    }
+
+    /**
+     * Checks if a project data file exists, in the active bundle or as a loose file.
+     *
+     * @param file the data file
+     * @return true if the file can be loaded
+     */
+    public static boolean exists(FileHandle file) {
+        if (active != null && active.contains(file.path())) {
+            return true;
+        }
+        return file.exists() && !file.isDirectory();
+    }
+
+    /**
+     * Loads a project data file from the active bundle, or from the file itself if it is not bundled.
+     *
+     * @param file the data file
+     * @return the {@link DataNode} populated with the content of the file
+     */
+    public static DataNode load(FileHandle file) {
+        if (active != null && active.contains(file.path())) {
+            return active.get(file.path());
+        }
+        return DataFiles.load(file);
+    }
+
+    /**
+     * Loads a project data file lazily from the active bundle, or from the file itself if it is not bundled.
+     *
+     * @param file the data file
+     * @return the {@link DataNode} representing the content of the file
+     * @see DataFiles#loadLazy(FileHandle)
+     */
+    public static DataNode loadLazy(FileHandle file) {
+        if (active != null && active.contains(file.path())) {
+            return active.get(file.path());
+        }
+        return DataFiles.loadLazy(file);
+    }
+
+    /**
+     * Creates a pull parser over a project data file from the active bundle, or over the file itself if it is not bundled.
+     *
+     * @param file the data file
+     * @return a {@link DataParser} reporting the structure of the data
+     */
+    public static DataParser parser(FileHandle file) {
+        if (active != null && active.contains(file.path())) {
+            return active.parser(file.path());
+        }
+        return DataFiles.parser(file);
+    }
+
+    /**
+     * Checks if the bundle holds a file.
+     *
+     * @param path the internal path of the file
+     * @return true if the file is bundled
+     */
+    public boolean contains(String path) {
+        return index.containsKey(normalize(path));
+    }
+
+    /**
+     * Retrieves the internal paths of the bundled files.
+     *
+     * @return the paths, in the order of the bundle
+     */
+    public List<String> getPaths() {
+        return Collections.unmodifiableList(new ArrayList<>(index.keySet()));
+    }
+
+    /**
+     * Deserializes a bundled file.
+     *
+     * @param path the internal path of the file
+     * @return the {@link DataNode} populated with the content of the file
+     */
+    public DataNode get(String path) {
+        return BinaryFormat.get().deserialize(entry(path));
+    }
+
+    /**
+     * Creates a pull parser over a bundled file.
+     *
+     * @param path the internal path of the file
+     * @return a {@link DataParser} reporting the structure of the data
+     */
+    public DataParser parser(String path) {
+        return BinaryFormat.get().parser(entry(path));
+    }
+
+    private ByteBuffer entry(String path) {
+        int[] location = index.get(normalize(path));
+        if (location == null) {
+            throw new RuntimeException(String.format("'%s' is not in the project bundle", path));
+        }
+        ByteBuffer entry = data.duplicate();
+        entry.position(location[0]);
+        entry.limit(location[0] + location[1]);
+        return entry;
+    }
+
+    private static String normalize(String path) {
+        return path.replace('\\', '/');
+    }
+}
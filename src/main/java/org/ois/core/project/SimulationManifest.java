@@ -2,6 +2,7 @@ package org.ois.core.project;
 
 import org.ois.core.runner.RunnerConfiguration;
 import org.ois.core.utils.io.data.DataNode;
+import org.ois.core.utils.io.data.DataPath;
 import org.ois.core.utils.io.data.IDataObject;
 
 import java.util.*;
@@ -32,6 +33,16 @@ public class SimulationManifest implements IDataObject<SimulationManifest> {
     /** The height of the screen the simulation needs, in pixels. */
     private int screenHeight;
 
+    /** The manifest attributes, in the order they are read at {@link #loadData(DataNode)} */
+    private static final DataPath.Extractor MANIFEST_PATHS = DataPath.extractor(
+            DataPath.of("initialState"),
+            DataPath.of("states"),
+            DataPath.of("title"),
+            DataPath.of("runner", "platforms"),
+            DataPath.of("runner", "screenWidth"),
+            DataPath.of("runner", "screenHeight")
+    );
+
     /**
      * Loads the data from a {@link DataNode} object and populates the fields of this manifest.
      *
@@ -40,14 +51,15 @@ public class SimulationManifest implements IDataObject<SimulationManifest> {
      */
     @Override
     public <M extends SimulationManifest> M loadData(DataNode data) {
+        DataNode[] values = MANIFEST_PATHS.extract(data);
         // Required
-        initialState = data.get("initialState").getString();
-        states = data.get("states").toStringMap();
+        initialState = values[0].getString();
+        states = values[1].toStringMap();
         // Optional
-        title = data.getProperty("title").getString();
-        platforms = data.getProperty("runner","platforms").toStringCollection(new ArrayList<>()).stream().map(RunnerConfiguration::toPlatform).collect(Collectors.toSet());
-        screenWidth = data.getProperty("runner","screenWidth").getInt();
-        screenHeight = data.getProperty("runner", "screenHeight").getInt();
+        title = values[2] == null ? "" : values[2].getString();
+        platforms = values[3] == null ? new HashSet<>() : values[3].toStringCollection(new ArrayList<>()).stream().map(RunnerConfiguration::toPlatform).collect(Collectors.toSet());
+        screenWidth = values[4] == null ? 0 : values[4].getInt();
+        screenHeight = values[5] == null ? 0 : values[5].getInt();
         return (M) this;
     }
 
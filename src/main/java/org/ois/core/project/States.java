@@ -10,7 +10,6 @@ import org.ois.core.state.managed.IManagedState;
 import org.ois.core.utils.ReflectionUtils;
 import org.ois.core.utils.io.data.DataBlueprint;
 import org.ois.core.utils.io.data.DataNode;
-import org.ois.core.utils.io.data.formats.JsonFormat;
 import org.ois.core.utils.log.Logger;
 
 import java.lang.reflect.InvocationTargetException;
@@ -83,19 +82,14 @@ public class States {
      */
     private static DataBlueprint<IManagedState> loadStateBlueprint(String stateKey) throws ReflectionException, InvocationTargetException, NoSuchMethodException, InstantiationException, IllegalAccessException {
         FileHandle blueprintFile = getStateDirectory(stateKey).child("state.blueprint.ois");
-        if (!blueprintFile.exists() || blueprintFile.isDirectory()) {
+        if (!ProjectBundle.exists(blueprintFile)) {
             // Nothing to do
             return null;
         }
-        byte[] data = blueprintFile.readBytes();
-        if (data == null) {
-            throw new RuntimeException(String.format("Can't load state blueprint '%s'", blueprintFile));
-        }
-        String rawData = new String(data);
         // Create state blueprint from data
-        DataNode dataNode = JsonFormat.compact().deserialize(rawData);
+        DataNode dataNode = ProjectBundle.load(blueprintFile);
         DataBlueprint<IManagedState> blueprint = dataNode.contains(BLUEPRINT_CUSTOM_CLASS_PROPERTY) ? ReflectionUtils.newInstance(dataNode.get(BLUEPRINT_CUSTOM_CLASS_PROPERTY).getString()) : new StateBlueprint();
-        log.debug(LOG_TOPIC, "Loaded state blueprint: %s", rawData);
+        log.debug(LOG_TOPIC, "Loaded state blueprint: %s", dataNode);
         blueprints.put(stateKey, blueprint.loadData(dataNode));
         return blueprint;
     }
@@ -7,10 +7,14 @@ import org.ois.core.utils.ReflectionUtils;
 import org.ois.core.utils.io.data.DataBlueprint;
 import org.ois.core.utils.io.data.DataNode;
 import org.ois.core.utils.io.data.DataObject;
+import org.ois.core.utils.io.data.formats.DataParser;
+import org.ois.core.utils.io.data.formats.DataWriter;
 import org.ois.core.utils.log.Logger;
 
+import java.io.IOException;
 import java.util.Hashtable;
 import java.util.Map;
+import java.util.function.Supplier;
 
 /**
  * Represents a blueprint for creating {@link Entity} instances.
@@ -24,6 +28,10 @@ public class EntityBlueprint extends DataBlueprint<Entity> {
     protected final String defaultType;
     /** The fully qualified name of a custom class to instantiate. */
     protected String customClass;
+    /** The factory of the custom class, resolved on the first created instance */
+    private Supplier<? extends Entity> customFactory;
+    /** The custom class name of the resolved factory */
+    private String customFactoryClass;
     /** The registered blueprints of the entity components **/
     protected Map<String, ComponentBlueprint<Entity>> entityRegisteredComponents = new Hashtable<>();
 
@@ -78,11 +86,15 @@ public class EntityBlueprint extends DataBlueprint<Entity> {
     }
 
     public Entity createCustomEntity() {
-        try {
-            return ReflectionUtils.newInstance(customClass);
-        } catch (Exception e) {
-            throw new RuntimeException(e);
+        if (customFactory == null || !customClass.equals(customFactoryClass)) {
+            try {
+                customFactory = ReflectionUtils.getFactory(customClass);
+                customFactoryClass = customClass;
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
         }
+        return customFactory.get();
     }
 
     /**
@@ -100,6 +112,12 @@ public class EntityBlueprint extends DataBlueprint<Entity> {
         return (B) this;
     }
 
+    @Override
+    public <B extends DataObject> B loadData(DataParser parser) {
+        // The component blueprints are created from the whole node
+        return loadData(parser.readNode());
+    }
+
     // Implement in custom classes if you want to register custom blueprints
     public void registerCustomComponentsBlueprints() {
 
@@ -113,6 +131,12 @@ public class EntityBlueprint extends DataBlueprint<Entity> {
     }
 
 
+    @Override
+    public void write(DataWriter writer) throws IOException {
+        // The blueprint data is built from the registered component blueprints
+        writer.node(convertToDataNode());
+    }
+
     @Override
     public DataNode convertToDataNode() {
         DataNode root = DataNode.Object();
@@ -8,14 +8,22 @@ import org.ois.core.utils.ReflectionUtils;
 import org.ois.core.utils.io.data.DataBlueprint;
 import org.ois.core.utils.io.data.DataNode;
 import org.ois.core.utils.io.data.DataObject;
+import org.ois.core.utils.io.data.formats.DataParser;
+import org.ois.core.utils.io.data.formats.DataWriter;
 
+import java.io.IOException;
 import java.util.Hashtable;
 import java.util.Map;
+import java.util.function.Supplier;
 
 public class StateBlueprint extends DataBlueprint<IManagedState> {
 
     /** The fully qualified name of a custom class to instantiate. */
     protected String customClass;
+    /** The factory of the custom class, resolved on the first created instance */
+    private Supplier<? extends IManagedState> customFactory;
+    /** The custom class name of the resolved factory */
+    private String customFactoryClass;
     /** The registered blueprints of the entity components **/
     protected Map<String, ComponentBlueprint<IManagedState>> stateRegisteredComponents = new Hashtable<>();
 
@@ -44,11 +52,15 @@ public class StateBlueprint extends DataBlueprint<IManagedState> {
     }
 
     public IManagedState createCustomState() {
-        try {
-            return ReflectionUtils.newInstance(customClass);
-        } catch (Exception e) {
-            throw new RuntimeException(e);
+        if (customFactory == null || !customClass.equals(customFactoryClass)) {
+            try {
+                customFactory = ReflectionUtils.getFactory(customClass);
+                customFactoryClass = customClass;
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
         }
+        return customFactory.get();
     }
 
     public void createStateComponent(IManagedState state, String compId, ComponentBlueprint<IManagedState> componentBlueprint) {
@@ -63,6 +75,12 @@ public class StateBlueprint extends DataBlueprint<IManagedState> {
         return (B) this;
     }
 
+    @Override
+    public <B extends DataObject> B loadData(DataParser parser) {
+        // The component blueprints are created from the whole node
+        return loadData(parser.readNode());
+    }
+
     // Implement in custom classes if you want to register custom blueprints
     public void registerCustomComponentsBlueprints() {
 
@@ -75,6 +93,12 @@ public class StateBlueprint extends DataBlueprint<IManagedState> {
         stateRegisteredComponents.put(key, blueprint);
     }
 
+    @Override
+    public void write(DataWriter writer) throws IOException {
+        // The blueprint data is built from the registered component blueprints
+        writer.node(convertToDataNode());
+    }
+
     @Override
     public DataNode convertToDataNode() {
         DataNode root = DataNode.Object();
@@ -1,7 +1,7 @@
 package org.ois.core.runner;
 
 import org.ois.core.project.SimulationManifest;
-import org.ois.core.utils.io.data.formats.JsonFormat;
+import org.ois.core.utils.io.data.formats.DataFormat;
 import org.ois.core.utils.log.ILogger;
 
 import java.io.IOException;
@@ -157,11 +157,17 @@ public class RunnerConfiguration {
     /**
      * Creates a {@link RunnerConfiguration} instance from a simulation configuration file stream.
      *
-     * @param simulationConfigFileStream The input stream of the simulation configuration file.
+     * The file may be in the JSON or the binary format (converted with {@code DataFileConverter}).
+     *
+     * @param simulationConfigFileStream The input stream of the simulation configuration file, closed when done.
      * @return A {@link RunnerConfiguration} instance populated with data from the configuration file.
      * @throws IOException if an error occurs while reading the configuration file.
      */
     public static RunnerConfiguration getRunnerConfigurations(InputStream simulationConfigFileStream) throws IOException {
-        return new RunnerConfiguration().setSimulationManifest(JsonFormat.compact().load(new SimulationManifest(), simulationConfigFileStream));
+        byte[] data;
+        try (InputStream stream = simulationConfigFileStream) {
+            data = stream.readAllBytes();
+        }
+        return new RunnerConfiguration().setSimulationManifest(DataFormat.detect(data).load(new SimulationManifest(), data));
     }
 }
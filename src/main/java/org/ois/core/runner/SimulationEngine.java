@@ -3,16 +3,18 @@ package org.ois.core.runner;
 import com.badlogic.gdx.Application;
 import com.badlogic.gdx.ApplicationAdapter;
 import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
 import com.badlogic.gdx.utils.reflect.ReflectionException;
 import org.ois.core.OIS;
 import org.ois.core.debug.DebugManager;
 import org.ois.core.project.Entities;
+import org.ois.core.project.ProjectBundle;
 import org.ois.core.project.SimulationManifest;
 import org.ois.core.project.States;
 import org.ois.core.state.ErrorState;
 import org.ois.core.state.IState;
 import org.ois.core.state.StateManager;
-import org.ois.core.utils.io.data.formats.JsonFormat;
+import org.ois.core.utils.io.data.DataNode;
 import org.ois.core.utils.log.Logger;
 
 import java.lang.reflect.InvocationTargetException;
@@ -89,6 +91,8 @@ public class SimulationEngine extends ApplicationAdapter {
      * @throws IllegalAccessException if access to the method or constructor is denied.
      */
     public void loadProject() throws ReflectionException, InvocationTargetException, NoSuchMethodException, InstantiationException, IllegalAccessException {
+        // Use the precompiled project data if exists
+        loadProjectBundle();
         // Get/Load project manifest
         SimulationManifest manifest = getSimulationManifest();
         // Load project data
@@ -103,6 +107,20 @@ public class SimulationEngine extends ApplicationAdapter {
         this.stateManager.start(manifest.getInitialState());
     }
 
+    private void loadProjectBundle() {
+        ProjectBundle.setActive(null);
+        if (debugManager != null && debugManager.isDevMode()) {
+            // Dev mode works on the loose files, they change while running
+            return;
+        }
+        FileHandle bundleFile = Gdx.files.internal(ProjectBundle.DEFAULT_FILE_NAME);
+        if (!bundleFile.exists()) {
+            return;
+        }
+        log.info("Loading Project bundle");
+        ProjectBundle.setActive(ProjectBundle.open(bundleFile));
+    }
+
     private SimulationManifest getSimulationManifest() {
         SimulationManifest manifest = configuration.getSimulationManifest();
         if (manifest != null) {
@@ -111,12 +129,9 @@ public class SimulationEngine extends ApplicationAdapter {
         // For HTML, at Launcher we don't have access to resources.
         // This is the first time after the resources are available.
         log.info("Loading Project Manifest");
-        byte[] data = Gdx.files.internal(SimulationManifest.DEFAULT_FILE_NAME).readBytes();
-        if (data == null) {
-            throw new RuntimeException("Can't load project manifest");
-        }
-        log.debug("Manifest:\n" + new String(data));
-        configuration.setSimulationManifest(JsonFormat.compact().load(new SimulationManifest(), data));
+        // Only a few attributes of the manifest are read, the rest is materialised on demand
+        DataNode data = ProjectBundle.loadLazy(Gdx.files.internal(SimulationManifest.DEFAULT_FILE_NAME));
+        configuration.setSimulationManifest(new SimulationManifest().loadData(data));
         return configuration.getSimulationManifest();
     }
 
@@ -6,16 +6,79 @@ import org.ois.core.utils.io.data.DataNode;
 
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 
 /**
  * A utility class for reflection operations.
  * This class provides methods to dynamically create instances of classes
  * using their fully qualified class names.
+ * <p>
+ * The resolved constructors are cached by class name, so creating many instances of a class only looks it up once.
+ * Projects can also register a factory for a class name (for example {@code MyEntity::new}), instances of the class
+ * are then created by a direct call instead of reflection.
  */
 public class ReflectionUtils {
 
+    /** The registered factories of the classes, by class name */
+    private static final Map<String, Supplier<?>> factories = new ConcurrentHashMap<>();
+    /** The resolved default constructors of the classes, by class name */
+    private static final Map<String, Constructor<?>> constructors = new ConcurrentHashMap<>();
+
+    /**
+     * Registers a factory that creates the instances of a class, used instead of its reflected constructor.
+     *
+     * @param className the fully qualified name of the class
+     * @param factory   the factory that creates the instances
+     */
+    public static void registerFactory(String className, Supplier<?> factory) {
+        if (factory == null) {
+            throw new IllegalArgumentException(String.format("can't register a null factory for '%s'", className));
+        }
+        factories.put(className, factory);
+    }
+
+    /**
+     * Retrieves the factory of a class, the class and its default constructor are resolved once and cached.
+     * Keep the factory to create many instances, failures of the constructor are thrown by it as a {@link RuntimeException}.
+     *
+     * @param className the fully qualified name of the class
+     * @param <T>       the type of the instances
+     * @return the registered factory of the class, or a factory that calls its default constructor
+     * @throws ReflectionException if the class cannot be found
+     * @throws NoSuchMethodException if the default constructor is not found
+     */
+    public static <T> Supplier<T> getFactory(String className) throws ReflectionException, NoSuchMethodException {
+        Supplier<?> factory = factories.get(className);
+        if (factory != null) {
+            return (Supplier<T>) factory;
+        }
+        Constructor<?> constructor = getConstructor(className);
+        return () -> {
+            try {
+                return (T) constructor.newInstance();
+            } catch (InvocationTargetException e) {
+                throw new RuntimeException(String.format("can't create '%s'", className), e.getCause());
+            } catch (InstantiationException | IllegalAccessException e) {
+                throw new RuntimeException(String.format("can't create '%s'", className), e);
+            }
+        };
+    }
+
+    private static Constructor<?> getConstructor(String className) throws ReflectionException, NoSuchMethodException {
+        Constructor<?> constructor = constructors.get(className);
+        if (constructor == null) {
+            Class<?> instanceClass = ClassReflection.forName(className);
+            constructor = instanceClass.getDeclaredConstructor();
+            constructors.put(className, constructor);
+        }
+        return constructor;
+    }
+
     /**
      * Creates a new instance of the specified class.
+     * Uses the registered factory of the class if exists, otherwise its cached default constructor.
      *
      * @param className the fully qualified name of the class to instantiate
      * @param <T>       the type of the instance to be created
@@ -27,9 +90,11 @@ public class ReflectionUtils {
      * @throws IllegalAccessException if the constructor is not accessible
      */
     public static <T> T newInstance(String className) throws ReflectionException, NoSuchMethodException, InvocationTargetException, InstantiationException, IllegalAccessException {
-        Class<?> instanceClass = ClassReflection.forName(className);
-        Constructor<?> instanceConstructor = instanceClass.getDeclaredConstructor();
-        return (T) instanceConstructor.newInstance();
+        Supplier<?> factory = factories.get(className);
+        if (factory != null) {
+            return (T) factory.get();
+        }
+        return (T) getConstructor(className).newInstance();
     }
 
     public static <T> T newInstance(DataNode node) throws ReflectionException, InvocationTargetException, NoSuchMethodException, InstantiationException, IllegalAccessException {
@@ -0,0 +1,61 @@
+package org.ois.core.utils.io;
+
+import org.ois.core.utils.io.data.DataNode;
+import org.ois.core.utils.io.data.formats.DataFormat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Utility class for converting project data files (.ois) between data formats.
+ * Used by the project tooling to convert JSON assets to the binary format before bundling them.
+ */
+public class DataFileConverter {
+
+    /** The extension of the project data files */
+    public static final String DATA_FILE_EXTENSION = ".ois";
+
+    /**
+     * Converts a data file to the given format, the format of the source is detected from its content.
+     *
+     * @param source the path of the file to convert
+     * @param target the path where the converted file will be written
+     * @param targetFormat the format of the converted file
+     * @throws IOException if an I/O error occurs while reading or writing the files
+     */
+    public static void convert(Path source, Path target, DataFormat targetFormat) throws IOException {
+        byte[] data = Files.readAllBytes(source);
+        DataNode node = DataFormat.detect(data).deserialize(data);
+        Path parent = target.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Files.write(target, targetFormat.serializeToBytes(node));
+    }
+
+    /**
+     * Converts all the data files (.ois) in the given directory and its subdirectories in place.
+     *
+     * @param directory the directory containing the files to convert
+     * @param targetFormat the format of the converted files
+     * @return the paths of the converted files
+     * @throws IOException if an I/O error occurs while reading or writing the files
+     */
+    public static List<Path> convertDirectory(Path directory, DataFormat targetFormat) throws IOException {
+        List<Path> dataFiles;
+        try (Stream<Path> files = Files.walk(directory)) {
+            dataFiles = files.filter(file -> Files.isRegularFile(file) && file.getFileName().toString().endsWith(DATA_FILE_EXTENSION)).collect(Collectors.toList());
+        }
+        List<Path> converted = new ArrayList<>();
+        for (Path dataFile : dataFiles) {
+            convert(dataFile, dataFile, targetFormat);
+            converted.add(dataFile);
+        }
+        return converted;
+    }
+}
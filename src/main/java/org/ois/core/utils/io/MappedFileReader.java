@@ -0,0 +1,35 @@
+package org.ois.core.utils.io;
+
+import com.badlogic.gdx.Files;
+import com.badlogic.gdx.files.FileHandle;
+import org.ois.core.utils.io.data.DataFiles;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Desktop implementation of {@link DataFiles.BufferReader} that memory maps files.
+ * The mapped content is paged in by the OS on access, so large files are parsed without being copied to the heap.
+ */
+public class MappedFileReader implements DataFiles.BufferReader {
+
+    @Override
+    public ByteBuffer read(FileHandle file) throws IOException {
+        if (file.type() == Files.FileType.Classpath) {
+            // Not on the file system
+            return null;
+        }
+        File source = file.file();
+        if (!source.isFile()) {
+            return null;
+        }
+        try (RandomAccessFile randomAccessFile = new RandomAccessFile(source, "r");
+             FileChannel channel = randomAccessFile.getChannel()) {
+            // The mapping stays valid after the channel is closed
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+    }
+}
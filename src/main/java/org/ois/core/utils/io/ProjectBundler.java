@@ -0,0 +1,159 @@
+package org.ois.core.utils.io;
+
+import org.ois.core.project.Entities;
+import org.ois.core.project.ProjectBundle;
+import org.ois.core.project.SimulationManifest;
+import org.ois.core.project.States;
+import org.ois.core.utils.io.data.DataNode;
+import org.ois.core.utils.io.data.formats.DataFormat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Utility class for compiling the project data files into a {@link ProjectBundle}.
+ * Used by the project tooling when packaging a simulation, the engine loads the bundle with a single read at startup.
+ * <p>
+ * The bundle holds the simulation manifest and every data file (.ois) in the entities and states directories.
+ * The files are parsed while bundling, and when a class loader is given, the classes they reference (states, custom
+ * blueprints and entities) are resolved, so a broken project fails the build instead of the startup.
+ */
+public class ProjectBundler {
+
+    /** The properties that hold the name of a class in the project data files */
+    private static final String[] CLASS_PROPERTIES = {Entities.BLUEPRINT_CUSTOM_CLASS_PROPERTY, Entities.ENTITY_CUSTOM_CLASS_PROPERTY};
+
+    /**
+     * Compiles the data files of a simulation directory into a bundle file, without resolving the referenced classes.
+     *
+     * @param simulationDir the simulation directory holding the manifest file
+     * @param target the path where the bundle will be written
+     * @return the internal paths of the bundled files
+     * @throws IOException if an I/O error occurs while reading or writing the files
+     */
+    public static List<String> bundle(Path simulationDir, Path target) throws IOException {
+        return bundle(simulationDir, target, null);
+    }
+
+    /**
+     * Compiles the data files of a simulation directory into a bundle file.
+     *
+     * @param simulationDir the simulation directory holding the manifest file
+     * @param target the path where the bundle will be written
+     * @param classLoader the class loader of the project, used to resolve the referenced classes, or null to skip it
+     * @return the internal paths of the bundled files
+     * @throws IOException if an I/O error occurs while reading or writing the files
+     */
+    public static List<String> bundle(Path simulationDir, Path target, ClassLoader classLoader) throws IOException {
+        Map<String, DataNode> entries = collect(simulationDir);
+        if (classLoader != null) {
+            for (Map.Entry<String, DataNode> entry : entries.entrySet()) {
+                resolveClasses(entry.getKey(), entry.getValue(), classLoader);
+            }
+        }
+        Path parent = target.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        try (OutputStream output = Files.newOutputStream(target)) {
+            ProjectBundle.write(entries, output);
+        }
+        return new ArrayList<>(entries.keySet());
+    }
+
+    /**
+     * Parses the data files of a simulation directory that are bundled.
+     *
+     * @param simulationDir the simulation directory holding the manifest file
+     * @return the content of the files by their internal path, sorted by path
+     * @throws IOException if an I/O error occurs while reading the files
+     */
+    public static Map<String, DataNode> collect(Path simulationDir) throws IOException {
+        Path manifest = simulationDir.resolve(SimulationManifest.DEFAULT_FILE_NAME);
+        if (!Files.isRegularFile(manifest)) {
+            throw new IllegalArgumentException(String.format("can't find the simulation manifest at '%s'", manifest));
+        }
+        List<Path> dataFiles = new ArrayList<>();
+        dataFiles.add(manifest);
+        for (String directory : new String[]{Entities.ENTITIES_DIRECTORY, States.STATES_DIRECTORY}) {
+            Path dir = simulationDir.resolve(directory);
+            if (!Files.isDirectory(dir)) {
+                continue;
+            }
+            try (Stream<Path> files = Files.walk(dir)) {
+                dataFiles.addAll(files
+                        .filter(file -> Files.isRegularFile(file) && file.getFileName().toString().endsWith(DataFileConverter.DATA_FILE_EXTENSION))
+                        .sorted()
+                        .collect(Collectors.toList()));
+            }
+        }
+        Map<String, DataNode> entries = new LinkedHashMap<>();
+        for (Path dataFile : dataFiles) {
+            String path = simulationDir.relativize(dataFile).toString().replace('\\', '/');
+            byte[] data = Files.readAllBytes(dataFile);
+            try {
+                entries.put(path, DataFormat.detect(data).deserialize(data));
+            } catch (RuntimeException e) {
+                throw new RuntimeException(String.format("can't parse '%s': %s", path, e.getMessage()), e);
+            }
+        }
+        return entries;
+    }
+
+    private static void resolveClasses(String path, DataNode data, ClassLoader classLoader) {
+        if (path.equals(SimulationManifest.DEFAULT_FILE_NAME)) {
+            for (String stateClass : new SimulationManifest().loadData(data).getStates().values()) {
+                resolveClass(path, stateClass, classLoader);
+            }
+            return;
+        }
+        resolveReferencedClasses(path, data, classLoader);
+    }
+
+    private static void resolveReferencedClasses(String path, DataNode node, ClassLoader classLoader) {
+        switch (node.getType()) {
+            case Object:
+                for (Map.Entry<String, DataNode> property : node.properties()) {
+                    DataNode value = property.getValue();
+                    if (isClassProperty(property.getKey()) && value.getType() == DataNode.Type.Primitive) {
+                        resolveClass(path, value.getString(), classLoader);
+                        continue;
+                    }
+                    resolveReferencedClasses(path, value, classLoader);
+                }
+                break;
+            case Collection:
+                for (DataNode item : node) {
+                    resolveReferencedClasses(path, item, classLoader);
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
+    private static boolean isClassProperty(String key) {
+        for (String classProperty : CLASS_PROPERTIES) {
+            if (classProperty.equals(key)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void resolveClass(String path, String className, ClassLoader classLoader) {
+        try {
+            Class.forName(className, false, classLoader);
+        } catch (ClassNotFoundException e) {
+            throw new RuntimeException(String.format("'%s' references the class '%s' that can't be found", path, className), e);
+        }
+    }
+}
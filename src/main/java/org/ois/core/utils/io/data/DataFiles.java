@@ -0,0 +1,269 @@
+package org.ois.core.utils.io.data;
+
+import com.badlogic.gdx.Application;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import org.ois.core.utils.ReflectionUtils;
+import org.ois.core.utils.io.data.formats.BinaryFormat;
+import org.ois.core.utils.io.data.formats.DataFormat;
+import org.ois.core.utils.io.data.formats.DataParser;
+import org.ois.core.utils.io.data.formats.JsonFormat;
+import org.ois.core.utils.io.data.formats.ObjFormat;
+import org.ois.core.utils.io.data.formats.ObjMesh;
+import org.ois.core.utils.io.data.formats.ObjReader;
+import org.ois.core.utils.log.Logger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Utility class for loading data files into {@link DataNode} structures.
+ * On desktop, large files are memory mapped and parsed directly from the mapped buffer,
+ * on the other platforms (HTML/Android) the file content is read into the heap.
+ */
+public class DataFiles {
+    private static final Logger<DataFiles> log = Logger.get(DataFiles.class);
+
+    /** The desktop implementation of {@link BufferReader}, loaded by name to keep it out of the HTML build */
+    public static final String MAPPED_READER_CLASS = "org.ois.core.utils.io.MappedFileReader";
+
+    /**
+     * Provides the content of a file as a {@link ByteBuffer}.
+     */
+    public interface BufferReader {
+        /**
+         * Reads the content of a file.
+         *
+         * @param file the file to read
+         * @return a buffer with the content of the file, or null if the file can't be read by this reader
+         * @throws IOException if an I/O error occurs while reading the file
+         */
+        ByteBuffer read(FileHandle file) throws IOException;
+    }
+
+    /** Files smaller than this size (in bytes) are read into the heap, mapping has a setup cost that small files don't need */
+    private static long mappingThreshold = 1024 * 1024;
+    /** Resolved once, files are read from parallel loaders, the flag is set after the reader is assigned */
+    private static volatile BufferReader mappedReader;
+    private static volatile boolean mappedReaderResolved;
+
+    /**
+     * Sets the minimal file size (in bytes) for memory mapping a file.
+     *
+     * @param threshold the minimal size of files to map
+     */
+    public static void setMappingThreshold(long threshold) {
+        mappingThreshold = threshold;
+    }
+
+    /**
+     * Loads a data file, the format (binary or JSON) is detected from the content of the file.
+     *
+     * @param file the file to load
+     * @return the {@link DataNode} populated with the content of the file
+     */
+    public static DataNode load(FileHandle file) {
+        ByteBuffer data = read(file);
+        if (BinaryFormat.isBinary(data)) {
+            return BinaryFormat.get().deserialize(data);
+        }
+        return load(JsonFormat.compact(), data);
+    }
+
+    /**
+     * Loads a data file in the given format.
+     *
+     * @param format the format of the file
+     * @param file the file to load
+     * @return the {@link DataNode} populated with the content of the file
+     */
+    public static DataNode load(DataFormat format, FileHandle file) {
+        return load(format, read(file));
+    }
+
+    /**
+     * Loads a data file into the given object, the properties of the object are bound while the file is parsed.
+     * The format (binary or JSON) is detected from the content of the file.
+     *
+     * @param object the object to load
+     * @param file the file to load
+     * @return the loaded object
+     */
+    public static <T extends DataObject> T load(T object, FileHandle file) {
+        DataParser parser = parser(file);
+        parser.next();
+        return object.loadData(parser);
+    }
+
+    /**
+     * Loads a data file lazily, the subtrees of JSON files are materialised only when they are accessed.
+     * Use it for large documents that are only partially read, binary files are loaded fully.
+     *
+     * @param file the file to load
+     * @return the {@link DataNode} representing the content of the file
+     * @see JsonFormat#deserializeLazy(String)
+     */
+    public static DataNode loadLazy(FileHandle file) {
+        ByteBuffer data = read(file);
+        if (BinaryFormat.isBinary(data)) {
+            return BinaryFormat.get().deserialize(data);
+        }
+        return JsonFormat.compact().deserializeLazy(readString(data));
+    }
+
+    /**
+     * Loads a Wavefront OBJ file into a packed mesh, without creating a {@link DataNode} per value.
+     *
+     * @param file the OBJ file to load
+     * @return the {@link ObjMesh} with the geometry of the file
+     * @see ObjFormat#deserializeMesh(ByteBuffer)
+     */
+    public static ObjMesh loadMesh(FileHandle file) {
+        return loadMesh(file, null);
+    }
+
+    /**
+     * Loads a Wavefront OBJ file into a packed mesh, large files are parsed in parallel and the progress is reported while parsing.
+     *
+     * @param file the OBJ file to load
+     * @param listener the listener notified of the parse progress, or null
+     * @return the {@link ObjMesh} with the geometry of the file
+     * @see ObjFormat#deserializeMesh(ByteBuffer, ObjReader.ProgressListener)
+     */
+    public static ObjMesh loadMesh(FileHandle file, ObjReader.ProgressListener listener) {
+        return ObjFormat.parallel().deserializeMesh(read(file), listener);
+    }
+
+    /**
+     * Creates a pull parser over a data file, the format (binary or JSON) is detected from the content of the file.
+     *
+     * @param file the file to parse
+     * @return a {@link DataParser} reporting the structure of the data
+     */
+    public static DataParser parser(FileHandle file) {
+        ByteBuffer data = read(file);
+        if (BinaryFormat.isBinary(data)) {
+            return BinaryFormat.get().parser(data);
+        }
+        if (data.hasArray()) {
+            return JsonFormat.compact().parser(new String(data.array(), data.arrayOffset() + data.position(), data.remaining(), StandardCharsets.UTF_8));
+        }
+        return JsonFormat.compact().parser(new InputStreamReader(new ByteBufferInputStream(data), StandardCharsets.UTF_8));
+    }
+
+    private static DataNode load(DataFormat format, ByteBuffer data) {
+        if (data.hasArray()) {
+            return format.deserialize(toArray(data));
+        }
+        // Parse from the buffer (mapped file) without copying the whole content to the heap
+        try {
+            return format.load(new ByteBufferInputStream(data));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String readString(ByteBuffer data) {
+        if (data.hasArray()) {
+            return new String(data.array(), data.arrayOffset() + data.position(), data.remaining(), StandardCharsets.UTF_8);
+        }
+        try {
+            return new String(new ByteBufferInputStream(data).readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static byte[] toArray(ByteBuffer data) {
+        byte[] array = data.array();
+        if (data.arrayOffset() == 0 && data.position() == 0 && data.remaining() == array.length) {
+            return array;
+        }
+        byte[] copy = new byte[data.remaining()];
+        System.arraycopy(array, data.arrayOffset() + data.position(), copy, 0, copy.length);
+        return copy;
+    }
+
+    /**
+     * Reads the content of a file into a buffer, memory mapped on desktop if the file is large enough.
+     *
+     * @param file the file to read
+     * @return a buffer with the content of the file
+     */
+    public static ByteBuffer read(FileHandle file) {
+        if (file.length() >= mappingThreshold) {
+            BufferReader reader = getMappedReader();
+            if (reader != null) {
+                try {
+                    ByteBuffer mapped = reader.read(file);
+                    if (mapped != null) {
+                        return mapped;
+                    }
+                } catch (IOException e) {
+                    log.warn(String.format("Can't map '%s', reading it instead: %s", file, e.getMessage()));
+                }
+            }
+        }
+        byte[] data = file.readBytes();
+        if (data == null) {
+            throw new RuntimeException(String.format("Can't read '%s'", file));
+        }
+        return ByteBuffer.wrap(data);
+    }
+
+    private static BufferReader getMappedReader() {
+        if (!mappedReaderResolved) {
+            resolveMappedReader();
+        }
+        return mappedReader;
+    }
+
+    private static synchronized void resolveMappedReader() {
+        if (mappedReaderResolved) {
+            return;
+        }
+        if (Gdx.app != null && Gdx.app.getType() == Application.ApplicationType.Desktop) {
+            try {
+                mappedReader = ReflectionUtils.newInstance(MAPPED_READER_CLASS);
+            } catch (Exception e) {
+                log.warn(String.format("Memory mapped loading is not available: %s", e.getMessage()));
+            }
+        }
+        mappedReaderResolved = true;
+    }
+
+    /**
+     * An input stream over the remaining bytes of a buffer.
+     */
+    private static class ByteBufferInputStream extends InputStream {
+        private final ByteBuffer buffer;
+
+        ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer.duplicate();
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int count = Math.min(length, buffer.remaining());
+            buffer.get(bytes, offset, count);
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package org.ois.core.utils.io.data;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A shared symbol table for the attribute keys of {@link DataNode} objects.
+ * <p>
+ * Keys are interned to a canonical instance, so large documents (manifests with many entities) hold a single copy of
+ * every property name, and lookups of interned keys succeed on the identity check of {@link String#equals(Object)}.
+ * <p>
+ * To keep the table bounded on data with arbitrary keys, keys longer than {@link #MAX_KEY_LENGTH} are not interned,
+ * and once about {@link #MAX_KEYS} keys are registered new keys are returned as is.
+ * <p>
+ * The table is a concurrent map, interning doesn't take a lock, so parsers running in parallel don't contend on it.
+ */
+public class DataKeys {
+
+    /** The maximal length of a key that will be interned */
+    public static final int MAX_KEY_LENGTH = 64;
+    /** The maximal number of keys in the table */
+    public static final int MAX_KEYS = 1 << 16;
+
+    /** The canonical instance of the interned keys */
+    private static final Map<String, String> canonical = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the canonical instance of the given key.
+     *
+     * @param key the key to intern
+     * @return the canonical instance of the key, or the key itself if it can't be interned
+     */
+    public static String intern(String key) {
+        if (key == null || key.length() > MAX_KEY_LENGTH) {
+            return key;
+        }
+        String interned = canonical.get(key);
+        if (interned != null) {
+            return interned;
+        }
+        if (canonical.size() >= MAX_KEYS) {
+            return key;
+        }
+        // Threads racing on a new key all get the instance that was added first
+        interned = canonical.putIfAbsent(key, key);
+        return interned == null ? key : interned;
+    }
+
+    /**
+     * Returns the number of interned keys.
+     *
+     * @return the number of keys in the table
+     */
+    public static int size() {
+        return canonical.size();
+    }
+}
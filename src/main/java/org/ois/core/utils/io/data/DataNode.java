@@ -19,6 +19,10 @@ import java.util.stream.Collectors;
  *
  * <p>It supports iterable properties for object-like nodes (maps) and iterable content for collection-like nodes.
  * Nodes are mutable and support method chaining for ease of use.
+ *
+ * <p>A node can be frozen with {@link #freeze()}, making its whole subtree immutable so it can be shared safely.
+ * Copies of a frozen node ({@link #mutableCopy()}, {@link #deepCopy()}) share the unchanged children
+ * and copy a frozen child only when it is modified through {@link #getProperty(String...)} (copy-on-write).
  */
 public class DataNode implements Iterable<DataNode> {
 
@@ -33,6 +37,10 @@ public class DataNode implements Iterable<DataNode> {
     protected List<DataNode> content;
     protected Map<String, DataNode> attributes;
     protected final Type nodeType;
+    /** True if the node and its subtree are immutable */
+    protected boolean frozen;
+    /** The cached hash of a frozen node, 0 if not computed yet */
+    protected int hash;
 
     /**
      * Creates a new DataNode of the specified type.
@@ -72,7 +80,9 @@ public class DataNode implements Iterable<DataNode> {
      */
     public static DataNode NodeMap(Map<String, DataNode> values) {
         DataNode mapNode = new DataNode(Type.Object);
-        mapNode.attributes.putAll(values);
+        for (Map.Entry<String, DataNode> entry : values.entrySet()) {
+            mapNode.set(entry.getKey(), entry.getValue());
+        }
         return mapNode;
     }
 
@@ -405,7 +415,8 @@ public class DataNode implements Iterable<DataNode> {
      * @return the DataNode for chaining
      */
     public DataNode set(String key, DataNode attributeValue) {
-        this.attributes.put(key,attributeValue);
+        checkMutable();
+        this.attributes.put(DataKeys.intern(key),attributeValue);
         return this;
     }
 
@@ -453,6 +464,18 @@ public class DataNode implements Iterable<DataNode> {
         return set(key, String.valueOf(attributeValue));
     }
 
+    /**
+     * Retrieves the attribute value corresponding to the given key.
+     * The attribute may be frozen (shared with other trees, see {@link #mutableCopy()}), use
+     * {@link #getProperty(String...)} to get a node that can be modified.
+     *
+     * @param key the attribute key
+     * @return the DataNode of the attribute, or null if not found
+     */
+    public DataNode get(String key) {
+        return this.attributes.get(key);
+    }
+
     /**
      * Retrieves the attribute value corresponding to the given key.
      *
@@ -461,15 +484,22 @@ public class DataNode implements Iterable<DataNode> {
      */
     public DataNode get(String... attributeNodeKeys) {
         DataNode currentNode = this;
-        for (String key : attributeNodeKeys) {
-            if (!currentNode.attributes.containsKey(key)) {
-                return null;
-            }
-            currentNode = currentNode.attributes.get(key);
+        for (int i = 0; i < attributeNodeKeys.length && currentNode != null; i++) {
+            currentNode = currentNode.attributes.get(attributeNodeKeys[i]);
         }
         return currentNode;
     }
 
+    /**
+     * Retrieves the attribute value at the end of the given precompiled path.
+     *
+     * @param path the path of attribute keys to traverse
+     * @return the DataNode at the end of the path, or null if not found
+     */
+    public DataNode get(DataPath path) {
+        return path.resolve(this);
+    }
+
     /**
      * Checks if the node contains the specified property.
      *
@@ -483,6 +513,7 @@ public class DataNode implements Iterable<DataNode> {
     /**
      * Retrieves the property value corresponding to the given key sequence.
      * If the key is not found, a new DataNode is created if necessary.
+     * Frozen nodes along the path of a mutable node are replaced with mutable copies, so the returned node can be modified.
      *
      * @param attributeNodeKeys the sequence of attribute keys to traverse
      * @return the DataNode corresponding to the final key, or a new DataNode if not found
@@ -491,16 +522,33 @@ public class DataNode implements Iterable<DataNode> {
         DataNode currentNode = this;
         for (int i = 0; i < attributeNodeKeys.length; i++) {
             String key = attributeNodeKeys[i];
-            if (!currentNode.attributes.containsKey(key)) {
+            DataNode nextNode = currentNode.attributes.get(key);
+            if (nextNode == null) {
                 // If we have multiple attributes, we can know that an attribute is an Object if it has attributes
                 // So if we are not at the last provided attributeKey, the node is Object
-                currentNode.attributes.put(key, new DataNode(i < attributeNodeKeys.length - 1 ? Type.Object : Type.Unknown));
+                currentNode.checkMutable();
+                nextNode = new DataNode(i < attributeNodeKeys.length - 1 ? Type.Object : Type.Unknown);
+                currentNode.attributes.put(DataKeys.intern(key), nextNode);
+            } else if (nextNode.frozen && !currentNode.frozen) {
+                // Copy on write, the shared child is replaced by a copy owned by this node
+                nextNode = nextNode.mutableCopy();
+                currentNode.attributes.put(key, nextNode);
             }
-            currentNode = currentNode.attributes.get(key);
+            currentNode = nextNode;
         }
         return currentNode;
     }
 
+    /**
+     * Retrieves the property value at the end of the given precompiled path, creating the missing nodes if necessary.
+     *
+     * @param path the path of attribute keys to traverse
+     * @return the DataNode at the end of the path
+     */
+    public DataNode getProperty(DataPath path) {
+        return path.getOrCreate(this);
+    }
+
     /**
      * Returns the number of properties that the node contains.
      *
@@ -547,7 +595,7 @@ public class DataNode implements Iterable<DataNode> {
      * @return an Attributes object, iterable on the node attributes
      */
     public Attributes properties() {
-        return new Attributes(this.attributes);
+        return new Attributes(frozen ? Collections.unmodifiableMap(this.attributes) : this.attributes);
     }
 
 
@@ -558,6 +606,7 @@ public class DataNode implements Iterable<DataNode> {
      * @return the removed DataNode, or null if the attribute was not present
      */
     public DataNode remove(String key) {
+        checkMutable();
         return this.attributes.remove(key);
     }
 
@@ -567,6 +616,7 @@ public class DataNode implements Iterable<DataNode> {
      * @return this DataNode, for method chaining
      */
     public DataNode clearAttributes() {
+        checkMutable();
         this.attributes.clear();
         return this;
     }
@@ -581,6 +631,7 @@ public class DataNode implements Iterable<DataNode> {
      * @param <T> the type of primitive values being added
      */
     public <T> DataNode add(Collection<T> primitiveValues) {
+        checkMutable();
         for(T data : primitiveValues) {
             this.content.add(DataNode.Primitive(String.valueOf(data)));
         }
@@ -594,6 +645,7 @@ public class DataNode implements Iterable<DataNode> {
      * @return this node, for chaining
      */
     public DataNode add(DataNode... values) {
+        checkMutable();
         this.content.addAll(List.of(values));
         return this;
     }
@@ -658,6 +710,7 @@ public class DataNode implements Iterable<DataNode> {
      * @return the DataNode at the specified index
      */
     public DataNode set(int index, DataNode value) {
+        checkMutable();
         return this.content.set(index, value);
     }
 
@@ -707,6 +760,7 @@ public class DataNode implements Iterable<DataNode> {
 
     /**
      * Retrieves the DataNode value at the specified index in the collection node.
+     * The value may be frozen (shared with other trees, see {@link #mutableCopy()}).
      *
      * @param index the index of the value to retrieve
      * @return the DataNode at the specified index
@@ -767,7 +821,7 @@ public class DataNode implements Iterable<DataNode> {
     /** For nodes that represents Collection, go over the content values  **/
     @Override
     public Iterator<DataNode> iterator() {
-        return this.content.iterator();
+        return frozen ? Collections.unmodifiableList(this.content).iterator() : this.content.iterator();
     }
 
     /**
@@ -776,6 +830,7 @@ public class DataNode implements Iterable<DataNode> {
      * @return this DataNode, for method chaining
      */
     public DataNode clearContent() {
+        checkMutable();
         this.content.clear();
         return this;
     }
@@ -789,6 +844,7 @@ public class DataNode implements Iterable<DataNode> {
      * @return the DataNode for chaining
      */
     public DataNode setValue(String primitiveValue) {
+        checkMutable();
         this.value = primitiveValue;
         return this;
     }
@@ -876,35 +932,141 @@ public class DataNode implements Iterable<DataNode> {
 
     /**
      * Provides a deep copy of the DataNode.
+     * The whole tree is cloned, including its frozen parts, so the copy is mutable and independent of this node.
+     * Use {@link #mutableCopy()} to share the frozen parts instead.
      *
      * @return a new DataNode that is a copy of this node
      */
     public DataNode deepCopy() {
         DataNode copy = new DataNode(this.nodeType);
-        if (this.nodeType == Type.Primitive) {
-            copy.setValue(this.value);
-        } else if (this.nodeType == Type.Collection) {
-            for (DataNode child : this.content) {
-                copy.add(child.deepCopy());
-            }
-        } else if (this.nodeType == Type.Object) {
-            for (Map.Entry<String, DataNode> entry : this.attributes.entrySet()) {
-                copy.set(entry.getKey(), entry.getValue().deepCopy());
-            }
+        copy.value = this.value;
+        for (DataNode child : this.content) {
+            copy.content.add(child.deepCopy());
+        }
+        for (Map.Entry<String, DataNode> entry : this.attributes.entrySet()) {
+            copy.attributes.put(entry.getKey(), entry.getValue().deepCopy());
         }
         return copy;
     }
 
     public DataNode removeAttributes(String ...attributes) {
+        checkMutable();
         for (String attribute : attributes) {
             this.attributes.remove(attribute);
         }
         return this;
     }
 
+    // Persistent (frozen) nodes
+
+    /**
+     * Makes this node and its whole subtree immutable.
+     * A frozen node can be shared between any number of trees and threads, modifying it throws an {@link IllegalStateException}.
+     *
+     * @return this DataNode, for method chaining
+     */
+    public DataNode freeze() {
+        if (frozen) {
+            return this;
+        }
+        frozen = true;
+        if (content instanceof ArrayList) {
+            ((ArrayList<DataNode>) content).trimToSize();
+        }
+        for (DataNode child : content) {
+            child.freeze();
+        }
+        for (DataNode child : attributes.values()) {
+            child.freeze();
+        }
+        return this;
+    }
+
+    /**
+     * Checks if the node is frozen (immutable).
+     *
+     * @return true if the node can't be modified, false otherwise
+     */
+    public boolean isFrozen() {
+        return frozen;
+    }
+
+    /**
+     * Provides a mutable copy of the DataNode.
+     * For a frozen node, only this node is copied and its (frozen) children are shared with the copy,
+     * children are copied on write when accessed through {@link #getProperty(String...)}.
+     * For a mutable node, this is the same as {@link #deepCopy()}.
+     *
+     * @return a new mutable DataNode that is a copy of this node
+     */
+    public DataNode mutableCopy() {
+        if (!frozen) {
+            return deepCopy();
+        }
+        DataNode copy = new DataNode(this.nodeType);
+        copy.value = this.value;
+        copy.content.addAll(this.content);
+        copy.attributes.putAll(this.attributes);
+        return copy;
+    }
+
+    /**
+     * Provides a frozen copy of the DataNode, this node is not modified.
+     * The frozen parts of the tree are shared with the copy, only the mutable nodes are copied.
+     *
+     * @return this node if it is frozen, otherwise a new frozen DataNode that is a copy of this node
+     */
+    public DataNode frozenCopy() {
+        if (frozen) {
+            return this;
+        }
+        DataNode copy = new DataNode(this.nodeType);
+        copy.value = this.value;
+        for (DataNode child : this.content) {
+            copy.content.add(child.frozenCopy());
+        }
+        for (Map.Entry<String, DataNode> entry : this.attributes.entrySet()) {
+            copy.attributes.put(entry.getKey(), entry.getValue().frozenCopy());
+        }
+        return copy.freeze();
+    }
+
+    /**
+     * Throws if the node is frozen, called before every modification of the node.
+     */
+    protected void checkMutable() {
+        if (frozen) {
+            throw new IllegalStateException("Can't modify a frozen DataNode, use mutableCopy() to get a modifiable copy");
+        }
+    }
+
     @Override
     public int hashCode() {
-        return Objects.hash(nodeType, value, content, attributes);
+        if (frozen && hash != 0) {
+            return hash;
+        }
+        // Hash only what equals compares, the type ordinal keeps the hash stable between runs.
+        // Containers built with getProperty(key) are Unknown typed, they are hashed by the type of their content
+        Type type = getType();
+        int computed;
+        switch (type) {
+            case Primitive:
+                computed = 31 * type.ordinal() + Objects.hashCode(value);
+                break;
+            case Object:
+                computed = 31 * type.ordinal() + attributes.hashCode();
+                break;
+            case Collection:
+                computed = 31 * type.ordinal() + content.hashCode();
+                break;
+            default:
+                computed = type.ordinal();
+        }
+        if (frozen) {
+            // Frozen subtrees can't change, so their hash is computed once (Merkle style, parents reuse the cached hashes of children)
+            hash = computed;
+        }
+        return computed;
     }
 
     /**
@@ -939,32 +1101,33 @@ public class DataNode implements Iterable<DataNode> {
         if (this == obj) {
             return true;
         }
-        if (obj == null || getClass() != obj.getClass()) {
+        // Equality is structural, nodes that are backed by a different representation (lazy nodes) are equal to plain nodes
+        if (!(obj instanceof DataNode)) {
             return false;
         }
         DataNode other = (DataNode) obj;
 
-        // Check node type
-        if (nodeType != other.nodeType) {
+        // Check the type, resolved by content for Unknown typed containers (built with getProperty(key))
+        Type type = getType();
+        if (type != other.getType()) {
             return false;
         }
-
-        // Compare value for Primitive type
-        if (nodeType == Type.Primitive) {
-            return Objects.equals(value, other.value);
-        }
-
-        // Compare attributes for Object type
-        if (nodeType == Type.Object) {
-            return Objects.equals(attributes, other.attributes);
+        // Frozen nodes have cached hashes, different hashes short-circuit the structural comparison
+        if (frozen && other.frozen && hashCode() != other.hashCode()) {
+            return false;
         }
 
-        // Compare content for Collection type
-        if (nodeType == Type.Collection) {
-            return Objects.equals(content, other.content);
+        switch (type) {
+            case Primitive:
+                // Values and collections may hold meta-attributes
+                return Objects.equals(value, other.value) && Objects.equals(attributes, other.attributes);
+            case Object:
+                return Objects.equals(attributes, other.attributes);
+            case Collection:
+                return Objects.equals(content, other.content) && Objects.equals(attributes, other.attributes);
+            default:
+                // Empty nodes
+                return true;
         }
-
-        // For Unknown type, it's ambiguous, so return false
-        return nodeType == Type.Unknown;
     }
 }
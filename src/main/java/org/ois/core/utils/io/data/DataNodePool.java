@@ -0,0 +1,91 @@
+package org.ois.core.utils.io.data;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A content-addressed pool of frozen {@link DataNode} trees.
+ * <p>
+ * Equal subtrees are replaced with a single canonical (frozen) instance, so duplicated data (blueprints that share
+ * components, repeated entity definitions) is stored once, and comparing pooled nodes is an identity check.
+ * Lookups use the cached hashes of frozen nodes, so each subtree is hashed once.
+ */
+public class DataNodePool {
+
+    private final Map<DataNode, DataNode> pool = new HashMap<>();
+    private int hits;
+
+    /**
+     * Returns the canonical instance of the given tree, adding a frozen copy of it to the pool if no equal tree is pooled.
+     * The children of the tree are pooled as well. The given tree is not modified, it is pooled itself only if it is
+     * already frozen and made of pooled children.
+     *
+     * @param node the tree to pool
+     * @return the canonical frozen instance that is equal to the given tree
+     */
+    public DataNode intern(DataNode node) {
+        if (node == null) {
+            return null;
+        }
+        // Built bottom up from the pooled children, so the lookup reuses their cached hashes
+        DataNode candidate = new DataNode(node.nodeType);
+        candidate.value = node.value;
+        boolean shared = node.isFrozen();
+        for (DataNode child : node.content) {
+            DataNode pooledChild = intern(child);
+            shared &= pooledChild == child;
+            candidate.content.add(pooledChild);
+        }
+        for (Map.Entry<String, DataNode> attribute : node.attributes.entrySet()) {
+            DataNode pooledChild = intern(attribute.getValue());
+            shared &= pooledChild == attribute.getValue();
+            candidate.attributes.put(attribute.getKey(), pooledChild);
+        }
+        if (shared) {
+            candidate = node;
+        }
+        DataNode pooled = pool.get(candidate.freeze());
+        if (pooled != null) {
+            hits++;
+            return pooled;
+        }
+        pool.put(candidate, candidate);
+        return candidate;
+    }
+
+    /**
+     * Checks if an equal tree is pooled.
+     *
+     * @param node the tree to look for
+     * @return true if an equal tree is pooled, false otherwise
+     */
+    public boolean contains(DataNode node) {
+        return pool.containsKey(node);
+    }
+
+    /**
+     * Returns the number of distinct trees (including subtrees) in the pool.
+     *
+     * @return the size of the pool
+     */
+    public int size() {
+        return pool.size();
+    }
+
+    /**
+     * Returns the number of times a tree was resolved to an already pooled instance.
+     *
+     * @return the number of deduplicated trees
+     */
+    public int getHits() {
+        return hits;
+    }
+
+    /**
+     * Removes all the trees from the pool.
+     */
+    public void clear() {
+        pool.clear();
+        hits = 0;
+    }
+}
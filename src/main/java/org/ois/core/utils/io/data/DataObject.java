@@ -1,19 +1,112 @@
 package org.ois.core.utils.io.data;
 
+import org.ois.core.utils.io.data.formats.DataParser;
+import org.ois.core.utils.io.data.formats.DataWriter;
 import org.ois.core.utils.io.data.properties.Property;
 
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
+import java.util.Objects;
 
 public class DataObject implements IDataObject<DataObject> {
 
+    /**
+     * Listener that is notified when a registered property of a data object changes.
+     */
+    public interface ChangeListener {
+        /**
+         * Called after a registered property of the object changed.
+         *
+         * @param object the object that changed
+         * @param propertyIndex the index of the property that changed, in the order of registration
+         */
+        void onChange(DataObject object, int propertyIndex);
+    }
+
     List<Property> managedProperties = new ArrayList<>();
+    /** The schema of the registered properties, resolved on the first load from a parser */
+    private DataSchema schema;
+    /** The indexes of the properties that changed since the last {@link #clearDirty()} */
+    private final BitSet dirtyProperties = new BitSet();
+    private final List<ChangeListener> listeners = new ArrayList<>(1);
 
     public <P extends Property> P registerProperty(P property) {
+        int index = managedProperties.size();
         managedProperties.add(property);
+        // Added next to the listeners of the property, a property can be observed by other objects too
+        property.addChangeListener(changed -> onPropertyChange(index));
+        schema = null;
         return property;
     }
 
+    private void onPropertyChange(int index) {
+        dirtyProperties.set(index);
+        for (int i = 0; i < listeners.size(); i++) {
+            listeners.get(i).onChange(this, index);
+        }
+    }
+
+    /**
+     * Adds a listener that is notified when a registered property changes, listeners are notified in the order they were added.
+     *
+     * @param listener the listener to add
+     */
+    public void addChangeListener(ChangeListener listener) {
+        listeners.add(Objects.requireNonNull(listener));
+    }
+
+    /**
+     * Removes a listener that was added with {@link #addChangeListener(ChangeListener)}.
+     *
+     * @param listener the listener to remove
+     */
+    public void removeChangeListener(ChangeListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Checks if any registered property changed since the last {@link #clearDirty()}.
+     *
+     * @return true if the object changed, false otherwise
+     */
+    public boolean isDirty() {
+        return !dirtyProperties.isEmpty();
+    }
+
+    /**
+     * Returns the indexes (in the order of registration, see {@link #getSchema()}) of the properties that changed
+     * since the last {@link #clearDirty()}. The returned set is owned by the object and must not be modified.
+     *
+     * @return the indexes of the changed properties
+     */
+    public BitSet getDirtyProperties() {
+        return dirtyProperties;
+    }
+
+    /**
+     * Marks the object and all of its registered properties as unchanged, usually after the changes were processed.
+     */
+    public void clearDirty() {
+        dirtyProperties.clear();
+        for (Property property : managedProperties) {
+            property.clearDirty();
+        }
+    }
+
+    /**
+     * Returns the schema of the registered properties, shared with the other instances of the class.
+     *
+     * @return the schema of the object
+     */
+    public DataSchema getSchema() {
+        if (schema == null) {
+            schema = DataSchema.of(getClass(), managedProperties);
+        }
+        return schema;
+    }
+
     @Override
     public <T extends DataObject> T loadData(DataNode dataNode) {
         for (Property property : managedProperties) {
@@ -22,12 +115,97 @@ public class DataObject implements IDataObject<DataObject> {
         return (T) this;
     }
 
+    /**
+     * Loads the registered properties directly from a parser, in a single pass and without materialising a {@link DataNode}.
+     * Attributes that are not registered properties are passed to {@link #loadAttribute(String, DataParser)}.
+     * Classes that override {@link #loadData(DataNode)} to load more than their registered properties
+     * should handle the additional attributes there (or override this method).
+     *
+     * @param parser the parser of the data, positioned at the {@link DataParser.Event#ObjectStart} event of the object
+     * @return the loaded object, the parser is left at the matching {@link DataParser.Event#ObjectEnd} event
+     */
+    public <T extends DataObject> T loadData(DataParser parser) {
+        if (parser.current() != DataParser.Event.ObjectStart) {
+            throw new RuntimeException(String.format("can't load '%s': expected object but found '%s'", getClass().getName(), parser.current()));
+        }
+        DataSchema dataSchema = getSchema();
+        boolean[] loaded = new boolean[dataSchema.size()];
+        while (parser.next() == DataParser.Event.Key) {
+            String key = parser.getKey();
+            int index = dataSchema.indexOf(key);
+            parser.next();
+            if (index == DataSchema.NOT_FOUND) {
+                loadAttribute(key, parser);
+                continue;
+            }
+            managedProperties.get(index).loadData(parser);
+            loaded[index] = true;
+        }
+        for (int i = 0; i < loaded.length; i++) {
+            if (!loaded[i]) {
+                managedProperties.get(i).loadMissing();
+            }
+        }
+        return (T) this;
+    }
+
+    /**
+     * Loads an attribute that is not a registered property, the value is skipped by default.
+     *
+     * @param key the key of the attribute
+     * @param parser the parser positioned at the event that starts the value, must be left at the end of the value
+     */
+    protected void loadAttribute(String key, DataParser parser) {
+        parser.skipValue();
+    }
+
     @Override
     public DataNode convertToDataNode() {
-        DataNode root = new DataNode();
+        DataNode root = DataNode.Object();
         for (Property property : managedProperties) {
             property.appendPropertyToDataNode(root);
         }
         return root;
     }
+
+    /**
+     * Writes the registered properties directly into the writer, without building a {@link DataNode}.
+     * Classes that override {@link #convertToDataNode()} to add more than their registered properties must override this too.
+     *
+     * @param writer the writer to write into
+     * @throws IOException if an I/O error occurs while writing
+     */
+    @Override
+    public void write(DataWriter writer) throws IOException {
+        writer.beginObject(getWrittenPropertyCount());
+        writeProperties(writer);
+        writer.endObject();
+    }
+
+    /**
+     * Returns the number of registered properties that are part of the serialized data.
+     *
+     * @return the number of attributes written by {@link #writeProperties(DataWriter)}
+     */
+    protected int getWrittenPropertyCount() {
+        int count = 0;
+        for (Property property : managedProperties) {
+            if (property.isWritten()) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Writes the attributes of the registered properties into the currently open object of the writer.
+     *
+     * @param writer the writer to write into
+     * @throws IOException if an I/O error occurs while writing
+     */
+    protected void writeProperties(DataWriter writer) throws IOException {
+        for (Property property : managedProperties) {
+            property.writeProperty(writer);
+        }
+    }
 }
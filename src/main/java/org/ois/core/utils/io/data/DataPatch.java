@@ -0,0 +1,253 @@
+package org.ois.core.utils.io.data;
+
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Structural diff and patch of {@link DataNode} trees.
+ * <p>
+ * A patch is itself a {@link DataNode} (Object), so it can be serialized with any data format.
+ * The patch of a node holds only the operations needed to turn one tree into the other:
+ * <ul>
+ *   <li>{@value #REPLACE} - the node is replaced with the given node (type or primitive value changed).</li>
+ *   <li>{@value #DELETE} - the node is deleted (the target tree is null).</li>
+ *   <li>{@value #SET} - attributes (or collection indexes) that were added or changed, mapped to their new node.</li>
+ *   <li>{@value #REMOVE} - collection of attributes that were removed.</li>
+ *   <li>{@value #PATCH} - attributes (or collection indexes) mapped to the patch of the child node.</li>
+ *   <li>{@value #LENGTH} - the new length of a collection that changed its size.</li>
+ * </ul>
+ * Identical (or shared, see {@link DataNode#freeze()}) subtrees are skipped without being walked.
+ */
+public class DataPatch {
+
+    public static final String REPLACE = "replace";
+    public static final String DELETE = "delete";
+    public static final String SET = "set";
+    public static final String REMOVE = "remove";
+    public static final String PATCH = "patch";
+    public static final String LENGTH = "length";
+
+    /**
+     * Computes the patch that turns the source tree into the target tree.
+     *
+     * @param source the original tree
+     * @param target the modified tree
+     * @return the patch, or null if the trees are equal
+     */
+    public static DataNode diff(DataNode source, DataNode target) {
+        if (source == target) {
+            return null;
+        }
+        if (target == null) {
+            return DataNode.Object().set(DELETE, true);
+        }
+        // Classify by content, containers built with getProperty(key).add(...) keep the Unknown node type
+        DataNode.Type type = target.getType();
+        if (source == null || source.getType() != type) {
+            return replace(target);
+        }
+        switch (type) {
+            case Object:
+                return diffObject(source, target);
+            case Collection:
+                return diffCollection(source, target);
+            default:
+                return Objects.equals(source.value, target.value) ? null : replace(target);
+        }
+    }
+
+    private static DataNode replace(DataNode target) {
+        return DataNode.Object().set(REPLACE, target);
+    }
+
+    private static DataNode diffObject(DataNode source, DataNode target) {
+        DataNode patch = DataNode.Object();
+        for (Map.Entry<String, DataNode> attribute : target.attributes.entrySet()) {
+            DataNode sourceValue = source.attributes.get(attribute.getKey());
+            if (sourceValue == null) {
+                section(patch, SET).set(attribute.getKey(), attribute.getValue());
+            } else {
+                diffChild(patch, attribute.getKey(), sourceValue, attribute.getValue());
+            }
+        }
+        for (String key : source.attributes.keySet()) {
+            if (!target.attributes.containsKey(key)) {
+                DataNode removed = patch.get(REMOVE);
+                if (removed == null) {
+                    removed = DataNode.Collection();
+                    patch.set(REMOVE, removed);
+                }
+                removed.add(key);
+            }
+        }
+        return patch.getPropertyCount() == 0 ? null : patch;
+    }
+
+    private static DataNode diffCollection(DataNode source, DataNode target) {
+        DataNode patch = DataNode.Object();
+        int sourceCount = source.content.size();
+        int targetCount = target.content.size();
+        if (sourceCount != targetCount) {
+            patch.set(LENGTH, targetCount);
+        }
+        for (int i = 0; i < targetCount; i++) {
+            if (i >= sourceCount) {
+                section(patch, SET).set(String.valueOf(i), target.content.get(i));
+            } else {
+                diffChild(patch, String.valueOf(i), source.content.get(i), target.content.get(i));
+            }
+        }
+        return patch.getPropertyCount() == 0 ? null : patch;
+    }
+
+    /**
+     * Returns the given operation section of the patch, creating it if needed.
+     */
+    private static DataNode section(DataNode patch, String operation) {
+        DataNode section = patch.get(operation);
+        if (section == null) {
+            section = DataNode.Object();
+            patch.set(operation, section);
+        }
+        return section;
+    }
+
+    private static void diffChild(DataNode patch, String key, DataNode source, DataNode target) {
+        if (source == target) {
+            return;
+        }
+        DataNode.Type type = target.getType();
+        boolean container = type == DataNode.Type.Object || type == DataNode.Type.Collection;
+        DataNode childPatch = diff(source, target);
+        if (childPatch == null) {
+            return;
+        }
+        if (container && source.getType() == type) {
+            section(patch, PATCH).set(key, childPatch);
+        } else {
+            section(patch, SET).set(key, target);
+        }
+    }
+
+    /**
+     * Applies a patch to a tree.
+     * The tree is modified in place when possible, frozen trees are copied on write and not modified.
+     * The nodes held by the patch are inserted into the tree as is, not copied.
+     *
+     * @param target the tree to patch
+     * @param patch the patch to apply, null for no changes
+     * @return the patched tree, a different node than the target if the node was replaced or frozen, null if it was deleted
+     */
+    public static DataNode apply(DataNode target, DataNode patch) {
+        if (patch == null) {
+            return target;
+        }
+        if (patch.contains(DELETE)) {
+            return null;
+        }
+        if (patch.contains(REPLACE)) {
+            return patch.get(REPLACE);
+        }
+        DataNode result = target.isFrozen() ? target.mutableCopy() : target;
+        if (result.getType() == DataNode.Type.Collection) {
+            applyCollection(result, patch);
+        } else {
+            applyObject(result, patch);
+        }
+        return result;
+    }
+
+    private static void applyObject(DataNode target, DataNode patch) {
+        DataNode removed = patch.get(REMOVE);
+        if (removed != null) {
+            for (DataNode key : removed) {
+                target.remove(key.getString());
+            }
+        }
+        DataNode set = patch.get(SET);
+        if (set != null) {
+            for (Map.Entry<String, DataNode> attribute : set.attributes.entrySet()) {
+                target.set(attribute.getKey(), attribute.getValue());
+            }
+        }
+        DataNode patches = patch.get(PATCH);
+        if (patches != null) {
+            for (Map.Entry<String, DataNode> attribute : patches.attributes.entrySet()) {
+                DataNode child = target.get(attribute.getKey());
+                if (child == null) {
+                    throw new IllegalArgumentException(String.format("Can't apply patch, attribute '%s' not found", attribute.getKey()));
+                }
+                target.set(attribute.getKey(), apply(child, attribute.getValue()));
+            }
+        }
+    }
+
+    private static void applyCollection(DataNode target, DataNode patch) {
+        DataNode length = patch.get(LENGTH);
+        if (length != null) {
+            int count = length.getInt();
+            while (target.content.size() > count) {
+                target.content.remove(target.content.size() - 1);
+            }
+            while (target.content.size() < count) {
+                target.content.add(new DataNode());
+            }
+        }
+        DataNode set = patch.get(SET);
+        if (set != null) {
+            for (Map.Entry<String, DataNode> item : set.attributes.entrySet()) {
+                target.set(Integer.parseInt(item.getKey()), item.getValue());
+            }
+        }
+        DataNode patches = patch.get(PATCH);
+        if (patches != null) {
+            for (Map.Entry<String, DataNode> item : patches.attributes.entrySet()) {
+                int index = Integer.parseInt(item.getKey());
+                target.set(index, apply(target.get(index), item.getValue()));
+            }
+        }
+    }
+
+    /**
+     * Tracks the saved state of a data object and provides the changes since the last checkpoint.
+     * The saved state is a frozen copy, so unchanged subtrees that are shared with the current state
+     * (for example a {@link DataNode#mutableCopy()} of the saved state) are skipped by the diff.
+     */
+    public static class Checkpoint {
+        private DataNode saved;
+
+        /**
+         * Returns the state saved at the last checkpoint.
+         *
+         * @return the frozen saved state, or null if no checkpoint was taken
+         */
+        public DataNode getSaved() {
+            return saved;
+        }
+
+        /**
+         * Takes a checkpoint of the given object.
+         *
+         * @param data the object to save
+         * @return the patch from the previous checkpoint, the full state (as a replace patch) on the first checkpoint,
+         * or null if nothing changed
+         */
+        public DataNode commit(IDataObject<?> data) {
+            return commit(data.convertToDataNode());
+        }
+
+        /**
+         * Takes a checkpoint of the given state.
+         * The state is not modified, a frozen copy of it is saved (its frozen subtrees are shared, not copied).
+         *
+         * @param state the state to save
+         * @return the patch from the previous checkpoint, the full state (as a replace patch) on the first checkpoint,
+         * or null if nothing changed
+         */
+        public DataNode commit(DataNode state) {
+            DataNode patch = diff(saved, state);
+            saved = state.frozenCopy();
+            return patch;
+        }
+    }
+}
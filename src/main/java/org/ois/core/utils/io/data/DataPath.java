@@ -0,0 +1,280 @@
+package org.ois.core.utils.io.data;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A precompiled path of attribute keys inside a {@link DataNode} tree.
+ * <p>
+ * The keys are interned once when the path is created, so resolving a path walks the attribute maps
+ * without allocating, unlike the varargs {@link DataNode#get(String...)} and {@link DataNode#getProperty(String...)}.
+ * Paths are immutable, define them once (as constants) and reuse them for every lookup.
+ */
+public class DataPath {
+
+    private final String[] keys;
+
+    private DataPath(String[] keys) {
+        this.keys = keys;
+    }
+
+    /**
+     * Creates a path from the given sequence of attribute keys.
+     *
+     * @param keys the attribute keys from the root to the target node
+     * @return a new DataPath
+     * @throws IllegalArgumentException if no keys are provided
+     */
+    public static DataPath of(String... keys) {
+        if (keys == null || keys.length == 0) {
+            throw new IllegalArgumentException("Data path must contain at least one key");
+        }
+        String[] internedKeys = new String[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            internedKeys[i] = DataKeys.intern(keys[i]);
+        }
+        return new DataPath(internedKeys);
+    }
+
+    /**
+     * Creates a path that continues this path with the given keys.
+     *
+     * @param keys the keys to append
+     * @return a new DataPath
+     */
+    public DataPath child(String... keys) {
+        String[] childKeys = Arrays.copyOf(this.keys, this.keys.length + keys.length);
+        for (int i = 0; i < keys.length; i++) {
+            childKeys[this.keys.length + i] = DataKeys.intern(keys[i]);
+        }
+        return new DataPath(childKeys);
+    }
+
+    /**
+     * Returns the number of keys in the path.
+     *
+     * @return the length of the path
+     */
+    public int length() {
+        return keys.length;
+    }
+
+    /**
+     * Returns the key at the given depth of the path.
+     *
+     * @param index the depth of the key
+     * @return the key at the depth
+     */
+    public String key(int index) {
+        return keys[index];
+    }
+
+    /**
+     * Resolves the path from the given root.
+     *
+     * @param root the node to start the lookup from
+     * @return the node at the end of the path, or null if the path doesn't exist
+     */
+    public DataNode resolve(DataNode root) {
+        DataNode current = root;
+        for (int i = 0; i < keys.length && current != null; i++) {
+            current = current.attributes.get(keys[i]);
+        }
+        return current;
+    }
+
+    /**
+     * Resolves the path from the given root, creating the missing nodes the same way {@link DataNode#getProperty(String...)} does.
+     *
+     * @param root the node to start the lookup from
+     * @return the node at the end of the path
+     */
+    public DataNode getOrCreate(DataNode root) {
+        return root.getProperty(keys);
+    }
+
+    /**
+     * Checks if the path exists at the given root.
+     *
+     * @param root the node to start the lookup from
+     * @return true if the path exists, false otherwise
+     */
+    public boolean exists(DataNode root) {
+        return resolve(root) != null;
+    }
+
+    /**
+     * Resolves the path and returns its value as a String.
+     *
+     * @param root the node to start the lookup from
+     * @param defaultValue the value to return if the path doesn't exist
+     * @return the value at the end of the path, or the default value
+     */
+    public String getString(DataNode root, String defaultValue) {
+        DataNode node = resolve(root);
+        return node == null ? defaultValue : node.getString();
+    }
+
+    /**
+     * Resolves the path and returns its value as an int.
+     *
+     * @param root the node to start the lookup from
+     * @param defaultValue the value to return if the path doesn't exist
+     * @return the value at the end of the path, or the default value
+     */
+    public int getInt(DataNode root, int defaultValue) {
+        DataNode node = resolve(root);
+        return node == null ? defaultValue : node.getInt();
+    }
+
+    /**
+     * Resolves the path and returns its value as a float.
+     *
+     * @param root the node to start the lookup from
+     * @param defaultValue the value to return if the path doesn't exist
+     * @return the value at the end of the path, or the default value
+     */
+    public float getFloat(DataNode root, float defaultValue) {
+        DataNode node = resolve(root);
+        return node == null ? defaultValue : node.getFloat();
+    }
+
+    /**
+     * Resolves the path and returns its value as a boolean.
+     *
+     * @param root the node to start the lookup from
+     * @param defaultValue the value to return if the path doesn't exist
+     * @return the value at the end of the path, or the default value
+     */
+    public boolean getBoolean(DataNode root, boolean defaultValue) {
+        DataNode node = resolve(root);
+        return node == null ? defaultValue : node.getBoolean();
+    }
+
+    /**
+     * Creates an extractor that resolves all the given paths in a single walk of the tree.
+     *
+     * @param paths the paths to resolve
+     * @return a new Extractor, reusable for any number of roots
+     */
+    public static Extractor extractor(DataPath... paths) {
+        return new Extractor(paths);
+    }
+
+    /**
+     * Resolves a batch of paths together, paths that share a prefix walk the shared attributes once.
+     * The results are reported in the order of the paths the extractor was created with.
+     */
+    public static class Extractor {
+        /** A step in the prefix tree of the paths */
+        private static class Step {
+            final String key;
+            final List<Step> children = new ArrayList<>();
+            final List<Integer> results = new ArrayList<>();
+            int[] resultIndexes;
+
+            Step(String key) {
+                this.key = key;
+            }
+
+            Step child(String childKey) {
+                for (Step child : children) {
+                    if (child.key.equals(childKey)) {
+                        return child;
+                    }
+                }
+                Step child = new Step(childKey);
+                children.add(child);
+                return child;
+            }
+        }
+
+        private final Step root = new Step(null);
+        private final int pathCount;
+
+        private Extractor(DataPath... paths) {
+            this.pathCount = paths.length;
+            for (int i = 0; i < paths.length; i++) {
+                Step step = root;
+                for (String key : paths[i].keys) {
+                    step = step.child(key);
+                }
+                step.results.add(i);
+            }
+            compile(root);
+        }
+
+        private static void compile(Step step) {
+            step.resultIndexes = step.results.stream().mapToInt(Integer::intValue).toArray();
+            for (Step child : step.children) {
+                compile(child);
+            }
+        }
+
+        /**
+         * Returns the number of paths resolved by the extractor.
+         *
+         * @return the number of paths
+         */
+        public int size() {
+            return pathCount;
+        }
+
+        /**
+         * Resolves all the paths from the given root.
+         *
+         * @param data the node to start the lookup from
+         * @return the resolved nodes in the order of the paths, null for paths that don't exist
+         */
+        public DataNode[] extract(DataNode data) {
+            return extract(data, new DataNode[pathCount]);
+        }
+
+        /**
+         * Resolves all the paths from the given root into the given array.
+         *
+         * @param data the node to start the lookup from
+         * @param results the array to fill, its length must be at least {@link #size()}
+         * @return the results array, holding the resolved nodes in the order of the paths, null for paths that don't exist
+         */
+        public DataNode[] extract(DataNode data, DataNode[] results) {
+            Arrays.fill(results, 0, pathCount, null);
+            extract(root, data, results);
+            return results;
+        }
+
+        private static void extract(Step step, DataNode node, DataNode[] results) {
+            for (int index : step.resultIndexes) {
+                results[index] = node;
+            }
+            for (Step child : step.children) {
+                DataNode childNode = node.attributes.get(child.key);
+                if (childNode != null) {
+                    extract(child, childNode, results);
+                }
+            }
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        return Arrays.equals(keys, ((DataPath) o).keys);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(keys);
+    }
+
+    @Override
+    public String toString() {
+        return String.join(".", keys);
+    }
+}
@@ -0,0 +1,101 @@
+package org.ois.core.utils.io.data;
+
+import org.ois.core.utils.io.data.properties.Property;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The compiled layout of the properties registered by a {@link DataObject} class.
+ * <p>
+ * A schema maps the (interned) attribute keys of the properties to their index, so binding data to an object
+ * is a single lookup per attribute. Schemas are compiled once per class and shared by all of its instances,
+ * an instance that registered a different number of properties than the first instance of its class gets its own schema.
+ * Instances of a class are expected to register their properties in the same order (usually as field initializers).
+ */
+public class DataSchema {
+
+    /** The index returned for keys that are not part of the schema */
+    public static final int NOT_FOUND = -1;
+
+    /** Read without a lock, objects of the same class may be loaded in parallel */
+    private static final Map<Class<?>, DataSchema> schemas = new ConcurrentHashMap<>();
+
+    private final String[] keys;
+    private final Map<String, Integer> indexes;
+
+    private DataSchema(List<Property> properties) {
+        this.keys = new String[properties.size()];
+        this.indexes = new HashMap<>();
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = DataKeys.intern(properties.get(i).getKey());
+            // The first property registered with a key is the one that is bound
+            indexes.putIfAbsent(keys[i], i);
+        }
+    }
+
+    /**
+     * Returns the schema of the given properties, registered by an instance of the given class.
+     *
+     * @param type the class of the object that registered the properties
+     * @param properties the registered properties of the object
+     * @return the shared schema of the class, or a new schema if the instance registered a different number of properties
+     */
+    public static DataSchema of(Class<?> type, List<Property> properties) {
+        DataSchema schema = schemas.computeIfAbsent(type, key -> new DataSchema(properties));
+        if (schema.size() == properties.size()) {
+            return schema;
+        }
+        return new DataSchema(properties);
+    }
+
+    /**
+     * Checks if the schema describes the given properties.
+     *
+     * @param properties the properties to check
+     * @return true if the properties have the keys of the schema in the same order, false otherwise
+     */
+    public boolean matches(List<Property> properties) {
+        if (properties.size() != keys.length) {
+            return false;
+        }
+        for (int i = 0; i < keys.length; i++) {
+            if (!keys[i].equals(properties.get(i).getKey())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the index of the property with the given attribute key.
+     *
+     * @param key the attribute key
+     * @return the index of the property, or {@link #NOT_FOUND} if no property has the key
+     */
+    public int indexOf(String key) {
+        Integer index = indexes.get(key);
+        return index == null ? NOT_FOUND : index;
+    }
+
+    /**
+     * Returns the attribute key of the property at the given index.
+     *
+     * @param index the index of the property
+     * @return the attribute key of the property
+     */
+    public String key(int index) {
+        return keys[index];
+    }
+
+    /**
+     * Returns the number of properties in the schema.
+     *
+     * @return the size of the schema
+     */
+    public int size() {
+        return keys.length;
+    }
+}
@@ -1,5 +1,9 @@
 package org.ois.core.utils.io.data;
 
+import org.ois.core.utils.io.data.formats.DataWriter;
+
+import java.io.IOException;
+
 /**
  * Interface representing a data object that can load data from a {@link DataNode}
  * and convert itself to a {@link DataNode}.
@@ -21,4 +25,16 @@ public interface IDataObject<T> {
      * @return the {@link DataNode} representing the data object
      */
     DataNode convertToDataNode();
+
+    /**
+     * Writes the data object into a {@link DataWriter}.
+     * The default implementation writes the {@link DataNode} representation of the object,
+     * implementations override it to write their content directly without building the intermediate tree.
+     *
+     * @param writer the writer to write into
+     * @throws IOException if an I/O error occurs while writing
+     */
+    default void write(DataWriter writer) throws IOException {
+        writer.node(convertToDataNode());
+    }
 }
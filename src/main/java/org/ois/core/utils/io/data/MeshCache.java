@@ -0,0 +1,285 @@
+package org.ois.core.utils.io.data;
+
+import com.badlogic.gdx.Files;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import org.ois.core.utils.io.data.formats.MeshSimplifier;
+import org.ois.core.utils.io.data.formats.ObjFormat;
+import org.ois.core.utils.io.data.formats.ObjMesh;
+import org.ois.core.utils.log.Logger;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * A binary cache of the meshes parsed from OBJ files.
+ * <p>
+ * The first time a mesh file is loaded, its packed buffers are written into a cache file next to it
+ * ({@code <name>.obj.mesh}), or at the same path in the local storage for internal and classpath files, which can't
+ * be written. The next loads read the buffers from the cache file (memory mapped on desktop if it is
+ * large enough) with bulk copies, without parsing the text. The cache is keyed by the length and the modification time
+ * of the source file (or a hash of its content when the modification time is not available) and is rewritten when
+ * the source changes. Failing to write the cache (read only files, HTML) is not an error, the mesh is just parsed.
+ * <p>
+ * {@link #loadLods(FileHandle, float...)} caches the generated levels of detail of a mesh the same way, in a separate file.
+ */
+public class MeshCache {
+    private static final Logger<MeshCache> log = Logger.get(MeshCache.class);
+
+    /** The extension appended to the name of the source file to get the name of its cache file */
+    public static final String CACHE_EXTENSION = ".mesh";
+    /** The extension appended to the name of the source file to get the name of its levels of detail cache file */
+    public static final String LOD_CACHE_EXTENSION = ".lod.mesh";
+
+    private static final int MAGIC = 0x4F49534D; // "OISM"
+    private static final int VERSION = 1;
+    /** magic, version, source length, source stamp, mesh count */
+    private static final int HEADER_SIZE = 4 + 4 + 8 + 8 + 4;
+    /** flags, positions, textures, normals and indices lengths */
+    private static final int MESH_HEADER_SIZE = 4 * 5;
+    /** The size of the buffer the cache is streamed through when written, and of the chunks read when hashing a file */
+    private static final int CHUNK_SIZE = 64 * 1024;
+
+    private static final int HAS_TEXTURES = 1;
+    private static final int HAS_NORMALS = 1 << 1;
+
+    /**
+     * Loads the mesh of an OBJ file, from its cache file if it is up to date.
+     * Otherwise the OBJ file is parsed and the cache file is written.
+     *
+     * @param file the OBJ file to load
+     * @return the mesh of the file
+     */
+    public static ObjMesh load(FileHandle file) {
+        return load(file, getCacheFile(file), stamp(file), Collections::singletonList).get(0);
+    }
+
+    /**
+     * Loads the mesh of an OBJ file and its levels of detail, from the LOD cache file if it is up to date.
+     * Otherwise the OBJ file is parsed, the levels are generated by {@link MeshSimplifier} and the LOD cache file is written.
+     *
+     * @param file the OBJ file to load
+     * @param ratios the ratio of triangles to keep in each level, in descending order
+     * @return the full mesh of the file followed by a mesh per level
+     */
+    public static List<ObjMesh> loadLods(FileHandle file, float... ratios) {
+        // The levels are part of the key, changing them regenerates the cache
+        long stamp = stamp(file) * 31 + Arrays.hashCode(ratios);
+        return load(file, getLodCacheFile(file), stamp, mesh -> {
+            List<ObjMesh> meshes = new ArrayList<>(ratios.length + 1);
+            meshes.add(mesh);
+            meshes.addAll(MeshSimplifier.generateLods(mesh, ratios));
+            return meshes;
+        });
+    }
+
+    private static List<ObjMesh> load(FileHandle file, FileHandle cacheFile, long stamp, Function<ObjMesh, List<ObjMesh>> generator) {
+        if (cacheFile.exists()) {
+            try {
+                List<ObjMesh> meshes = read(DataFiles.read(cacheFile), file.length(), stamp);
+                if (meshes != null && !meshes.isEmpty()) {
+                    return meshes;
+                }
+            } catch (RuntimeException e) {
+                log.warn(String.format("Can't read the mesh cache '%s', parsing '%s' instead: %s", cacheFile, file, e.getMessage()));
+            }
+        }
+        List<ObjMesh> meshes = generator.apply(ObjFormat.parallel().deserializeMesh(DataFiles.read(file)));
+        save(cacheFile, file.length(), stamp, meshes);
+        return meshes;
+    }
+
+    /**
+     * Returns the cache file of a mesh file.
+     *
+     * @param file the mesh file
+     * @return the cache file next to the mesh file, or in the local storage if the mesh file is internal
+     */
+    public static FileHandle getCacheFile(FileHandle file) {
+        return cacheFile(file, CACHE_EXTENSION);
+    }
+
+    /**
+     * Returns the cache file of the levels of detail of a mesh file.
+     *
+     * @param file the mesh file
+     * @return the LOD cache file next to the mesh file, or in the local storage if the mesh file is internal
+     */
+    public static FileHandle getLodCacheFile(FileHandle file) {
+        return cacheFile(file, LOD_CACHE_EXTENSION);
+    }
+
+    private static FileHandle cacheFile(FileHandle file, String extension) {
+        if (file.type() == Files.FileType.Internal || file.type() == Files.FileType.Classpath) {
+            // Read only (assets of the application), mirrored in the writable local storage
+            return Gdx.files.local(file.path() + extension);
+        }
+        return file.sibling(file.name() + extension);
+    }
+
+    /**
+     * Returns the stamp that identifies the version of a file in the cache.
+     *
+     * @param file the source file
+     * @return the modification time of the file, or a hash of its content if the modification time is not available
+     */
+    static long stamp(FileHandle file) {
+        long lastModified = file.lastModified();
+        if (lastModified != 0) {
+            return lastModified;
+        }
+        // FNV-1a, over chunks copied in bulk from the buffer (that may be direct or mapped)
+        ByteBuffer data = DataFiles.read(file).duplicate();
+        byte[] chunk = new byte[Math.min(data.remaining(), CHUNK_SIZE)];
+        long hash = 0xcbf29ce484222325L;
+        while (data.hasRemaining()) {
+            int length = Math.min(chunk.length, data.remaining());
+            data.get(chunk, 0, length);
+            for (int i = 0; i < length; i++) {
+                hash ^= chunk[i] & 0xff;
+                hash *= 0x100000001b3L;
+            }
+        }
+        return hash;
+    }
+
+    static void save(FileHandle cacheFile, long sourceLength, long sourceStamp, List<ObjMesh> meshes) {
+        try (OutputStream output = cacheFile.write(false)) {
+            write(output, sourceLength, sourceStamp, meshes);
+        } catch (Exception e) {
+            log.warn(String.format("Can't write the mesh cache '%s': %s", cacheFile, e.getMessage()));
+        }
+    }
+
+    /**
+     * Writes meshes in the cache format.
+     *
+     * @param output the stream to write into, not closed by this method
+     * @param sourceLength the length of the source file of the meshes
+     * @param sourceStamp the stamp of the source file of the meshes
+     * @param meshes the meshes to write
+     * @throws IOException if an I/O error occurs while writing
+     */
+    public static void write(OutputStream output, long sourceLength, long sourceStamp, List<ObjMesh> meshes) throws IOException {
+        long size = HEADER_SIZE;
+        for (ObjMesh mesh : meshes) {
+            size += MESH_HEADER_SIZE + 4L * (mesh.getPositions().length + mesh.getTextures().length + mesh.getNormals().length)
+                    + 4L * mesh.getPositionIndices().length * (1 + (mesh.hasTextures() ? 1 : 0) + (mesh.hasNormals() ? 1 : 0));
+        }
+        if (size > Integer.MAX_VALUE) {
+            // The cache is read back into a single buffer
+            throw new IllegalArgumentException(String.format("meshes are too large to cache (%d bytes)", size));
+        }
+        // Streamed through a fixed size buffer, the arrays are not copied into a buffer of the whole cache
+        ByteBuffer buffer = ByteBuffer.allocate(CHUNK_SIZE);
+        buffer.putInt(MAGIC).putInt(VERSION).putLong(sourceLength).putLong(sourceStamp).putInt(meshes.size());
+        for (ObjMesh mesh : meshes) {
+            ensureRemaining(output, buffer, MESH_HEADER_SIZE);
+            buffer.putInt((mesh.hasTextures() ? HAS_TEXTURES : 0) | (mesh.hasNormals() ? HAS_NORMALS : 0));
+            buffer.putInt(mesh.getPositions().length).putInt(mesh.getTextures().length).putInt(mesh.getNormals().length).putInt(mesh.getPositionIndices().length);
+            putFloats(output, buffer, mesh.getPositions());
+            putFloats(output, buffer, mesh.getTextures());
+            putFloats(output, buffer, mesh.getNormals());
+            putInts(output, buffer, mesh.getPositionIndices());
+            if (mesh.hasTextures()) {
+                putInts(output, buffer, mesh.getTextureIndices());
+            }
+            if (mesh.hasNormals()) {
+                putInts(output, buffer, mesh.getNormalIndices());
+            }
+        }
+        flush(output, buffer);
+        output.flush();
+    }
+
+    /**
+     * Reads meshes written in the cache format.
+     *
+     * @param data the cache content, the position of the buffer is not changed
+     * @param sourceLength the length of the current source file
+     * @param sourceStamp the stamp of the current source file
+     * @return the meshes, or null if the cache was written for a different version of the source file
+     */
+    public static List<ObjMesh> read(ByteBuffer data, long sourceLength, long sourceStamp) {
+        ByteBuffer buffer = data.duplicate();
+        if (buffer.remaining() < HEADER_SIZE || buffer.getInt() != MAGIC) {
+            throw new RuntimeException("not a mesh cache file");
+        }
+        if (buffer.getInt() != VERSION || buffer.getLong() != sourceLength || buffer.getLong() != sourceStamp) {
+            // Outdated
+            return null;
+        }
+        int count = buffer.getInt();
+        List<ObjMesh> meshes = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int flags = buffer.getInt();
+            float[] positions = new float[buffer.getInt()];
+            float[] textures = new float[buffer.getInt()];
+            float[] normals = new float[buffer.getInt()];
+            int[] positionIndices = new int[buffer.getInt()];
+            getFloats(buffer, positions);
+            getFloats(buffer, textures);
+            getFloats(buffer, normals);
+            getInts(buffer, positionIndices);
+            int[] textureIndices = null;
+            if ((flags & HAS_TEXTURES) != 0) {
+                textureIndices = getInts(buffer, new int[positionIndices.length]);
+            }
+            int[] normalIndices = null;
+            if ((flags & HAS_NORMALS) != 0) {
+                normalIndices = getInts(buffer, new int[positionIndices.length]);
+            }
+            meshes.add(new ObjMesh(positions, textures, normals, positionIndices, textureIndices, normalIndices));
+        }
+        return meshes;
+    }
+
+    private static void putFloats(OutputStream output, ByteBuffer buffer, float[] values) throws IOException {
+        for (int offset = 0; offset < values.length; ) {
+            ensureRemaining(output, buffer, 4);
+            int count = Math.min(values.length - offset, buffer.remaining() / 4);
+            buffer.asFloatBuffer().put(values, offset, count);
+            buffer.position(buffer.position() + count * 4);
+            offset += count;
+        }
+    }
+
+    private static void putInts(OutputStream output, ByteBuffer buffer, int[] values) throws IOException {
+        for (int offset = 0; offset < values.length; ) {
+            ensureRemaining(output, buffer, 4);
+            int count = Math.min(values.length - offset, buffer.remaining() / 4);
+            buffer.asIntBuffer().put(values, offset, count);
+            buffer.position(buffer.position() + count * 4);
+            offset += count;
+        }
+    }
+
+    private static void ensureRemaining(OutputStream output, ByteBuffer buffer, int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            flush(output, buffer);
+        }
+    }
+
+    private static void flush(OutputStream output, ByteBuffer buffer) throws IOException {
+        output.write(buffer.array(), 0, buffer.position());
+        buffer.clear();
+    }
+
+    private static float[] getFloats(ByteBuffer buffer, float[] values) {
+        buffer.asFloatBuffer().get(values);
+        buffer.position(buffer.position() + values.length * 4);
+        return values;
+    }
+
+    private static int[] getInts(ByteBuffer buffer, int[] values) {
+        buffer.asIntBuffer().get(values);
+        buffer.position(buffer.position() + values.length * 4);
+        return values;
+    }
+}
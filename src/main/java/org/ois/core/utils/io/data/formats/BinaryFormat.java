@@ -0,0 +1,191 @@
+package org.ois.core.utils.io.data.formats;
+
+import com.badlogic.gdx.utils.Base64Coder;
+import org.ois.core.utils.io.data.DataNode;
+import org.ois.core.utils.io.data.IDataObject;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Implementation of the DataFormat interface for a compact binary representation of DataNode structures.
+ *
+ * <p>The data starts with the {@link #MAGIC} header and a {@link #VERSION} byte, followed by a single type-tagged value:
+ * <ul>
+ *   <li>Objects and collections are prefixed with their entry count (varint).</li>
+ *   <li>Attribute keys are written once and referenced by id afterward (inline key dictionary).</li>
+ *   <li>Primitive values are typed: integers (zigzag varint), floats (4 bytes), booleans (tag only) and strings (varint length + UTF-8).</li>
+ * </ul>
+ * Primitives are only typed when the conversion is lossless, so deserializing restores the exact same DataNode.
+ *
+ * <p>The String based {@link DataFormat} methods use Base64 to represent the binary data.
+ */
+public class BinaryFormat implements DataFormat {
+
+    private static final BinaryFormat INSTANCE = new BinaryFormat();
+
+    /** The header that identifies binary data */
+    public static final byte[] MAGIC = {'O', 'I', 'S', 'B'};
+    /** The version of the binary layout */
+    public static final byte VERSION = 1;
+
+    // Value type tags
+    static final byte NULL = 0;
+    static final byte OBJECT = 1;
+    static final byte COLLECTION = 2;
+    static final byte STRING = 3;
+    static final byte INT = 4;
+    static final byte FLOAT = 5;
+    static final byte TRUE = 6;
+    static final byte FALSE = 7;
+
+    /**
+     * Static method for obtaining a binary format instance.
+     *
+     * @return the BinaryFormat instance
+     */
+    public static BinaryFormat get() {
+        return INSTANCE;
+    }
+
+    /**
+     * Checks if the given data starts with the binary format header.
+     *
+     * @param data the data to check
+     * @return true if the data is in the binary format, false otherwise
+     */
+    public static boolean isBinary(byte[] data) {
+        if (data == null || data.length < MAGIC.length + 1) {
+            return false;
+        }
+        for (int i = 0; i < MAGIC.length; i++) {
+            if (data[i] != MAGIC[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks if the remaining bytes of the given buffer start with the binary format header.
+     *
+     * @param data the buffer to check, its position is not changed
+     * @return true if the data is in the binary format, false otherwise
+     */
+    public static boolean isBinary(ByteBuffer data) {
+        if (data == null || data.remaining() < MAGIC.length + 1) {
+            return false;
+        }
+        for (int i = 0; i < MAGIC.length; i++) {
+            if (data.get(data.position() + i) != MAGIC[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Deserializes binary data held in a buffer, such as a memory mapped file, into a {@link DataNode}.
+     *
+     * @param data the buffer holding the binary data
+     * @return the {@link DataNode} populated with the deserialized data
+     */
+    public DataNode deserialize(ByteBuffer data) {
+        BinaryParser parser = parser(data);
+        parser.next();
+        return parser.readNode();
+    }
+
+    @Override
+    public DataNode deserialize(byte[] data) {
+        BinaryParser parser = parser(data);
+        parser.next();
+        return parser.readNode();
+    }
+
+    @Override
+    public byte[] serializeToBytes(DataNode data) {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try {
+            write(data, output);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return output.toByteArray();
+    }
+
+    /**
+     * Serializes a {@link DataNode} into the given output stream.
+     *
+     * @param data the {@link DataNode} to be serialized
+     * @param output the stream to write the binary data into
+     * @throws IOException if an I/O error occurs while writing
+     */
+    public void write(DataNode data, OutputStream output) throws IOException {
+        BinaryWriter writer = new BinaryWriter(output);
+        writer.writeNode(data);
+        writer.flush();
+    }
+
+    @Override
+    public BinaryWriter writer(OutputStream output) throws IOException {
+        return new BinaryWriter(output);
+    }
+
+    @Override
+    public String serialize(IDataObject<?> data) {
+        return new String(Base64Coder.encode(serializeToBytes(data)));
+    }
+
+    /**
+     * Creates a pull parser over binary data.
+     *
+     * @param data the binary data to parse
+     * @return a {@link BinaryParser} reporting the structure of the data
+     */
+    public BinaryParser parser(byte[] data) {
+        return new BinaryParser(data);
+    }
+
+    /**
+     * Creates a pull parser over binary data held in a buffer, such as a memory mapped file.
+     *
+     * @param data the buffer holding the binary data
+     * @return a {@link BinaryParser} reporting the structure of the data
+     */
+    public BinaryParser parser(ByteBuffer data) {
+        return new BinaryParser(data);
+    }
+
+    @Override
+    public DataParser parser(String data) {
+        return parser(Base64Coder.decode(data));
+    }
+
+    @Override
+    public DataNode deserialize(String data) {
+        return deserialize(Base64Coder.decode(data));
+    }
+
+    @Override
+    public String serialize(DataNode data) {
+        return new String(Base64Coder.encode(serializeToBytes(data)));
+    }
+
+    @Override
+    public DataNode load(InputStream inputStream) throws IOException {
+        try (InputStream input = inputStream) {
+            ByteArrayOutputStream data = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = input.read(buffer)) != -1) {
+                data.write(buffer, 0, read);
+            }
+            return deserialize(data.toByteArray());
+        }
+    }
+}
@@ -0,0 +1,267 @@
+package org.ois.core.utils.io.data.formats;
+
+import org.ois.core.utils.io.data.DataKeys;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A pull parser for data in the {@link BinaryFormat} layout.
+ * Typed primitives are kept in their binary form, so {@link #getInt()} and {@link #getFloat()} don't parse strings.
+ * The data can be provided as a {@link ByteBuffer}, so memory mapped files are parsed without copying them to the heap.
+ */
+public class BinaryParser implements DataParser {
+
+    private final ByteBuffer data;
+    /** A view of the data for bulk copies from buffers without an accessible array, its position is moved instead of the position of the data */
+    private final ByteBuffer view;
+    /** Reused to copy the bytes of strings out of the view */
+    private byte[] stringBytes = new byte[64];
+    private final int limit;
+    private int position;
+
+    /** The key dictionary, ordered by id */
+    private final List<String> keys = new ArrayList<>();
+
+    /** The remaining entries and the kind (object/collection) of the open containers */
+    private int[] remaining = new int[16];
+    private boolean[] objects = new boolean[16];
+    private int depth;
+    private boolean expectValue;
+    private boolean rootStarted;
+
+    private Event current;
+    private String key;
+    private byte valueTag;
+    private int intValue;
+    private float floatValue;
+    private String value;
+
+    /**
+     * Constructs a BinaryParser over the given data.
+     *
+     * @param data the binary data to parse
+     * @throws IllegalArgumentException if the data does not start with the binary format header
+     */
+    public BinaryParser(byte[] data) {
+        this(ByteBuffer.wrap(data));
+    }
+
+    /**
+     * Constructs a BinaryParser over the remaining bytes of the given buffer.
+     * The parser reads with absolute positions, the position of the buffer is not changed.
+     *
+     * @param data the buffer holding the binary data to parse
+     * @throws IllegalArgumentException if the data does not start with the binary format header
+     */
+    public BinaryParser(ByteBuffer data) {
+        if (!BinaryFormat.isBinary(data)) {
+            throw new IllegalArgumentException("Data is not in binary format, header not found");
+        }
+        this.data = data;
+        this.view = data.hasArray() ? null : data.duplicate();
+        this.limit = data.limit();
+        this.position = data.position() + BinaryFormat.MAGIC.length;
+        byte version = readByte();
+        if (version != BinaryFormat.VERSION) {
+            throw new IllegalArgumentException(String.format("Unsupported binary format version %d (expected %d)", version, BinaryFormat.VERSION));
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        return current != Event.EndOfData && !(rootStarted && depth == 0);
+    }
+
+    @Override
+    public Event next() {
+        if (current == Event.EndOfData) {
+            return current;
+        }
+        if (rootStarted && depth == 0) {
+            return current = Event.EndOfData;
+        }
+        if (depth > 0 && !expectValue) {
+            if (remaining[depth - 1] == 0) {
+                depth--;
+                return current = objects[depth] ? Event.ObjectEnd : Event.CollectionEnd;
+            }
+            remaining[depth - 1]--;
+            if (objects[depth - 1]) {
+                key = readKey();
+                expectValue = true;
+                return current = Event.Key;
+            }
+        }
+        expectValue = false;
+        rootStarted = true;
+        return current = readValue();
+    }
+
+    /**
+     * Reads the next type-tagged value.
+     *
+     * @return the event of the value
+     */
+    private Event readValue() {
+        valueTag = readByte();
+        value = null;
+        switch (valueTag) {
+            case BinaryFormat.NULL:
+                return Event.Null;
+            case BinaryFormat.OBJECT:
+                push(true, readVarInt());
+                return Event.ObjectStart;
+            case BinaryFormat.COLLECTION:
+                push(false, readVarInt());
+                return Event.CollectionStart;
+            case BinaryFormat.STRING:
+                value = readString();
+                return Event.Primitive;
+            case BinaryFormat.INT:
+                int encoded = readVarInt();
+                intValue = (encoded >>> 1) ^ -(encoded & 1);
+                return Event.Primitive;
+            case BinaryFormat.FLOAT:
+                floatValue = Float.intBitsToFloat(readInt());
+                return Event.Primitive;
+            case BinaryFormat.TRUE:
+            case BinaryFormat.FALSE:
+                return Event.Primitive;
+            default:
+                throw new IllegalArgumentException(String.format("Unknown value tag %d at position %d", valueTag, position - 1));
+        }
+    }
+
+    private void push(boolean object, int count) {
+        if (depth == remaining.length) {
+            int[] grownRemaining = new int[depth * 2];
+            boolean[] grownObjects = new boolean[depth * 2];
+            System.arraycopy(remaining, 0, grownRemaining, 0, depth);
+            System.arraycopy(objects, 0, grownObjects, 0, depth);
+            remaining = grownRemaining;
+            objects = grownObjects;
+        }
+        remaining[depth] = count;
+        objects[depth] = object;
+        depth++;
+    }
+
+    private String readKey() {
+        int reference = readVarInt();
+        if (reference == 0) {
+            String newKey = DataKeys.intern(readString());
+            keys.add(newKey);
+            return newKey;
+        }
+        if (reference > keys.size()) {
+            throw new IllegalArgumentException(String.format("Unknown key reference %d at position %d", reference, position));
+        }
+        return keys.get(reference - 1);
+    }
+
+    private String readString() {
+        int length = readVarInt();
+        if (length < 0 || position + length > limit) {
+            throw new IllegalArgumentException("Unexpected end of binary data at position " + position);
+        }
+        String str;
+        if (data.hasArray()) {
+            str = new String(data.array(), data.arrayOffset() + position, length, StandardCharsets.UTF_8);
+        } else {
+            if (stringBytes.length < length) {
+                stringBytes = new byte[Math.max(length, stringBytes.length * 2)];
+            }
+            view.position(position);
+            view.get(stringBytes, 0, length);
+            str = new String(stringBytes, 0, length, StandardCharsets.UTF_8);
+        }
+        position += length;
+        return str;
+    }
+
+    private int readVarInt() {
+        int result = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            byte b = readByte();
+            result |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint at position " + position);
+    }
+
+    private int readInt() {
+        return ((readByte() & 0xFF) << 24) | ((readByte() & 0xFF) << 16) | ((readByte() & 0xFF) << 8) | (readByte() & 0xFF);
+    }
+
+    private byte readByte() {
+        if (position >= limit) {
+            throw new IllegalArgumentException("Unexpected end of binary data at position " + position);
+        }
+        return data.get(position++);
+    }
+
+    @Override
+    public Event current() {
+        return current;
+    }
+
+    @Override
+    public String getKey() {
+        if (current != Event.Key) {
+            throw new IllegalStateException("Current event is '" + current + "', not a key");
+        }
+        return key;
+    }
+
+    @Override
+    public String getString() {
+        if (current != Event.Primitive) {
+            throw new IllegalStateException("Current event is '" + current + "', not a primitive value");
+        }
+        if (value == null) {
+            switch (valueTag) {
+                case BinaryFormat.INT:
+                    value = String.valueOf(intValue);
+                    break;
+                case BinaryFormat.FLOAT:
+                    value = String.valueOf(floatValue);
+                    break;
+                default:
+                    value = String.valueOf(valueTag == BinaryFormat.TRUE);
+            }
+        }
+        return value;
+    }
+
+    @Override
+    public int getInt() {
+        if (current == Event.Primitive && valueTag == BinaryFormat.INT) {
+            return intValue;
+        }
+        return DataParser.super.getInt();
+    }
+
+    @Override
+    public float getFloat() {
+        if (current == Event.Primitive && valueTag == BinaryFormat.FLOAT) {
+            return floatValue;
+        }
+        if (current == Event.Primitive && valueTag == BinaryFormat.INT) {
+            return intValue;
+        }
+        return DataParser.super.getFloat();
+    }
+
+    @Override
+    public boolean getBoolean() {
+        if (current == Event.Primitive && (valueTag == BinaryFormat.TRUE || valueTag == BinaryFormat.FALSE)) {
+            return valueTag == BinaryFormat.TRUE;
+        }
+        return DataParser.super.getBoolean();
+    }
+}
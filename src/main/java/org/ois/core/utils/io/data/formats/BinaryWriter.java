@@ -0,0 +1,263 @@
+package org.ois.core.utils.io.data.formats;
+
+import org.ois.core.utils.io.data.DataNode;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Writes {@link DataNode} structures in the {@link BinaryFormat} layout into an output stream.
+ * The writer buffers the output, call {@link #flush()} when done.
+ */
+public class BinaryWriter implements DataWriter {
+
+    private final OutputStream output;
+    private final byte[] buffer = new byte[8192];
+    private int position;
+
+    /** The keys that were already written, mapped to their dictionary id */
+    private final Map<String, Integer> keys = new HashMap<>();
+
+    /**
+     * Constructs a BinaryWriter and writes the binary format header.
+     *
+     * @param output the stream to write into
+     * @throws IOException if an I/O error occurs while writing
+     */
+    public BinaryWriter(OutputStream output) throws IOException {
+        this.output = output;
+        for (byte headerByte : BinaryFormat.MAGIC) {
+            writeByte(headerByte);
+        }
+        writeByte(BinaryFormat.VERSION);
+    }
+
+    /**
+     * Writes a DataNode and all of its children.
+     *
+     * @param node the node to write
+     * @throws IOException if an I/O error occurs while writing
+     */
+    public void writeNode(DataNode node) throws IOException {
+        if (node == null) {
+            writeByte(BinaryFormat.NULL);
+            return;
+        }
+        switch (node.getType()) {
+            case Object:
+                writeByte(BinaryFormat.OBJECT);
+                writeVarInt(node.getPropertyCount());
+                for (Map.Entry<String, DataNode> attribute : node.properties()) {
+                    writeKey(attribute.getKey());
+                    writeNode(attribute.getValue());
+                }
+                break;
+            case Collection:
+                writeByte(BinaryFormat.COLLECTION);
+                writeVarInt(node.contentCount());
+                for (DataNode item : node) {
+                    writeNode(item);
+                }
+                break;
+            case Primitive:
+                if (node.getString() == null) {
+                    writeByte(BinaryFormat.NULL);
+                } else {
+                    writePrimitive(node.getString());
+                }
+                break;
+            default:
+                writeByte(BinaryFormat.NULL);
+        }
+    }
+
+    @Override
+    public void node(DataNode node) throws IOException {
+        writeNode(node);
+    }
+
+    @Override
+    public void beginObject(int size) throws IOException {
+        writeByte(BinaryFormat.OBJECT);
+        writeVarInt(size);
+    }
+
+    @Override
+    public void endObject() {
+        // Objects are prefixed with their size, nothing marks their end
+    }
+
+    @Override
+    public void beginCollection(int size) throws IOException {
+        writeByte(BinaryFormat.COLLECTION);
+        writeVarInt(size);
+    }
+
+    @Override
+    public void endCollection() {
+        // Collections are prefixed with their size, nothing marks their end
+    }
+
+    @Override
+    public void key(String key) throws IOException {
+        writeKey(key);
+    }
+
+    @Override
+    public void value(String value) throws IOException {
+        if (value == null) {
+            nullValue();
+            return;
+        }
+        writePrimitive(value);
+    }
+
+    @Override
+    public void value(int value) throws IOException {
+        writeByte(BinaryFormat.INT);
+        writeVarInt((value << 1) ^ (value >> 31));
+    }
+
+    @Override
+    public void value(float value) throws IOException {
+        writeByte(BinaryFormat.FLOAT);
+        writeInt(Float.floatToIntBits(value));
+    }
+
+    @Override
+    public void value(boolean value) throws IOException {
+        writeByte(value ? BinaryFormat.TRUE : BinaryFormat.FALSE);
+    }
+
+    @Override
+    public void nullValue() throws IOException {
+        writeByte(BinaryFormat.NULL);
+    }
+
+    /**
+     * Writes an attribute key, the first occurrence of a key defines it in the dictionary and the rest reference it.
+     * Reference 0 marks a new key followed by its value, otherwise the reference is the dictionary id + 1.
+     *
+     * @param key the key to write
+     * @throws IOException if an I/O error occurs while writing
+     */
+    public void writeKey(String key) throws IOException {
+        Integer id = keys.get(key);
+        if (id != null) {
+            writeVarInt(id + 1);
+            return;
+        }
+        keys.put(key, keys.size());
+        writeVarInt(0);
+        writeString(key);
+    }
+
+    /**
+     * Writes a primitive value using the most compact type that restores the exact same string.
+     *
+     * @param value the primitive value to write
+     * @throws IOException if an I/O error occurs while writing
+     */
+    public void writePrimitive(String value) throws IOException {
+        if ("true".equals(value)) {
+            writeByte(BinaryFormat.TRUE);
+            return;
+        }
+        if ("false".equals(value)) {
+            writeByte(BinaryFormat.FALSE);
+            return;
+        }
+        if (isNumeric(value)) {
+            boolean floatingPoint = value.indexOf('.') >= 0 || value.indexOf('E') >= 0;
+            try {
+                if (!floatingPoint) {
+                    int intValue = Integer.parseInt(value);
+                    if (String.valueOf(intValue).equals(value)) {
+                        writeByte(BinaryFormat.INT);
+                        writeVarInt((intValue << 1) ^ (intValue >> 31));
+                        return;
+                    }
+                } else {
+                    float floatValue = Float.parseFloat(value);
+                    if (String.valueOf(floatValue).equals(value)) {
+                        writeByte(BinaryFormat.FLOAT);
+                        writeInt(Float.floatToIntBits(floatValue));
+                        return;
+                    }
+                }
+            } catch (NumberFormatException e) {
+                // Not a number after all, written as a string
+            }
+        }
+        writeByte(BinaryFormat.STRING);
+        writeString(value);
+    }
+
+    private static boolean isNumeric(String value) {
+        if (value.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (!Character.isDigit(c) && c != '-' && c != '.' && c != 'E') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void writeString(String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(bytes.length);
+        if (bytes.length > buffer.length - position) {
+            flushBuffer();
+        }
+        if (bytes.length > buffer.length) {
+            output.write(bytes);
+            return;
+        }
+        System.arraycopy(bytes, 0, buffer, position, bytes.length);
+        position += bytes.length;
+    }
+
+    private void writeVarInt(int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            writeByte((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        writeByte((byte) value);
+    }
+
+    private void writeInt(int value) throws IOException {
+        writeByte((byte) (value >>> 24));
+        writeByte((byte) (value >>> 16));
+        writeByte((byte) (value >>> 8));
+        writeByte((byte) value);
+    }
+
+    private void writeByte(byte value) throws IOException {
+        if (position == buffer.length) {
+            flushBuffer();
+        }
+        buffer[position++] = value;
+    }
+
+    private void flushBuffer() throws IOException {
+        output.write(buffer, 0, position);
+        position = 0;
+    }
+
+    /**
+     * Writes the buffered data into the output stream and flushes it.
+     *
+     * @throws IOException if an I/O error occurs while writing
+     */
+    @Override
+    public void flush() throws IOException {
+        flushBuffer();
+        output.flush();
+    }
+}
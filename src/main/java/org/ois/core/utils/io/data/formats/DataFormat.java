@@ -4,6 +4,7 @@ import org.ois.core.utils.io.data.DataNode;
 import org.ois.core.utils.io.data.IDataObject;
 
 import java.io.*;
+import java.nio.charset.StandardCharsets;
 
 /**
  * Interface for defining data formats for serialization and deserialization
@@ -19,6 +20,28 @@ public interface DataFormat {
      */
     DataNode deserialize(String data);
 
+    /**
+     * Deserializes a byte array representation of data into a {@link DataNode}.
+     * Text formats decode the bytes as UTF-8.
+     *
+     * @param data the byte array representation of the data to be deserialized
+     * @return the {@link DataNode} populated with the deserialized data
+     */
+    default DataNode deserialize(byte[] data) {
+        return deserialize(new String(data, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Creates a pull parser over a string representation of data.
+     * Formats without a dedicated streaming parser walk the deserialized {@link DataNode}.
+     *
+     * @param data the string representation of the data to parse
+     * @return a {@link DataParser} reporting the structure of the data
+     */
+    default DataParser parser(String data) {
+        return new DataNodeParser(deserialize(data));
+    }
+
     /**
      * Serializes a {@link DataNode} into its string representation.
      *
@@ -27,9 +50,20 @@ public interface DataFormat {
      */
     String serialize(DataNode data);
 
+    /**
+     * Serializes a {@link DataNode} into its byte array representation.
+     * Text formats encode the string representation as UTF-8.
+     *
+     * @param data the {@link DataNode} to be serialized
+     * @return the byte array representation of the serialized data
+     */
+    default byte[] serializeToBytes(DataNode data) {
+        return serialize(data).getBytes(StandardCharsets.UTF_8);
+    }
+
     /**
      * Serializes a {@link IDataObject} into its string representation
-     * by first converting it to a {@link DataNode}.
+     * by first converting it to a {@link DataNode}, formats with a {@link DataWriter} write the object directly.
      *
      * @param data the {@link IDataObject} to be serialized
      * @return the string representation of the serialized data
@@ -38,21 +72,71 @@ public interface DataFormat {
         return serialize(data.convertToDataNode());
     }
 
+    /**
+     * Serializes a {@link IDataObject} into its byte array representation, the object is written with {@link #writer(OutputStream)}.
+     *
+     * @param data the {@link IDataObject} to be serialized
+     * @return the byte array representation of the serialized data
+     */
+    default byte[] serializeToBytes(IDataObject<?> data) {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try {
+            write(data, output);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return output.toByteArray();
+    }
+
+    /**
+     * Creates a writer that serializes data into the given stream.
+     * Formats without a dedicated writer build a {@link DataNode} and serialize it when the writer is flushed.
+     *
+     * @param output the stream to write into, not closed by the writer
+     * @return a {@link DataWriter} of the format
+     * @throws IOException if an I/O error occurs while writing
+     */
+    default DataWriter writer(OutputStream output) throws IOException {
+        return new DataNodeWriter() {
+            @Override
+            public void flush() throws IOException {
+                output.write(serializeToBytes(getRoot()));
+                output.flush();
+            }
+        };
+    }
+
+    /**
+     * Writes a {@link IDataObject} into the given stream, without converting it to a {@link DataNode} first.
+     *
+     * @param data the {@link IDataObject} to write
+     * @param output the stream to write into, not closed by this method
+     * @throws IOException if an I/O error occurs while writing
+     */
+    default void write(IDataObject<?> data, OutputStream output) throws IOException {
+        DataWriter writer = writer(output);
+        data.write(writer);
+        writer.flush();
+    }
+
     /**
      * Loads data from an {@link InputStream} and deserializes it into a {@link DataNode}.
+     * The stream is decoded as UTF-8 and closed when done, formats with a streaming parser override this to avoid
+     * holding the whole content in memory.
      *
      * @param inputStream the input stream containing the data
      * @return the {@link DataNode} populated with the loaded data
      * @throws IOException if an I/O error occurs while reading the stream
      */
     default DataNode load(InputStream inputStream) throws IOException {
-        try (BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream))) {
-            StringBuilder jsonBuilder = new StringBuilder();
-            String line;
-            while ((line = reader.readLine()) != null) {
-                jsonBuilder.append(line.trim());
+        try (Reader reader = new InputStreamReader(inputStream, StandardCharsets.UTF_8)) {
+            StringBuilder content = new StringBuilder();
+            char[] buffer = new char[8192];
+            int read;
+            while ((read = reader.read(buffer)) != -1) {
+                content.append(buffer, 0, read);
             }
-            return deserialize(jsonBuilder.toString());
+            return deserialize(content.toString());
         }
     }
 
@@ -78,7 +162,7 @@ public interface DataFormat {
      * @return the populated {@link IDataObject}
      */
     default <T extends IDataObject<T>> T load(T objToLoad, byte[] source) {
-        return load(objToLoad, new String(source));
+        return objToLoad.loadData(deserialize(source));
     }
 
     /**
@@ -92,4 +176,14 @@ public interface DataFormat {
     default <T extends IDataObject<T>> T load(T objToLoad, String source) {
         return objToLoad.loadData(deserialize(source));
     }
+
+    /**
+     * Detects the format of the given data, used to load files that may be stored in either the binary or JSON format.
+     *
+     * @param data the data to inspect
+     * @return {@link BinaryFormat} if the data starts with the binary header, {@link JsonFormat} otherwise
+     */
+    static DataFormat detect(byte[] data) {
+        return BinaryFormat.isBinary(data) ? BinaryFormat.get() : JsonFormat.compact();
+    }
 }
@@ -0,0 +1,163 @@
+package org.ois.core.utils.io.data.formats;
+
+import org.ois.core.utils.io.data.DataNode;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * A {@link DataParser} that walks an existing {@link DataNode} tree.
+ * Used by formats that don't have a dedicated streaming parser, so every format can be consumed with the same event API.
+ */
+public class DataNodeParser implements DataParser {
+
+    /** An open container, iterating on its attributes (Object) or content (Collection) */
+    private static class Frame {
+        final DataNode node;
+        final Iterator<Map.Entry<String, DataNode>> attributes;
+        final Iterator<DataNode> content;
+
+        Frame(DataNode node, boolean object) {
+            this.node = node;
+            this.attributes = object ? node.properties().iterator() : null;
+            this.content = object ? null : node.iterator();
+        }
+    }
+
+    private final DataNode root;
+    private final Deque<Frame> frames = new ArrayDeque<>();
+
+    private boolean started;
+    private boolean pendingValue;
+    private DataNode next;
+
+    private Event current;
+    private DataNode currentNode;
+    private String key;
+
+    /**
+     * Constructs a parser that reports the structure of the given node.
+     *
+     * @param root the node to walk
+     */
+    public DataNodeParser(DataNode root) {
+        this.root = root;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return current != Event.EndOfData && !(started && !pendingValue && frames.isEmpty());
+    }
+
+    @Override
+    public Event next() {
+        if (current == Event.EndOfData) {
+            return current;
+        }
+        if (!started) {
+            started = true;
+            return start(root);
+        }
+        if (pendingValue) {
+            pendingValue = false;
+            return start(next);
+        }
+        if (frames.isEmpty()) {
+            currentNode = null;
+            return current = Event.EndOfData;
+        }
+        Frame frame = frames.peek();
+        if (frame.attributes != null) {
+            if (frame.attributes.hasNext()) {
+                Map.Entry<String, DataNode> attribute = frame.attributes.next();
+                key = attribute.getKey();
+                next = attribute.getValue();
+                pendingValue = true;
+                currentNode = null;
+                return current = Event.Key;
+            }
+            frames.pop();
+            currentNode = frame.node;
+            return current = Event.ObjectEnd;
+        }
+        if (frame.content.hasNext()) {
+            return start(frame.content.next());
+        }
+        frames.pop();
+        currentNode = frame.node;
+        return current = Event.CollectionEnd;
+    }
+
+    /**
+     * Reports the start of the given value, opening a frame if it is a container.
+     *
+     * @param node the value to start
+     * @return the event for the value
+     */
+    private Event start(DataNode node) {
+        currentNode = node;
+        if (node == null) {
+            return current = Event.Null;
+        }
+        switch (node.getType()) {
+            case Object:
+                frames.push(new Frame(node, true));
+                return current = Event.ObjectStart;
+            case Collection:
+                frames.push(new Frame(node, false));
+                return current = Event.CollectionStart;
+            case Primitive:
+                return current = Event.Primitive;
+            default:
+                return current = Event.Null;
+        }
+    }
+
+    @Override
+    public Event current() {
+        return current;
+    }
+
+    @Override
+    public String getKey() {
+        if (current != Event.Key) {
+            throw new IllegalStateException("Current event is '" + current + "', not a key");
+        }
+        return key;
+    }
+
+    @Override
+    public String getString() {
+        if (current != Event.Primitive) {
+            throw new IllegalStateException("Current event is '" + current + "', not a primitive value");
+        }
+        return currentNode.getString();
+    }
+
+    @Override
+    public void skipValue() {
+        if (current == Event.ObjectStart || current == Event.CollectionStart) {
+            Frame frame = frames.pop();
+            currentNode = frame.node;
+            current = current == Event.ObjectStart ? Event.ObjectEnd : Event.CollectionEnd;
+        }
+    }
+
+    /**
+     * Returns the node of the value that started at the current event.
+     * The walked tree is already materialised, so the node itself is returned instead of a copy.
+     *
+     * @return the node representing the value
+     */
+    @Override
+    public DataNode readNode() {
+        if (current != Event.ObjectStart && current != Event.CollectionStart && current != Event.Primitive && current != Event.Null) {
+            throw new IllegalStateException("Can't read node, event '" + current + "' does not start a value");
+        }
+        DataNode node = currentNode;
+        skipValue();
+        return node;
+    }
+}
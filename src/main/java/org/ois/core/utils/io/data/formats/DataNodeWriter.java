@@ -0,0 +1,103 @@
+package org.ois.core.utils.io.data.formats;
+
+import org.ois.core.utils.io.data.DataNode;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * A {@link DataWriter} that builds a {@link DataNode} tree from the written data.
+ * Used by formats that don't have a dedicated writer, so every format can be written with the same API.
+ */
+public class DataNodeWriter implements DataWriter {
+
+    private final Deque<DataNode> containers = new ArrayDeque<>();
+    private String key;
+    private DataNode root;
+
+    /**
+     * Returns the root of the written data.
+     *
+     * @return the written root node, or null if nothing was written yet
+     */
+    public DataNode getRoot() {
+        return root;
+    }
+
+    @Override
+    public void beginObject(int size) {
+        DataNode object = DataNode.Object();
+        append(object);
+        containers.push(object);
+    }
+
+    @Override
+    public void endObject() {
+        containers.pop();
+    }
+
+    @Override
+    public void beginCollection(int size) {
+        DataNode collection = DataNode.Collection();
+        append(collection);
+        containers.push(collection);
+    }
+
+    @Override
+    public void endCollection() {
+        containers.pop();
+    }
+
+    @Override
+    public void key(String key) {
+        this.key = key;
+    }
+
+    @Override
+    public void value(String value) {
+        append(DataNode.Primitive(value));
+    }
+
+    @Override
+    public void value(int value) {
+        append(DataNode.Primitive(value));
+    }
+
+    @Override
+    public void value(float value) {
+        append(DataNode.Primitive(value));
+    }
+
+    @Override
+    public void value(boolean value) {
+        append(DataNode.Primitive(value));
+    }
+
+    @Override
+    public void nullValue() {
+        append(new DataNode());
+    }
+
+    @Override
+    public void node(DataNode node) {
+        // The node is attached as is, without copying it
+        append(node == null ? new DataNode() : node);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        // Nothing is buffered
+    }
+
+    private void append(DataNode value) {
+        DataNode parent = containers.peek();
+        if (parent == null) {
+            root = value;
+        } else if (parent.getType() == DataNode.Type.Collection) {
+            parent.add(value);
+        } else {
+            parent.set(key, value);
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package org.ois.core.utils.io.data.formats;
+
+import org.ois.core.utils.io.data.DataNode;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * A pull (event based) parser over serialized data.
+ *
+ * <p>Instead of materialising the whole document as a {@link DataNode} tree, the consumer pulls one
+ * {@link Event} at a time and decides what to keep. Subtrees can still be materialised on demand with
+ * {@link #readNode()} or skipped entirely with {@link #skipValue()}, so memory stays proportional to
+ * the part of the document that is actually used.
+ *
+ * <p>Typical usage, binding the items of a large collection one by one:
+ * <pre>{@code
+ * parser.next(); // ObjectStart
+ * while (parser.next() == DataParser.Event.Key) {
+ *     String key = parser.getKey();
+ *     if (parser.next() != DataParser.Event.CollectionStart || !"items".equals(key)) {
+ *         parser.skipValue();
+ *         continue;
+ *     }
+ *     while (parser.next() != DataParser.Event.CollectionEnd) {
+ *         consume(parser.readNode());
+ *     }
+ * }
+ * }</pre>
+ */
+public interface DataParser {
+
+    /**
+     * The events that can be reported by the parser
+     */
+    enum Event {
+        ObjectStart, ObjectEnd, CollectionStart, CollectionEnd, Key, Primitive, Null, EndOfData
+    }
+
+    /**
+     * Checks if there are more events to pull.
+     *
+     * @return true if the next call to {@link #next()} will not return {@link Event#EndOfData}, false otherwise
+     */
+    boolean hasNext();
+
+    /**
+     * Advances the parser and returns the next event.
+     *
+     * @return the next event, {@link Event#EndOfData} when the whole document was consumed
+     * @throws IllegalArgumentException if the data is malformed
+     */
+    Event next();
+
+    /**
+     * Returns the last event returned by {@link #next()}.
+     *
+     * @return the current event, or null if {@link #next()} was not called yet
+     */
+    Event current();
+
+    /**
+     * Returns the attribute name of the current {@link Event#Key} event.
+     *
+     * @return the current key
+     * @throws IllegalStateException if the current event is not a key
+     */
+    String getKey();
+
+    /**
+     * Returns the value of the current {@link Event#Primitive} event as a String.
+     *
+     * @return the current primitive value
+     * @throws IllegalStateException if the current event is not a primitive
+     */
+    String getString();
+
+    /**
+     * Returns the value of the current {@link Event#Primitive} event as an int.
+     *
+     * @return the current primitive value as an int
+     */
+    default int getInt() {
+        String val = getString();
+        return val.isEmpty() ? 0 : Integer.parseInt(val);
+    }
+
+    /**
+     * Returns the value of the current {@link Event#Primitive} event as a float.
+     *
+     * @return the current primitive value as a float
+     */
+    default float getFloat() {
+        String val = getString();
+        return val.isEmpty() ? 0 : Float.parseFloat(val);
+    }
+
+    /**
+     * Returns the value of the current {@link Event#Primitive} event as a boolean.
+     *
+     * @return the current primitive value as a boolean
+     */
+    default boolean getBoolean() {
+        return Boolean.parseBoolean(getString());
+    }
+
+    /**
+     * Skips the value that started at the current event.
+     * If the current event is {@link Event#ObjectStart} or {@link Event#CollectionStart} all the events until the
+     * matching end event are consumed. For any other event this is a no-op.
+     */
+    default void skipValue() {
+        int depth = 0;
+        Event event = current();
+        while (true) {
+            if (event == Event.ObjectStart || event == Event.CollectionStart) {
+                depth++;
+            } else if (event == Event.ObjectEnd || event == Event.CollectionEnd) {
+                depth--;
+            } else if (event == Event.EndOfData) {
+                throw new IllegalArgumentException("Unexpected end of data while skipping value");
+            }
+            if (depth <= 0) {
+                return;
+            }
+            event = next();
+        }
+    }
+
+    /**
+     * Materialises the value that started at the current event as a {@link DataNode}.
+     * If the current event is {@link Event#ObjectStart} or {@link Event#CollectionStart} all the events until the
+     * matching end event are consumed.
+     *
+     * @return the DataNode representing the value, null for {@link Event#Null}
+     * @throws IllegalStateException if the current event does not start a value
+     */
+    default DataNode readNode() {
+        Event event = current();
+        switch (event == null ? Event.EndOfData : event) {
+            case Primitive:
+                return DataNode.Primitive(getString());
+            case Null:
+                return null;
+            case ObjectStart:
+            case CollectionStart:
+                break;
+            default:
+                throw new IllegalStateException("Can't read node, event '" + event + "' does not start a value");
+        }
+        // Build the subtree iteratively, the stack holds the open containers
+        Deque<DataNode> containers = new ArrayDeque<>();
+        DataNode root = event == Event.ObjectStart ? DataNode.Object() : DataNode.Collection();
+        containers.push(root);
+        String key = null;
+        while (!containers.isEmpty()) {
+            event = next();
+            DataNode value;
+            switch (event) {
+                case Key:
+                    key = getKey();
+                    continue;
+                case ObjectEnd:
+                case CollectionEnd:
+                    containers.pop();
+                    continue;
+                case ObjectStart:
+                    value = DataNode.Object();
+                    break;
+                case CollectionStart:
+                    value = DataNode.Collection();
+                    break;
+                case Primitive:
+                    value = DataNode.Primitive(getString());
+                    break;
+                case Null:
+                    // Inside a container, null is kept as an Unknown node (serialized back as null)
+                    value = new DataNode();
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unexpected end of data while reading node");
+            }
+            DataNode parent = containers.peek();
+            if (parent.getType() == DataNode.Type.Collection) {
+                parent.add(value);
+            } else {
+                parent.set(key, value);
+            }
+            if (event == Event.ObjectStart || event == Event.CollectionStart) {
+                containers.push(value);
+            }
+        }
+        return root;
+    }
+}
@@ -0,0 +1,147 @@
+package org.ois.core.utils.io.data.formats;
+
+import org.ois.core.utils.io.data.DataNode;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * A push (event based) writer of serialized data, the counterpart of {@link DataParser}.
+ *
+ * <p>Data objects write their content straight into the format, without building a {@link DataNode} tree first:
+ * <pre>{@code
+ * writer.beginObject(2);
+ * writer.key("type");
+ * writer.value("player");
+ * writer.key("position");
+ * writer.beginCollection(2);
+ * writer.value(1.5f);
+ * writer.value(2.5f);
+ * writer.endCollection();
+ * writer.endObject();
+ * writer.flush();
+ * }</pre>
+ * Containers declare their size up front (formats such as {@link BinaryFormat} prefix containers with their size),
+ * the number of values written into a container must match its declared size.
+ */
+public interface DataWriter {
+
+    /**
+     * Starts an object, followed by pairs of {@link #key(String)} and a value.
+     *
+     * @param size the number of attributes of the object
+     * @throws IOException if an I/O error occurs while writing
+     */
+    void beginObject(int size) throws IOException;
+
+    /**
+     * Ends the object that is currently open.
+     *
+     * @throws IOException if an I/O error occurs while writing
+     */
+    void endObject() throws IOException;
+
+    /**
+     * Starts a collection, followed by its values.
+     *
+     * @param size the number of values in the collection
+     * @throws IOException if an I/O error occurs while writing
+     */
+    void beginCollection(int size) throws IOException;
+
+    /**
+     * Ends the collection that is currently open.
+     *
+     * @throws IOException if an I/O error occurs while writing
+     */
+    void endCollection() throws IOException;
+
+    /**
+     * Writes the key of the next attribute of the object that is currently open.
+     *
+     * @param key the attribute key
+     * @throws IOException if an I/O error occurs while writing
+     */
+    void key(String key) throws IOException;
+
+    /**
+     * Writes a primitive value.
+     *
+     * @param value the value to write, null writes a null value
+     * @throws IOException if an I/O error occurs while writing
+     */
+    void value(String value) throws IOException;
+
+    /**
+     * Writes an int value.
+     *
+     * @param value the value to write
+     * @throws IOException if an I/O error occurs while writing
+     */
+    void value(int value) throws IOException;
+
+    /**
+     * Writes a float value.
+     *
+     * @param value the value to write
+     * @throws IOException if an I/O error occurs while writing
+     */
+    void value(float value) throws IOException;
+
+    /**
+     * Writes a boolean value.
+     *
+     * @param value the value to write
+     * @throws IOException if an I/O error occurs while writing
+     */
+    void value(boolean value) throws IOException;
+
+    /**
+     * Writes a null value.
+     *
+     * @throws IOException if an I/O error occurs while writing
+     */
+    void nullValue() throws IOException;
+
+    /**
+     * Writes a {@link DataNode} and all of its children.
+     *
+     * @param node the node to write, null writes a null value
+     * @throws IOException if an I/O error occurs while writing
+     */
+    default void node(DataNode node) throws IOException {
+        if (node == null) {
+            nullValue();
+            return;
+        }
+        switch (node.getType()) {
+            case Object:
+                beginObject(node.getPropertyCount());
+                for (Map.Entry<String, DataNode> attribute : node.properties()) {
+                    key(attribute.getKey());
+                    node(attribute.getValue());
+                }
+                endObject();
+                break;
+            case Collection:
+                beginCollection(node.contentCount());
+                for (DataNode item : node) {
+                    node(item);
+                }
+                endCollection();
+                break;
+            case Primitive:
+                value(node.getString());
+                break;
+            default:
+                nullValue();
+        }
+    }
+
+    /**
+     * Writes any buffered data into the underlying output.
+     *
+     * @throws IOException if an I/O error occurs while writing
+     */
+    void flush() throws IOException;
+}
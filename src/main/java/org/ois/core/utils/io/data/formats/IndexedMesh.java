@@ -0,0 +1,240 @@
+package org.ois.core.utils.io.data.formats;
+
+/**
+ * A mesh with a single index buffer, ready to be uploaded to the GPU.
+ * <p>
+ * OBJ faces reference separate position, texture and normal indices, a GPU vertex is a unique (v, vt, vn) tuple.
+ * {@link #weld(ObjMesh)} deduplicates the tuples of the triangle corners and emits interleaved vertices:
+ * <pre>
+ * x, y, z [, u, v] [, nx, ny, nz]
+ * </pre>
+ * The texture and normal attributes are present if the mesh faces reference them.
+ * Meshes with up to {@link #MAX_SHORT_VERTICES} vertices get a {@code short} index buffer (read as unsigned),
+ * larger meshes an {@code int} index buffer.
+ */
+public class IndexedMesh {
+
+    /** The maximal number of vertices that can be indexed by an unsigned short */
+    public static final int MAX_SHORT_VERTICES = 1 << 16;
+
+    private final float[] vertices;
+    private final int vertexSize;
+    private final boolean hasTextures;
+    private final boolean hasNormals;
+    private final short[] shortIndices;
+    private final int[] intIndices;
+    private final int sourceVertexCount;
+
+    private IndexedMesh(float[] vertices, int vertexSize, boolean hasTextures, boolean hasNormals, int[] indices, int vertexCount) {
+        this.vertices = vertices;
+        this.vertexSize = vertexSize;
+        this.hasTextures = hasTextures;
+        this.hasNormals = hasNormals;
+        this.sourceVertexCount = indices.length;
+        if (vertexCount <= MAX_SHORT_VERTICES) {
+            this.shortIndices = new short[indices.length];
+            for (int i = 0; i < indices.length; i++) {
+                shortIndices[i] = (short) indices[i];
+            }
+            this.intIndices = null;
+        } else {
+            this.shortIndices = null;
+            this.intIndices = indices;
+        }
+    }
+
+    /**
+     * Welds the triangle corners of a mesh into unique vertices.
+     *
+     * @param mesh the mesh to weld
+     * @return the indexed mesh, with the triangles in the order of the source mesh
+     */
+    public static IndexedMesh weld(ObjMesh mesh) {
+        int[] positionIndices = mesh.getPositionIndices();
+        int[] textureIndices = mesh.getTextureIndices();
+        int[] normalIndices = mesh.getNormalIndices();
+        int corners = positionIndices.length;
+        boolean hasTextures = mesh.hasTextures();
+        boolean hasNormals = mesh.hasNormals();
+        int vertexSize = ObjMesh.POSITION_SIZE + (hasTextures ? ObjMesh.TEXTURE_SIZE : 0) + (hasNormals ? ObjMesh.NORMAL_SIZE : 0);
+
+        // Open addressing table of the unique tuples, slots hold the index of the unique vertex + 1 (0 is an empty slot)
+        int capacity = Integer.highestOneBit(Math.max(corners, 8) * 2 - 1) << 1;
+        int mask = capacity - 1;
+        int[] table = new int[capacity];
+        // The corner that created each unique vertex, to compare the tuples without storing them again
+        int[] firstCorner = new int[corners];
+        int[] indices = new int[corners];
+        int vertexCount = 0;
+        for (int corner = 0; corner < corners; corner++) {
+            int v = positionIndices[corner];
+            int vt = hasTextures ? textureIndices[corner] : ObjMesh.NO_INDEX;
+            int vn = hasNormals ? normalIndices[corner] : ObjMesh.NO_INDEX;
+            int slot = hash(v, vt, vn) & mask;
+            int vertex;
+            while (true) {
+                int entry = table[slot];
+                if (entry == 0) {
+                    vertex = vertexCount++;
+                    table[slot] = vertex + 1;
+                    firstCorner[vertex] = corner;
+                    break;
+                }
+                int other = firstCorner[entry - 1];
+                if (positionIndices[other] == v
+                        && (!hasTextures || textureIndices[other] == vt)
+                        && (!hasNormals || normalIndices[other] == vn)) {
+                    vertex = entry - 1;
+                    break;
+                }
+                slot = (slot + 1) & mask;
+            }
+            indices[corner] = vertex;
+        }
+
+        // Interleave the attributes of the unique vertices
+        float[] positions = mesh.getPositions();
+        float[] textures = mesh.getTextures();
+        float[] normals = mesh.getNormals();
+        float[] vertices = new float[vertexCount * vertexSize];
+        int offset = 0;
+        for (int vertex = 0; vertex < vertexCount; vertex++) {
+            int corner = firstCorner[vertex];
+            System.arraycopy(positions, positionIndices[corner] * ObjMesh.POSITION_SIZE, vertices, offset, ObjMesh.POSITION_SIZE);
+            offset += ObjMesh.POSITION_SIZE;
+            if (hasTextures) {
+                // Corners without a texture get (0, 0)
+                int vt = textureIndices[corner];
+                if (vt != ObjMesh.NO_INDEX) {
+                    System.arraycopy(textures, vt * ObjMesh.TEXTURE_SIZE, vertices, offset, ObjMesh.TEXTURE_SIZE);
+                }
+                offset += ObjMesh.TEXTURE_SIZE;
+            }
+            if (hasNormals) {
+                int vn = normalIndices[corner];
+                if (vn != ObjMesh.NO_INDEX) {
+                    System.arraycopy(normals, vn * ObjMesh.NORMAL_SIZE, vertices, offset, ObjMesh.NORMAL_SIZE);
+                }
+                offset += ObjMesh.NORMAL_SIZE;
+            }
+        }
+        return new IndexedMesh(vertices, vertexSize, hasTextures, hasNormals, indices, vertexCount);
+    }
+
+    private static int hash(int v, int vt, int vn) {
+        int hash = v * 0x9E3779B1;
+        hash = (hash ^ (hash >>> 15)) + vt * 0x85EBCA77;
+        hash = (hash ^ (hash >>> 13)) + vn * 0xC2B2AE3D;
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * Returns the interleaved vertices, {@link #getVertexSize()} floats per vertex.
+     *
+     * @return the vertices
+     */
+    public float[] getVertices() {
+        return vertices;
+    }
+
+    /**
+     * Returns the number of floats of a vertex.
+     *
+     * @return the vertex size
+     */
+    public int getVertexSize() {
+        return vertexSize;
+    }
+
+    public int getVertexCount() {
+        return vertices.length / vertexSize;
+    }
+
+    public boolean hasTextures() {
+        return hasTextures;
+    }
+
+    public boolean hasNormals() {
+        return hasNormals;
+    }
+
+    /**
+     * Checks if the indices are stored as shorts.
+     *
+     * @return true if the mesh has at most {@link #MAX_SHORT_VERTICES} vertices
+     */
+    public boolean hasShortIndices() {
+        return shortIndices != null;
+    }
+
+    /**
+     * Returns the index buffer of a mesh with at most {@link #MAX_SHORT_VERTICES} vertices, the values are unsigned.
+     *
+     * @return the indices, or null if the indices are stored as ints
+     */
+    public short[] getShortIndices() {
+        return shortIndices;
+    }
+
+    /**
+     * Returns the index buffer of a mesh with more than {@link #MAX_SHORT_VERTICES} vertices.
+     *
+     * @return the indices, or null if the indices are stored as shorts
+     */
+    public int[] getIntIndices() {
+        return intIndices;
+    }
+
+    /**
+     * Returns the indices as ints, a copy is created if the indices are stored as shorts.
+     *
+     * @return the indices
+     */
+    public int[] getIndices() {
+        if (intIndices != null) {
+            return intIndices;
+        }
+        int[] indices = new int[shortIndices.length];
+        for (int i = 0; i < indices.length; i++) {
+            indices[i] = shortIndices[i] & 0xFFFF;
+        }
+        return indices;
+    }
+
+    public int getIndexCount() {
+        return shortIndices != null ? shortIndices.length : intIndices.length;
+    }
+
+    /**
+     * Returns the number of vertices before welding, one per triangle corner.
+     *
+     * @return the number of triangle corners of the source mesh
+     */
+    public int getSourceVertexCount() {
+        return sourceVertexCount;
+    }
+
+    /**
+     * Returns the fraction of the source vertices that were removed by welding.
+     *
+     * @return 0 if no vertex was shared, close to 1 if the vertices are shared by many corners
+     */
+    public float getDedupRatio() {
+        return sourceVertexCount == 0 ? 0 : 1 - getVertexCount() / (float) sourceVertexCount;
+    }
+
+    /**
+     * Returns the number of bytes of the vertex and index buffers.
+     *
+     * @return the upload size of the mesh
+     */
+    public long getByteSize() {
+        return 4L * vertices.length + (shortIndices != null ? 2L * shortIndices.length : 4L * intIndices.length);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("IndexedMesh{vertices=%d, indices=%d, sourceVertices=%d, dedup=%.1f%%, bytes=%d}",
+                getVertexCount(), getIndexCount(), sourceVertexCount, getDedupRatio() * 100, getByteSize());
+    }
+}
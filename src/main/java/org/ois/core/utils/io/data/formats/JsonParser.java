@@ -0,0 +1,576 @@
+package org.ois.core.utils.io.data.formats;
+
+import org.ois.core.utils.io.data.DataKeys;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+
+/**
+ * A pull parser for JSON data, reporting the document structure as {@link DataParser.Event}s.
+ * The parser keeps only the stack of open containers and the current token in memory.
+ *
+ * <p>The parser is lenient in the same way {@link JsonFormat#deserialize(String)} always was:
+ * commas between values are optional and trailing data after the root value is ignored.
+ */
+public class JsonParser implements DataParser {
+
+    private static final byte OBJECT = 1;
+    private static final byte COLLECTION = 2;
+    /** The number of slots in the key cache, must be a power of two */
+    static final int KEY_CACHE_SIZE = 256;
+
+    private final ParseState state;
+
+    /** The open containers (OBJECT/COLLECTION) from the root to the current one */
+    private byte[] containers = new byte[16];
+    private int depth;
+    /** True after a Key event, until the value of the attribute starts */
+    private boolean expectValue;
+    /** True after the root value started */
+    private boolean rootStarted;
+
+    private final StringBuilder buffer = new StringBuilder();
+    /** Recently parsed keys, checked before the shared {@link DataKeys} table to skip its lookup on repeated keys */
+    private final String[] keyCache;
+    private Event current;
+    private String key;
+    private String value;
+
+    /**
+     * Constructs a JsonParser over the given JSON string.
+     *
+     * @param data the JSON string to parse
+     */
+    public JsonParser(String data) {
+        this.state = new ParseState(data);
+        this.keyCache = new String[KEY_CACHE_SIZE];
+    }
+
+    /**
+     * Constructs a JsonParser over a range of the given characters, the characters are not copied.
+     *
+     * @param data the characters holding the JSON data
+     * @param offset the index of the first character to parse
+     * @param length the number of characters to parse
+     */
+    public JsonParser(char[] data, int offset, int length) {
+        this(data, offset, length, new String[KEY_CACHE_SIZE]);
+    }
+
+    /**
+     * Constructs a JsonParser over a range of the given characters, sharing a key cache with other parsers of the same thread.
+     */
+    JsonParser(char[] data, int offset, int length, String[] keyCache) {
+        this.state = new ParseState(data, offset, offset + length);
+        this.keyCache = keyCache;
+    }
+
+    /**
+     * Constructs a JsonParser that reads the JSON data incrementally from the given reader.
+     * Only a bounded window of the data is kept in memory, the reader is not closed by the parser.
+     *
+     * @param reader the reader providing the JSON data
+     */
+    public JsonParser(Reader reader) {
+        this.state = new ParseState(reader);
+        this.keyCache = new String[KEY_CACHE_SIZE];
+    }
+
+    /**
+     * A helper class to maintain the state of the JSON parsing process.
+     * The data is held in a window buffer, refilled from the reader (if one is provided) as the parsing advances.
+     */
+    private static class ParseState {
+        private static final int BUFFER_SIZE = 8192;
+
+        final Reader reader;
+        char[] buffer;
+        int currentIndex;
+        int limit;
+        int lineNumber;
+        int columnNumber;
+
+        /**
+         * Constructs a ParseState for a given JSON string.
+         *
+         * @param data the JSON string to parse
+         */
+        public ParseState(String data) {
+            this.reader = null;
+            this.buffer = data.toCharArray();
+            this.limit = buffer.length;
+            this.currentIndex = 0;
+            this.lineNumber = 1;
+            this.columnNumber = 1;
+        }
+
+        /**
+         * Constructs a ParseState for a range of the given characters.
+         *
+         * @param data the characters holding the JSON data
+         * @param start the index of the first character to parse
+         * @param end the index after the last character to parse
+         */
+        public ParseState(char[] data, int start, int end) {
+            this.reader = null;
+            this.buffer = data;
+            this.limit = end;
+            this.currentIndex = start;
+            this.lineNumber = 1;
+            this.columnNumber = 1;
+        }
+
+        /**
+         * Constructs a ParseState that reads the JSON data from a reader.
+         *
+         * @param reader the reader providing the JSON data
+         */
+        public ParseState(Reader reader) {
+            this.reader = reader;
+            this.buffer = new char[BUFFER_SIZE];
+            this.limit = 0;
+            this.currentIndex = 0;
+            this.lineNumber = 1;
+            this.columnNumber = 1;
+        }
+
+        /**
+         * Makes sure at least the given number of characters are available in the buffer, unless the data ended.
+         *
+         * @param count the number of characters needed from the current index
+         * @return true if the characters are available, false if the data ended before
+         */
+        private boolean ensure(int count) {
+            if (limit - currentIndex >= count) {
+                return true;
+            }
+            if (reader == null) {
+                return false;
+            }
+            // Move the unconsumed characters to the start of the buffer and refill the rest
+            int remaining = limit - currentIndex;
+            System.arraycopy(buffer, currentIndex, buffer, 0, remaining);
+            currentIndex = 0;
+            limit = remaining;
+            try {
+                while (limit < count) {
+                    int read = reader.read(buffer, limit, buffer.length - limit);
+                    if (read < 0) {
+                        return false;
+                    }
+                    limit += read;
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return true;
+        }
+
+        /**
+         * Returns the current character in the JSON data being parsed.
+         *
+         * @return the current character
+         */
+        public char current() {
+            return buffer[currentIndex];
+        }
+
+        /**
+         * Checks if there are more tokens to parse.
+         *
+         * @return true if there are more tokens, false otherwise
+         */
+        public boolean hasNextToken() {
+            return currentIndex < limit || ensure(1);
+        }
+
+        /**
+         * Checks if the next characters in the JSON data are equal to the given literal.
+         *
+         * @param literal the literal to check
+         * @return true if the literal starts at the current index, false otherwise
+         */
+        public boolean startsWith(String literal) {
+            if (!ensure(literal.length())) {
+                return false;
+            }
+            for (int i = 0; i < literal.length(); i++) {
+                if (buffer[currentIndex + i] != literal.charAt(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Consumes a specified number of characters and optionally removes whitespace.
+         *
+         * @param count the number of characters to consume
+         * @param removeWhiteSpace whether to remove whitespace after consuming
+         */
+        public void consume(int count, boolean removeWhiteSpace) {
+            for (int i = 0; i < count && hasNextToken(); i++) {
+                if (buffer[currentIndex] == '\n') {
+                    lineNumber++;
+                    columnNumber = 1;
+                } else {
+                    columnNumber++;
+                }
+                currentIndex++;
+            }
+            if (!removeWhiteSpace) {
+                return;
+            }
+            consumeWhiteSpace();
+        }
+
+        /**
+         * Consumes all whitespace characters in the JSON data.
+         */
+        public void consumeWhiteSpace() {
+            while (hasNextToken() && Character.isWhitespace(buffer[currentIndex])) {
+                consume(1,false);
+            }
+        }
+
+        /**
+         * Returns a description of the current position, used in error messages.
+         *
+         * @return the current line and column
+         */
+        public String position() {
+            return "line: " + lineNumber + ", column: " + columnNumber;
+        }
+    }
+
+    /**
+     * Moves a parser over a character array to the value in the given range, the parser state is reset.
+     *
+     * @param start the index of the first character of the value
+     * @param end the index after the last character of the value
+     */
+    void seek(int start, int end) {
+        if (state.reader != null) {
+            throw new IllegalStateException("Can't seek a parser that reads from a stream");
+        }
+        state.currentIndex = start;
+        state.limit = end;
+        depth = 0;
+        expectValue = false;
+        rootStarted = false;
+        current = null;
+    }
+
+    /**
+     * Reads the key (a JSON string) in the given range of a parser over a character array.
+     *
+     * @param start the index of the opening '"' of the key
+     * @param end the index after the closing '"' of the key
+     * @return the interned key
+     */
+    String readKey(int start, int end) {
+        seek(start + 1, end);
+        parseStringContent();
+        return internKey();
+    }
+
+    @Override
+    public boolean hasNext() {
+        return current != Event.EndOfData && !(rootStarted && depth == 0);
+    }
+
+    @Override
+    public Event current() {
+        return current;
+    }
+
+    @Override
+    public String getKey() {
+        if (current != Event.Key) {
+            throw new IllegalStateException("Current event is '" + current + "', not a key");
+        }
+        return key;
+    }
+
+    @Override
+    public String getString() {
+        if (current != Event.Primitive) {
+            throw new IllegalStateException("Current event is '" + current + "', not a primitive value");
+        }
+        return value;
+    }
+
+    @Override
+    public Event next() {
+        if (current == Event.EndOfData) {
+            return current;
+        }
+        state.consumeWhiteSpace();
+        if (depth > 0 && !expectValue && state.hasNextToken() && state.current() == ',') {
+            state.consume(1, true); // Consume ','
+        }
+        if (rootStarted && depth == 0) {
+            // Root value was fully consumed, ignore the rest
+            return current = Event.EndOfData;
+        }
+        if (!state.hasNextToken()) {
+            if (depth > 0) {
+                throw new IllegalArgumentException("Expected '" + (containers[depth - 1] == OBJECT ? '}' : ']') + "' at " + state.position());
+            }
+            throw new IllegalArgumentException("Unexpected end of JSON data at " + state.position());
+        }
+        char currentChar = state.current();
+        if (depth > 0 && containers[depth - 1] == OBJECT && !expectValue) {
+            return nextInObject(currentChar);
+        }
+        if (depth > 0 && containers[depth - 1] == COLLECTION && currentChar == ']') {
+            state.consume(1, false); // Consume ']'
+            depth--;
+            return current = Event.CollectionEnd;
+        }
+        expectValue = false;
+        rootStarted = true;
+        return current = nextValue(currentChar);
+    }
+
+    /**
+     * Parses the next key or the end of the object that is currently open.
+     *
+     * @param currentChar the current character in the data
+     * @return the parsed event
+     */
+    private Event nextInObject(char currentChar) {
+        if (currentChar == '}') {
+            state.consume(1, false); // Consume '}'
+            depth--;
+            return current = Event.ObjectEnd;
+        }
+        if (currentChar != '"') {
+            throw new IllegalArgumentException("Expected '\"' at " + state.position());
+        }
+        state.consume(1, false); // Consume '"'
+        parseStringContent();
+        // Keys repeat across the document, known keys are resolved by the key cache without allocating a String
+        key = internKey();
+        // Check for colon
+        if (!state.hasNextToken() || state.current() != ':') {
+            throw new IllegalArgumentException("Expected ':' after key at " + state.position());
+        }
+        state.consume(1, false); // Consume ':'
+        expectValue = true;
+        return current = Event.Key;
+    }
+
+    /**
+     * Parses the start of the next JSON value.
+     * Identifies the type of the value (object, array, string, or primitive) based on the current character.
+     *
+     * @param currentChar the current character in the data
+     * @return the parsed event
+     */
+    private Event nextValue(char currentChar) {
+        switch (currentChar) {
+            case '{':
+                state.consume(1, false);
+                push(OBJECT);
+                return Event.ObjectStart;
+            case '[':
+                state.consume(1, false);
+                push(COLLECTION);
+                return Event.CollectionStart;
+            case '"':
+                state.consume(1, false);
+                value = parseString();
+                return Event.Primitive;
+            case 't':
+            case 'f':
+                value = parseBoolean();
+                return Event.Primitive;
+            case 'n':
+                parseNull();
+                return Event.Null;
+            default:
+                value = parseNumber();
+                return Event.Primitive;
+        }
+    }
+
+    /**
+     * Returns the canonical instance of the key in the buffer, looking in the key cache before the shared table.
+     *
+     * @return the interned key
+     */
+    private String internKey() {
+        int hash = 0;
+        for (int i = 0; i < buffer.length(); i++) {
+            hash = 31 * hash + buffer.charAt(i);
+        }
+        int slot = (hash ^ (hash >>> 16)) & (keyCache.length - 1);
+        String cached = keyCache[slot];
+        if (cached != null && cached.hashCode() == hash && cached.contentEquals(buffer)) {
+            return cached;
+        }
+        // Misses are once per key and cache, the lock free lookup of known keys keeps parallel parsers from contending
+        String interned = DataKeys.intern(buffer.toString());
+        keyCache[slot] = interned;
+        return interned;
+    }
+
+    private void push(byte container) {
+        if (depth == containers.length) {
+            byte[] grown = new byte[containers.length * 2];
+            System.arraycopy(containers, 0, grown, 0, containers.length);
+            containers = grown;
+        }
+        containers[depth++] = container;
+    }
+
+    /**
+     * Parses a string from the current position (after the opening '"'), handling escape sequences.
+     *
+     * @return the parsed string
+     * @throws IllegalArgumentException if the string is unterminated or if an invalid escape sequence is encountered
+     */
+    private String parseString() {
+        parseStringContent();
+        return buffer.toString();
+    }
+
+    /**
+     * Parses a string from the current position (after the opening '"') into the buffer, handling escape sequences.
+     *
+     * @throws IllegalArgumentException if the string is unterminated or if an invalid escape sequence is encountered
+     */
+    private void parseStringContent() {
+        buffer.setLength(0);
+        while (state.hasNextToken()) {
+            char currentChar = state.current();
+            if (currentChar == '"') {
+                state.consume(1, true); // Consume closing '"'
+                return;
+            } else if (currentChar == '\\') {
+                // Handle escape sequences
+                state.consume(1, false); // Consume '\'
+                if (!state.hasNextToken()) {
+                    throw new IllegalArgumentException("Unexpected end of string escape at " + state.position());
+                }
+                char escapedChar = state.current();
+                switch (escapedChar) {
+                    case '"':
+                    case '\\':
+                    case '/':
+                        buffer.append(escapedChar);
+                        break;
+                    case 'b':
+                        buffer.append('\b');
+                        break;
+                    case 'f':
+                        buffer.append('\f');
+                        break;
+                    case 'n':
+                        buffer.append('\n');
+                        break;
+                    case 'r':
+                        buffer.append('\r');
+                        break;
+                    case 't':
+                        buffer.append('\t');
+                        break;
+                    case 'u':
+                        buffer.append(parseUnicodeEscape());
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Invalid escape sequence at " + state.position());
+                }
+            } else {
+                buffer.append(currentChar);
+            }
+            state.consume(1,false);
+        }
+        throw new IllegalArgumentException("Unterminated string at " + state.position());
+    }
+
+    /**
+     * Parses the 4 hex digits of a unicode escape sequence, the parser is left at the last digit.
+     *
+     * @return the escaped character
+     */
+    private char parseUnicodeEscape() {
+        int code = 0;
+        for (int i = 0; i < 4; i++) {
+            state.consume(1, false);
+            int digit = state.hasNextToken() ? Character.digit(state.current(), 16) : -1;
+            if (digit < 0) {
+                throw new IllegalArgumentException("Invalid unicode escape sequence at " + state.position());
+            }
+            code = (code << 4) | digit;
+        }
+        return (char) code;
+    }
+
+    /**
+     * Parses a boolean value, expects the value to be either "true" or "false".
+     *
+     * @return the boolean value as a string
+     * @throws IllegalArgumentException if the value is not a valid boolean
+     */
+    private String parseBoolean() {
+        if (state.startsWith("true")) {
+            state.consume(4, true);
+            return "true";
+        }
+        if (state.startsWith("false")) {
+            state.consume(5, true);
+            return "false";
+        }
+        throw new IllegalArgumentException("Invalid boolean value at " + state.position());
+    }
+
+    /**
+     * Parses a null value, expects the value to be "null".
+     *
+     * @throws IllegalArgumentException if the value is not a valid null
+     */
+    private void parseNull() {
+        if (!state.startsWith("null")) {
+            throw new IllegalArgumentException("Invalid null value at " + state.position());
+        }
+        state.consume(4, true);
+    }
+
+    /**
+     * Parses a numeric value, integers and floating-point numbers are normalized to their Java representation.
+     *
+     * @return the number as a string
+     * @throws IllegalArgumentException if no number starts at the current position
+     */
+    private String parseNumber() {
+        buffer.setLength(0);
+        boolean floatingPoint = false;
+        while (state.hasNextToken()) {
+            char currentChar = state.current();
+            if (currentChar == '.' || currentChar == 'e' || currentChar == 'E') {
+                floatingPoint = true;
+            } else if (!Character.isDigit(currentChar) && currentChar != '-' && currentChar != '+') {
+                break;
+            }
+            buffer.append(currentChar);
+            state.consume(1,false);
+        }
+        if (buffer.length() == 0) {
+            throw new IllegalArgumentException("Unexpected character '" + state.current() + "' at " + state.position());
+        }
+        String numberStr = buffer.toString();
+        state.consumeWhiteSpace();
+        if (floatingPoint) {
+            return String.valueOf(Float.parseFloat(numberStr));
+        }
+        try {
+            return String.valueOf(Integer.parseInt(numberStr));
+        } catch (NumberFormatException e) {
+            // Out of int range, keep the value as is
+            return numberStr;
+        }
+    }
+}
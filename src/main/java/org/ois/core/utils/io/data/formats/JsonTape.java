@@ -0,0 +1,313 @@
+package org.ois.core.utils.io.data.formats;
+
+import org.ois.core.utils.io.data.DataNode;
+
+import java.util.AbstractList;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A structural index (tape) of a JSON document, used to materialise the document lazily.
+ * <p>
+ * The tape is built in a single pass over the characters, without decoding any value.
+ * It holds an entry for every key and value of the document: the range of its characters and, for containers,
+ * the entry after the container's last descendant, so a subtree is skipped in constant time.
+ * <p>
+ * The nodes returned by {@link #root()} materialise their children only when they are accessed, one level at a time.
+ * Subtrees that are never accessed are never decoded and don't allocate nodes.
+ * Until the whole document is materialised the nodes keep the characters of the document in memory.
+ * Like any mutable {@link DataNode}, lazy nodes must not be accessed concurrently, freeze the tree to share it.
+ */
+class JsonTape {
+
+    private final char[] data;
+    /** The index of the first character of each entry */
+    private int[] starts;
+    /** The index after the last character of each entry */
+    private int[] ends;
+    /** The index of the entry after the subtree of each entry */
+    private int[] nexts;
+    private int size;
+
+    /** Decodes keys and primitive values, shared by all the nodes of the document */
+    private final JsonParser parser;
+
+    /**
+     * Builds the tape of the given JSON document, data after the root value is ignored.
+     *
+     * @param data the characters of the document
+     * @throws IllegalArgumentException if the structure of the document is malformed
+     */
+    JsonTape(char[] data) {
+        this.data = data;
+        int capacity = Math.max(16, data.length / 32);
+        this.starts = new int[capacity];
+        this.ends = new int[capacity];
+        this.nexts = new int[capacity];
+        this.parser = new JsonParser(data, 0, data.length);
+        scan();
+    }
+
+    /**
+     * Returns the root value of the document.
+     *
+     * @return the lazy root node, or null if the root is a null value
+     */
+    DataNode root() {
+        return node(0, true);
+    }
+
+    /**
+     * Returns the number of entries (keys and values) in the tape.
+     *
+     * @return the size of the tape
+     */
+    int size() {
+        return size;
+    }
+
+    private void scan() {
+        // The open containers, holding their tape entry
+        int[] open = new int[16];
+        int depth = 0;
+        int index = 0;
+        while (index < data.length) {
+            char current = data[index];
+            if (Character.isWhitespace(current) || current == ',' || current == ':') {
+                index++;
+                continue;
+            }
+            if (current == '{' || current == '[') {
+                if (depth == open.length) {
+                    int[] grown = new int[open.length * 2];
+                    System.arraycopy(open, 0, grown, 0, depth);
+                    open = grown;
+                }
+                open[depth++] = add(index, index + 1);
+                index++;
+                continue;
+            }
+            if (current == '}' || current == ']') {
+                if (depth == 0) {
+                    throw new IllegalArgumentException("Unexpected '" + current + "' at index " + index);
+                }
+                int container = open[--depth];
+                if ((data[starts[container]] == '{') != (current == '}')) {
+                    throw new IllegalArgumentException("Expected '" + (data[starts[container]] == '{' ? '}' : ']') + "' at index " + index);
+                }
+                ends[container] = index + 1;
+                nexts[container] = size;
+                index++;
+            } else {
+                int start = index;
+                index = current == '"' ? skipString(index + 1) : skipPrimitive(index);
+                add(start, index);
+            }
+            if (depth == 0) {
+                // Root value was fully scanned, ignore the rest
+                return;
+            }
+        }
+        if (depth > 0) {
+            throw new IllegalArgumentException("Expected '" + (data[starts[open[depth - 1]]] == '{' ? '}' : ']') + "' at index " + data.length);
+        }
+        throw new IllegalArgumentException("Unexpected end of JSON data at index " + data.length);
+    }
+
+    private int add(int start, int end) {
+        if (size == starts.length) {
+            int capacity = size * 2;
+            starts = copy(starts, capacity);
+            ends = copy(ends, capacity);
+            nexts = copy(nexts, capacity);
+        }
+        starts[size] = start;
+        ends[size] = end;
+        nexts[size] = size + 1;
+        return size++;
+    }
+
+    private static int[] copy(int[] array, int capacity) {
+        int[] grown = new int[capacity];
+        System.arraycopy(array, 0, grown, 0, array.length);
+        return grown;
+    }
+
+    private int skipString(int index) {
+        while (index < data.length) {
+            char current = data[index];
+            if (current == '\\') {
+                index += 2;
+            } else if (current == '"') {
+                return index + 1;
+            } else {
+                index++;
+            }
+        }
+        throw new IllegalArgumentException("Unterminated string at index " + data.length);
+    }
+
+    private int skipPrimitive(int index) {
+        while (index < data.length) {
+            char current = data[index];
+            if (Character.isWhitespace(current) || current == ',' || current == ':' || current == ']' || current == '}' || current == '{' || current == '[') {
+                break;
+            }
+            index++;
+        }
+        return index;
+    }
+
+    /**
+     * Creates the node of the given entry, containers are created lazy and primitives are decoded.
+     *
+     * @param entry the tape entry of the value
+     * @param root true for the root value, where null is returned as null instead of an Unknown node
+     * @return the node of the entry
+     */
+    private DataNode node(int entry, boolean root) {
+        char first = data[starts[entry]];
+        if (first == '{') {
+            return new LazyNode(DataNode.Type.Object, entry);
+        }
+        if (first == '[') {
+            return new LazyNode(DataNode.Type.Collection, entry);
+        }
+        parser.seek(starts[entry], ends[entry]);
+        parser.next();
+        DataNode value = parser.readNode();
+        // Inside a container, null is kept as an Unknown node, the same as DataParser.readNode()
+        return value == null && !root ? new DataNode() : value;
+    }
+
+    /**
+     * A container node of the document, its children are materialised on the first access.
+     */
+    private class LazyNode extends DataNode {
+        LazyNode(Type type, int entry) {
+            super(type);
+            if (type == Type.Object) {
+                attributes = new LazyAttributes(entry);
+            } else {
+                content = new LazyContent(entry);
+            }
+        }
+    }
+
+    /**
+     * The attributes of an object, the keys and values are decoded (and the child containers created lazy) on the first access.
+     */
+    private class LazyAttributes extends AbstractMap<String, DataNode> {
+        private final int entry;
+        private Map<String, DataNode> expanded;
+
+        LazyAttributes(int entry) {
+            this.entry = entry;
+        }
+
+        private Map<String, DataNode> expand() {
+            if (expanded == null) {
+                expanded = new LinkedHashMap<>();
+                // Children are (key, value) pairs of entries
+                for (int child = entry + 1; child < nexts[entry]; child = nexts[child + 1]) {
+                    if (child + 1 >= nexts[entry]) {
+                        throw new IllegalArgumentException("Expected value after key at index " + ends[child]);
+                    }
+                    expanded.put(parser.readKey(starts[child], ends[child]), node(child + 1, false));
+                }
+            }
+            return expanded;
+        }
+
+        @Override
+        public DataNode get(Object key) {
+            return expand().get(key);
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return expand().containsKey(key);
+        }
+
+        @Override
+        public DataNode put(String key, DataNode value) {
+            return expand().put(key, value);
+        }
+
+        @Override
+        public DataNode remove(Object key) {
+            return expand().remove(key);
+        }
+
+        @Override
+        public int size() {
+            return expand().size();
+        }
+
+        @Override
+        public void clear() {
+            expanded = new LinkedHashMap<>();
+        }
+
+        @Override
+        public Set<Entry<String, DataNode>> entrySet() {
+            return expand().entrySet();
+        }
+    }
+
+    /**
+     * The items of a collection, decoded (and the child containers created lazy) on the first access.
+     */
+    private class LazyContent extends AbstractList<DataNode> {
+        private final int entry;
+        private List<DataNode> expanded;
+
+        LazyContent(int entry) {
+            this.entry = entry;
+        }
+
+        private List<DataNode> expand() {
+            if (expanded == null) {
+                expanded = new ArrayList<>();
+                for (int child = entry + 1; child < nexts[entry]; child = nexts[child]) {
+                    expanded.add(node(child, false));
+                }
+            }
+            return expanded;
+        }
+
+        @Override
+        public DataNode get(int index) {
+            return expand().get(index);
+        }
+
+        @Override
+        public int size() {
+            return expand().size();
+        }
+
+        @Override
+        public DataNode set(int index, DataNode element) {
+            return expand().set(index, element);
+        }
+
+        @Override
+        public void add(int index, DataNode element) {
+            expand().add(index, element);
+        }
+
+        @Override
+        public DataNode remove(int index) {
+            return expand().remove(index);
+        }
+
+        @Override
+        public void clear() {
+            expanded = new ArrayList<>();
+        }
+    }
+}
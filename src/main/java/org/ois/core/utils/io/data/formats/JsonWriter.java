@@ -0,0 +1,236 @@
+package org.ois.core.utils.io.data.formats;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Writes data in the {@link JsonFormat} layout into a {@link Writer}, formatted by the given {@link JsonFormat.Options}.
+ * Primitive values are written the same way {@link JsonFormat#serialize(org.ois.core.utils.io.data.DataNode)} writes them:
+ * numbers and booleans as JSON literals and everything else as an escaped string.
+ */
+public class JsonWriter implements DataWriter {
+
+    private final Writer output;
+    private final JsonFormat.Options options;
+
+    /** The number of entries written into each open container, from the root to the current one */
+    private int[] counts = new int[16];
+    private int depth;
+    /** True after a key was written, until its value is written */
+    private boolean afterKey;
+
+    /**
+     * Constructs a JsonWriter.
+     *
+     * @param output the writer to write into, not closed by the JsonWriter
+     * @param options the formatting options to use
+     */
+    public JsonWriter(Writer output, JsonFormat.Options options) {
+        this.output = output;
+        this.options = options;
+    }
+
+    @Override
+    public void beginObject(int size) throws IOException {
+        beforeValue();
+        output.write('{');
+        push();
+    }
+
+    @Override
+    public void endObject() throws IOException {
+        end('}');
+    }
+
+    @Override
+    public void beginCollection(int size) throws IOException {
+        beforeValue();
+        output.write('[');
+        push();
+    }
+
+    @Override
+    public void endCollection() throws IOException {
+        end(']');
+    }
+
+    @Override
+    public void key(String key) throws IOException {
+        nextEntry();
+        output.write('"');
+        writeEscaped(key);
+        output.write("\":");
+        if (!options.isCompact()) {
+            output.write(' ');
+        }
+        afterKey = true;
+    }
+
+    @Override
+    public void value(String value) throws IOException {
+        if (value == null) {
+            nullValue();
+            return;
+        }
+        beforeValue();
+        String number = toNumber(value);
+        if (number != null) {
+            output.write(number);
+        } else if ("true".equalsIgnoreCase(value) || "false".equalsIgnoreCase(value)) {
+            output.write(value.toLowerCase());
+        } else {
+            output.write('"');
+            writeEscaped(value);
+            output.write('"');
+        }
+    }
+
+    @Override
+    public void value(int value) throws IOException {
+        beforeValue();
+        output.write(Integer.toString(value));
+    }
+
+    @Override
+    public void value(float value) throws IOException {
+        beforeValue();
+        output.write(Float.toString(value));
+    }
+
+    @Override
+    public void value(boolean value) throws IOException {
+        beforeValue();
+        output.write(value ? "true" : "false");
+    }
+
+    @Override
+    public void nullValue() throws IOException {
+        beforeValue();
+        output.write("null");
+    }
+
+    @Override
+    public void flush() throws IOException {
+        output.flush();
+    }
+
+    private void push() {
+        if (depth == counts.length) {
+            int[] grown = new int[counts.length * 2];
+            System.arraycopy(counts, 0, grown, 0, depth);
+            counts = grown;
+        }
+        counts[depth++] = 0;
+    }
+
+    private void end(char symbol) throws IOException {
+        if (depth == 0) {
+            throw new IllegalStateException("No open container to end");
+        }
+        depth--;
+        if (!options.isCompact() && counts[depth] > 0) {
+            output.write(options.newLineSymbol);
+            indent(depth);
+        }
+        output.write(symbol);
+    }
+
+    /**
+     * Writes the separator and the indentation before the next entry of the current container.
+     */
+    private void nextEntry() throws IOException {
+        if (counts[depth - 1]++ > 0) {
+            output.write(',');
+        }
+        output.write(options.newLineSymbol);
+        indent(depth);
+    }
+
+    private void beforeValue() throws IOException {
+        if (afterKey) {
+            afterKey = false;
+            return;
+        }
+        if (depth > 0) {
+            // Item of a collection
+            nextEntry();
+        }
+    }
+
+    private void indent(int level) throws IOException {
+        if (options.isCompact()) {
+            return;
+        }
+        for (int i = 0; i < level; i++) {
+            output.write(options.indentSymbol);
+        }
+    }
+
+    /**
+     * Returns the JSON representation of the value if it is a number.
+     *
+     * @param value the value to check
+     * @return the normalized number, or null if the value is not a number
+     */
+    private static String toNumber(String value) {
+        String trimmed = value.trim();
+        if (trimmed.isEmpty()) {
+            return null;
+        }
+        char first = trimmed.charAt(0);
+        // Skip the parsing attempts (and their exceptions) for values that can't be numbers
+        if (!Character.isDigit(first) && first != '-' && first != '+' && first != '.' && first != 'N' && first != 'I') {
+            return null;
+        }
+        try {
+            return String.valueOf(Integer.parseInt(value));
+        } catch (NumberFormatException e1) {
+            try {
+                return String.valueOf(Float.parseFloat(value));
+            } catch (NumberFormatException e2) {
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Writes a string with the special characters escaped, to ensure valid JSON format.
+     *
+     * @param value the string to write
+     * @throws IOException if an I/O error occurs while writing
+     */
+    private void writeEscaped(String value) throws IOException {
+        if (value == null) {
+            output.write("null");
+            return;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\"':
+                    output.write("\\\"");
+                    break;
+                case '\\':
+                    output.write("\\\\");
+                    break;
+                case '\b':
+                    output.write("\\b");
+                    break;
+                case '\f':
+                    output.write("\\f");
+                    break;
+                case '\n':
+                    output.write("\\n");
+                    break;
+                case '\r':
+                    output.write("\\r");
+                    break;
+                case '\t':
+                    output.write("\\t");
+                    break;
+                default:
+                    output.write(c);
+            }
+        }
+    }
+}
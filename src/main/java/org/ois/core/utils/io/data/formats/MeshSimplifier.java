@@ -0,0 +1,434 @@
+package org.ois.core.utils.io.data.formats;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Simplifies {@link ObjMesh} meshes by collapsing edges, ordered by their quadric error metric (Garland-Heckbert).
+ * <p>
+ * Every vertex accumulates the planes of its triangles (weighted by area) into a quadric, the error of moving a
+ * vertex to a position is its squared distance from these planes. Edges are collapsed into one of their endpoints
+ * (the one with the lower error), so positions are never interpolated and the moved corners take the texture/normal
+ * indices of the kept endpoint. Border edges get extra perpendicular planes so open meshes keep their outline, and collapses that
+ * would flip a triangle are rejected.
+ * <p>
+ * Collapses are applied in passes: the edges of the current mesh are sorted by error and collapsed in order,
+ * an edge whose neighbourhood was already changed in the pass waits for the next pass.
+ */
+public class MeshSimplifier {
+
+    /** Symmetric 4x4 matrix: a², ab, ac, ad, b², bc, bd, c², cd, d² */
+    private static final int QUADRIC_SIZE = 10;
+    /** The weight of the planes that keep the border edges in place, relative to the triangle planes */
+    private static final double BORDER_WEIGHT = 10;
+
+    private MeshSimplifier() {
+    }
+
+    /**
+     * Simplifies a mesh to a ratio of its triangles.
+     *
+     * @param mesh the mesh to simplify
+     * @param ratio the ratio of triangles to keep, between 0 and 1
+     * @return the simplified mesh
+     */
+    public static ObjMesh simplify(ObjMesh mesh, float ratio) {
+        if (ratio < 0 || ratio > 1) {
+            throw new IllegalArgumentException(String.format("ratio must be between 0 and 1 but found %s", ratio));
+        }
+        return simplify(mesh, (int) (mesh.getTriangleCount() * ratio), Float.MAX_VALUE);
+    }
+
+    /**
+     * Generates the levels of detail of a mesh, each level is simplified from the previous one.
+     *
+     * @param mesh the full detail mesh
+     * @param ratios the ratio of triangles (of the full mesh) to keep in each level, in descending order
+     * @return the simplified meshes, one per ratio
+     */
+    public static List<ObjMesh> generateLods(ObjMesh mesh, float... ratios) {
+        List<ObjMesh> lods = new ArrayList<>(ratios.length);
+        ObjMesh previous = mesh;
+        float previousRatio = 1;
+        for (float ratio : ratios) {
+            if (ratio < 0 || ratio > previousRatio) {
+                throw new IllegalArgumentException(String.format("LOD ratios must be in descending order between 0 and 1 but found %s", Arrays.toString(ratios)));
+            }
+            previous = simplify(previous, (int) (mesh.getTriangleCount() * ratio), Float.MAX_VALUE);
+            lods.add(previous);
+            previousRatio = ratio;
+        }
+        return lods;
+    }
+
+    /**
+     * Simplifies a mesh until it has the target number of triangles, or no edge can be collapsed within the error.
+     *
+     * @param mesh the mesh to simplify
+     * @param targetTriangles the number of triangles to reach
+     * @param maxError the maximal error (squared distance) of a collapse
+     * @return the simplified mesh
+     */
+    public static ObjMesh simplify(ObjMesh mesh, int targetTriangles, float maxError) {
+        float[] positions = mesh.getPositions();
+        int vertexCount = mesh.getVertexCount();
+        int[] indices = mesh.getPositionIndices().clone();
+        int[] textureIndices = mesh.hasTextures() ? mesh.getTextureIndices().clone() : null;
+        int[] normalIndices = mesh.hasNormals() ? mesh.getNormalIndices().clone() : null;
+        int triangleCount = mesh.getTriangleCount();
+
+        double[] quadrics = new double[vertexCount * QUADRIC_SIZE];
+        for (int t = 0; t < triangleCount; t++) {
+            addTriangleQuadric(quadrics, positions, indices[t * 3], indices[t * 3 + 1], indices[t * 3 + 2]);
+        }
+        addBorderQuadrics(quadrics, positions, indices, triangleCount);
+
+        boolean[] removed = new boolean[triangleCount];
+        int alive = triangleCount;
+        double[] before = new double[3];
+        double[] after = new double[3];
+        while (alive > targetTriangles) {
+            int collapsed = 0;
+            // Triangles of each vertex, triangles[offsets[v]..offsets[v + 1]) for vertex v
+            int[] offsets = new int[vertexCount + 1];
+            for (int t = 0; t < triangleCount; t++) {
+                if (!removed[t]) {
+                    offsets[indices[t * 3] + 1]++;
+                    offsets[indices[t * 3 + 1] + 1]++;
+                    offsets[indices[t * 3 + 2] + 1]++;
+                }
+            }
+            for (int v = 0; v < vertexCount; v++) {
+                offsets[v + 1] += offsets[v];
+            }
+            int[] triangles = new int[offsets[vertexCount]];
+            int[] fill = Arrays.copyOf(offsets, vertexCount);
+            for (int t = 0; t < triangleCount; t++) {
+                if (!removed[t]) {
+                    triangles[fill[indices[t * 3]]++] = t;
+                    triangles[fill[indices[t * 3 + 1]]++] = t;
+                    triangles[fill[indices[t * 3 + 2]]++] = t;
+                }
+            }
+
+            long[] edges = collectEdges(indices, removed, triangleCount);
+            // Sort the edges by their error, the key holds the error bits (positive floats sort like ints) and the edge index
+            long[] order = new long[edges.length];
+            boolean[] reversed = new boolean[edges.length];
+            for (int e = 0; e < edges.length; e++) {
+                int a = (int) (edges[e] >>> 32);
+                int b = (int) edges[e];
+                double toB = error(quadrics, a, b, positions, b);
+                double toA = error(quadrics, a, b, positions, a);
+                reversed[e] = toA < toB;
+                float cost = (float) Math.max(0, Math.min(toA, toB));
+                order[e] = ((long) Float.floatToIntBits(cost) << 32) | e;
+            }
+            Arrays.sort(order);
+
+            boolean[] locked = new boolean[vertexCount];
+            for (long key : order) {
+                if (alive <= targetTriangles || Float.intBitsToFloat((int) (key >>> 32)) > maxError) {
+                    break;
+                }
+                int e = (int) key;
+                int from = (int) (edges[e] >>> 32);
+                int to = (int) edges[e];
+                if (reversed[e]) {
+                    int swap = from;
+                    from = to;
+                    to = swap;
+                }
+                if (locked[from] || locked[to] || flips(positions, indices, triangles, offsets[from], offsets[from + 1], from, to, before, after)) {
+                    continue;
+                }
+                // Lock the neighbourhood, its triangles are changed by the collapse
+                lockNeighbours(locked, indices, triangles, offsets[from], offsets[from + 1]);
+                lockNeighbours(locked, indices, triangles, offsets[to], offsets[to + 1]);
+                if (textureIndices != null) {
+                    transferAttributes(textureIndices, indices, triangles, offsets[from], offsets[from + 1], from, to);
+                }
+                if (normalIndices != null) {
+                    transferAttributes(normalIndices, indices, triangles, offsets[from], offsets[from + 1], from, to);
+                }
+                for (int i = offsets[from]; i < offsets[from + 1]; i++) {
+                    int t = triangles[i];
+                    boolean degenerate = false;
+                    for (int corner = t * 3; corner < t * 3 + 3; corner++) {
+                        if (indices[corner] == to) {
+                            degenerate = true;
+                        }
+                    }
+                    if (degenerate) {
+                        removed[t] = true;
+                        alive--;
+                        continue;
+                    }
+                    for (int corner = t * 3; corner < t * 3 + 3; corner++) {
+                        if (indices[corner] == from) {
+                            indices[corner] = to;
+                        }
+                    }
+                }
+                for (int i = 0; i < QUADRIC_SIZE; i++) {
+                    quadrics[to * QUADRIC_SIZE + i] += quadrics[from * QUADRIC_SIZE + i];
+                }
+                collapsed++;
+            }
+            if (collapsed == 0) {
+                break;
+            }
+        }
+        return build(mesh, indices, textureIndices, normalIndices, removed, alive);
+    }
+
+    /**
+     * Moves the attributes (texture or normal indices) of the corners of 'from' to the attributes of 'to', before the collapse.
+     * The triangles of the collapsed edge hold both vertices, the attributes of their 'to' corner replace the matching
+     * attributes of their 'from' corner. Seams keep their side, corners without a match take the first edge triangle.
+     */
+    private static void transferAttributes(int[] attributes, int[] indices, int[] triangles, int start, int end, int from, int to) {
+        for (int i = start; i < end; i++) {
+            int t = triangles[i];
+            int corner = findCorner(indices, t, from);
+            if (findCorner(indices, t, to) != -1) {
+                // Removed by the collapse
+                continue;
+            }
+            int replacement = ObjMesh.NO_INDEX;
+            for (int j = start; j < end; j++) {
+                int edgeTriangle = triangles[j];
+                int toCorner = findCorner(indices, edgeTriangle, to);
+                if (toCorner == -1) {
+                    continue;
+                }
+                if (replacement == ObjMesh.NO_INDEX) {
+                    replacement = attributes[toCorner];
+                }
+                if (attributes[findCorner(indices, edgeTriangle, from)] == attributes[corner]) {
+                    replacement = attributes[toCorner];
+                    break;
+                }
+            }
+            attributes[corner] = replacement;
+        }
+    }
+
+    private static int findCorner(int[] indices, int triangle, int vertex) {
+        for (int corner = triangle * 3; corner < triangle * 3 + 3; corner++) {
+            if (indices[corner] == vertex) {
+                return corner;
+            }
+        }
+        return -1;
+    }
+
+    private static long[] collectEdges(int[] indices, boolean[] removed, int triangleCount) {
+        long[] edges = new long[triangleCount * 3];
+        int count = 0;
+        for (int t = 0; t < triangleCount; t++) {
+            if (removed[t]) {
+                continue;
+            }
+            for (int i = 0; i < 3; i++) {
+                int a = indices[t * 3 + i];
+                int b = indices[t * 3 + (i + 1) % 3];
+                if (a != b) {
+                    edges[count++] = edgeKey(a, b);
+                }
+            }
+        }
+        Arrays.sort(edges, 0, count);
+        int unique = 0;
+        for (int i = 0; i < count; i++) {
+            if (unique == 0 || edges[unique - 1] != edges[i]) {
+                edges[unique++] = edges[i];
+            }
+        }
+        return Arrays.copyOf(edges, unique);
+    }
+
+    private static long edgeKey(int a, int b) {
+        return a < b ? ((long) a << 32) | b : ((long) b << 32) | a;
+    }
+
+    /**
+     * Checks if moving a vertex to the position of another vertex flips any of its triangles.
+     */
+    private static boolean flips(float[] positions, int[] indices, int[] triangles, int start, int end, int from, int to, double[] before, double[] after) {
+        for (int i = start; i < end; i++) {
+            int t = triangles[i];
+            int a = indices[t * 3], b = indices[t * 3 + 1], c = indices[t * 3 + 2];
+            if (a == to || b == to || c == to) {
+                // Removed by the collapse
+                continue;
+            }
+            normal(positions, a, b, c, -1, -1, before);
+            normal(positions, a, b, c, from, to, after);
+            if (before[0] * after[0] + before[1] * after[1] + before[2] * after[2] <= 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static double[] normal(float[] positions, int a, int b, int c, int from, int to, double[] normal) {
+        a = a == from ? to : a;
+        b = b == from ? to : b;
+        c = c == from ? to : c;
+        double ux = positions[b * 3] - positions[a * 3], uy = positions[b * 3 + 1] - positions[a * 3 + 1], uz = positions[b * 3 + 2] - positions[a * 3 + 2];
+        double vx = positions[c * 3] - positions[a * 3], vy = positions[c * 3 + 1] - positions[a * 3 + 1], vz = positions[c * 3 + 2] - positions[a * 3 + 2];
+        normal[0] = uy * vz - uz * vy;
+        normal[1] = uz * vx - ux * vz;
+        normal[2] = ux * vy - uy * vx;
+        return normal;
+    }
+
+    private static void lockNeighbours(boolean[] locked, int[] indices, int[] triangles, int start, int end) {
+        for (int i = start; i < end; i++) {
+            int t = triangles[i];
+            locked[indices[t * 3]] = true;
+            locked[indices[t * 3 + 1]] = true;
+            locked[indices[t * 3 + 2]] = true;
+        }
+    }
+
+    private static void addTriangleQuadric(double[] quadrics, float[] positions, int a, int b, int c) {
+        double[] n = normal(positions, a, b, c, -1, -1, new double[3]);
+        double length = Math.sqrt(n[0] * n[0] + n[1] * n[1] + n[2] * n[2]);
+        if (length == 0) {
+            return;
+        }
+        // The cross product length is twice the area, the plane is weighted by the area
+        double nx = n[0] / length, ny = n[1] / length, nz = n[2] / length;
+        double d = -(nx * positions[a * 3] + ny * positions[a * 3 + 1] + nz * positions[a * 3 + 2]);
+        double weight = length / 2;
+        addPlane(quadrics, a, nx, ny, nz, d, weight);
+        addPlane(quadrics, b, nx, ny, nz, d, weight);
+        addPlane(quadrics, c, nx, ny, nz, d, weight);
+    }
+
+    private static void addBorderQuadrics(double[] quadrics, float[] positions, int[] indices, int triangleCount) {
+        // Directed edges, an edge is a border if the opposite direction doesn't exist
+        long[] sorted = new long[triangleCount * 3];
+        for (int t = 0; t < triangleCount; t++) {
+            for (int i = 0; i < 3; i++) {
+                sorted[t * 3 + i] = ((long) indices[t * 3 + i] << 32) | indices[t * 3 + (i + 1) % 3];
+            }
+        }
+        Arrays.sort(sorted);
+        double[] n = new double[3];
+        for (int t = 0; t < triangleCount; t++) {
+            for (int i = 0; i < 3; i++) {
+                int a = indices[t * 3 + i];
+                int b = indices[t * 3 + (i + 1) % 3];
+                if (Arrays.binarySearch(sorted, ((long) b << 32) | a) >= 0) {
+                    continue;
+                }
+                // Plane through the border edge, perpendicular to the triangle
+                normal(positions, indices[t * 3], indices[t * 3 + 1], indices[t * 3 + 2], -1, -1, n);
+                double ex = positions[b * 3] - positions[a * 3], ey = positions[b * 3 + 1] - positions[a * 3 + 1], ez = positions[b * 3 + 2] - positions[a * 3 + 2];
+                double px = ey * n[2] - ez * n[1], py = ez * n[0] - ex * n[2], pz = ex * n[1] - ey * n[0];
+                double length = Math.sqrt(px * px + py * py + pz * pz);
+                if (length == 0) {
+                    continue;
+                }
+                px /= length;
+                py /= length;
+                pz /= length;
+                double d = -(px * positions[a * 3] + py * positions[a * 3 + 1] + pz * positions[a * 3 + 2]);
+                double weight = BORDER_WEIGHT * (ex * ex + ey * ey + ez * ez);
+                addPlane(quadrics, a, px, py, pz, d, weight);
+                addPlane(quadrics, b, px, py, pz, d, weight);
+            }
+        }
+    }
+
+    private static void addPlane(double[] quadrics, int vertex, double a, double b, double c, double d, double weight) {
+        int q = vertex * QUADRIC_SIZE;
+        quadrics[q] += weight * a * a;
+        quadrics[q + 1] += weight * a * b;
+        quadrics[q + 2] += weight * a * c;
+        quadrics[q + 3] += weight * a * d;
+        quadrics[q + 4] += weight * b * b;
+        quadrics[q + 5] += weight * b * c;
+        quadrics[q + 6] += weight * b * d;
+        quadrics[q + 7] += weight * c * c;
+        quadrics[q + 8] += weight * c * d;
+        quadrics[q + 9] += weight * d * d;
+    }
+
+    /**
+     * Returns the error of the combined quadrics of two vertices at the position of a vertex.
+     */
+    private static double error(double[] quadrics, int v1, int v2, float[] positions, int target) {
+        double x = positions[target * 3], y = positions[target * 3 + 1], z = positions[target * 3 + 2];
+        int q1 = v1 * QUADRIC_SIZE, q2 = v2 * QUADRIC_SIZE;
+        return (quadrics[q1] + quadrics[q2]) * x * x
+                + 2 * (quadrics[q1 + 1] + quadrics[q2 + 1]) * x * y
+                + 2 * (quadrics[q1 + 2] + quadrics[q2 + 2]) * x * z
+                + 2 * (quadrics[q1 + 3] + quadrics[q2 + 3]) * x
+                + (quadrics[q1 + 4] + quadrics[q2 + 4]) * y * y
+                + 2 * (quadrics[q1 + 5] + quadrics[q2 + 5]) * y * z
+                + 2 * (quadrics[q1 + 6] + quadrics[q2 + 6]) * y
+                + (quadrics[q1 + 7] + quadrics[q2 + 7]) * z * z
+                + 2 * (quadrics[q1 + 8] + quadrics[q2 + 8]) * z
+                + (quadrics[q1 + 9] + quadrics[q2 + 9]);
+    }
+
+    /**
+     * Builds the simplified mesh from the triangles that were not removed, keeping only the referenced elements.
+     */
+    private static ObjMesh build(ObjMesh mesh, int[] indices, int[] textureIndices, int[] normalIndices, boolean[] removed, int alive) {
+        int[] positionIndices = new int[alive * 3];
+        int[] textures = textureIndices != null ? new int[alive * 3] : null;
+        int[] normals = normalIndices != null ? new int[alive * 3] : null;
+        int corner = 0;
+        for (int t = 0; t < removed.length; t++) {
+            if (removed[t]) {
+                continue;
+            }
+            for (int i = t * 3; i < t * 3 + 3; i++, corner++) {
+                positionIndices[corner] = indices[i];
+                if (textures != null) {
+                    textures[corner] = textureIndices[i];
+                }
+                if (normals != null) {
+                    normals[corner] = normalIndices[i];
+                }
+            }
+        }
+        return new ObjMesh(
+                compact(mesh.getPositions(), ObjMesh.POSITION_SIZE, positionIndices),
+                textures != null ? compact(mesh.getTextures(), ObjMesh.TEXTURE_SIZE, textures) : new float[0],
+                normals != null ? compact(mesh.getNormals(), ObjMesh.NORMAL_SIZE, normals) : new float[0],
+                positionIndices, textures, normals);
+    }
+
+    /**
+     * Keeps the elements that are referenced by the indices, the indices are updated to the compacted elements.
+     */
+    private static float[] compact(float[] values, int size, int[] indices) {
+        int[] remap = new int[values.length / size];
+        Arrays.fill(remap, ObjMesh.NO_INDEX);
+        int count = 0;
+        for (int index : indices) {
+            if (index != ObjMesh.NO_INDEX && remap[index] == ObjMesh.NO_INDEX) {
+                remap[index] = count++;
+            }
+        }
+        float[] compacted = new float[count * size];
+        for (int index = 0; index < remap.length; index++) {
+            if (remap[index] != ObjMesh.NO_INDEX) {
+                System.arraycopy(values, index * size, compacted, remap[index] * size, size);
+            }
+        }
+        for (int i = 0; i < indices.length; i++) {
+            if (indices[i] != ObjMesh.NO_INDEX) {
+                indices[i] = remap[indices[i]];
+            }
+        }
+        return compacted;
+    }
+}
@@ -2,12 +2,26 @@ package org.ois.core.utils.io.data.formats;
 
 import org.ois.core.utils.io.data.DataNode;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
 // Implementation of https://en.wikipedia.org/wiki/Wavefront_.obj_file
 public class ObjFormat implements DataFormat
 {
     private static final ObjFormat HUMAN_READABLE = new ObjFormat(true);
     private static final ObjFormat COMPACT = new ObjFormat(false);
 
+    /** The default minimal length (in bytes) of a mesh that is parsed in parallel */
+    public static final int DEFAULT_PARALLEL_THRESHOLD = 4 * 1024 * 1024;
+    private static final ObjFormat PARALLEL = new ObjFormat(false, DEFAULT_PARALLEL_THRESHOLD);
+
     public static final String VERTICES_ATTRIBUTE = "vertices";
     public static final String VERTEX_NORMALS_ATTRIBUTE = "normals";
     public static final String VERTEX_TEXTURES_ATTRIBUTE = "textures";
@@ -25,113 +39,153 @@ public class ObjFormat implements DataFormat
         return HUMAN_READABLE;
     }
 
+    /**
+     * Static method for obtaining a format instance that parses large meshes in parallel.
+     *
+     * @return an ObjFormat instance that parses meshes longer than {@link #DEFAULT_PARALLEL_THRESHOLD} in parallel
+     */
+    public static ObjFormat parallel() {
+        return PARALLEL;
+    }
+
     private final boolean saveUnknown;
+    /** The minimal length (in bytes) of a mesh to parse in parallel, 0 to parse sequentially */
+    private final int parallelThreshold;
 
     public ObjFormat(boolean saveUnknown) {
+        this(saveUnknown, 0);
+    }
+
+    /**
+     * Constructs an ObjFormat instance that parses large meshes in parallel.
+     * The data is split at line boundaries and the chunks are parsed concurrently on the common fork/join pool,
+     * see {@link #deserializeMesh(ByteBuffer)}. The {@link DataNode} path is always sequential.
+     *
+     * @param saveUnknown true to keep comments and unknown lines when deserializing into a {@link DataNode}
+     * @param parallelThreshold the minimal length (in bytes) of a mesh to parse in parallel, 0 to always parse sequentially
+     */
+    public ObjFormat(boolean saveUnknown, int parallelThreshold) {
         this.saveUnknown = saveUnknown;
+        this.parallelThreshold = parallelThreshold;
+    }
+
+    /**
+     * Checks if the format parses large meshes in parallel.
+     *
+     * @return true if parallel parsing is enabled, false otherwise
+     */
+    public boolean isParallel() {
+        return parallelThreshold > 0;
     }
 
     @Override
     public DataNode deserialize(String data) {
+        return deserialize(data.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public DataNode deserialize(byte[] data) {
+        return deserialize(new ObjReader(data, 0, data.length));
+    }
+
+    @Override
+    public DataNode load(InputStream inputStream) throws IOException {
+        try (InputStream input = inputStream) {
+            return deserialize(new ObjReader(input));
+        }
+    }
+
+    /**
+     * Deserializes the OBJ data of a reader into a {@link DataNode}, the data is read line by line.
+     *
+     * @param reader the reader of the data
+     * @return the {@link DataNode} populated with the deserialized data
+     */
+    public DataNode deserialize(ObjReader reader) {
         // Init the dataNodes that will hold the parsed information
         DataNode root = DataNode.Object();
         DataNode verticesNode = root.getProperty(VERTICES_ATTRIBUTE);
         DataNode facesNode = root.getProperty(FACES_ATTRIBUTE);
-        // Go over line by line and parse
-        String[] lines = data.split("\n");
-        for (int row = 0; row < lines.length; row++) {
-            String line = lines[row].trim();
-            if (line.isEmpty() || line.startsWith("#")) {
+        int[] corner = new int[3];
+        // Go over line by line and parse, the first token identify the row information type
+        while (reader.nextLine()) {
+            if (reader.isBlank()) {
                 if (!saveUnknown) {
                     // Nothing to do
                     continue;
                 }
                 // set the row number as the attribute key to reconstruct later
-                root.getProperty(COMMENTS_ATTRIBUTE).set(String.valueOf(row), lines[row]);
-                continue;
-            }
-            // row delimiter is white space, the first token identify the row information type
-            String[] tokens = line.split("\\\\s+");
-            switch (tokens[0].toLowerCase()) {
-                case "v":
-                    // Add to list (vertex id = its index)
-                    verticesNode.add(parseVertex(tokens, row));
-                    continue;
-                case "vn":
-                    root.getProperty(VERTEX_NORMALS_ATTRIBUTE).add(parseNormal(tokens, row));
-                    continue;
-                case "vt":
-                    root.getProperty(VERTEX_TEXTURES_ATTRIBUTE).add(parseTexture(tokens));
-                    continue;
-                case "f":
-                    facesNode.add(parseFace(tokens, root, row));
-                    continue;
-            }
-            if (!saveUnknown) {
-                continue;
+                root.getProperty(COMMENTS_ATTRIBUTE).set(String.valueOf(reader.getRow()), reader.line());
+            } else if (reader.isKeyword("v")) {
+                // Add to list (vertex id = its index)
+                verticesNode.add(parseVertex(reader));
+            } else if (reader.isKeyword("vn")) {
+                root.getProperty(VERTEX_NORMALS_ATTRIBUTE).add(parseNormal(reader));
+            } else if (reader.isKeyword("vt")) {
+                root.getProperty(VERTEX_TEXTURES_ATTRIBUTE).add(parseTexture(reader));
+            } else if (reader.isKeyword("f")) {
+                facesNode.add(parseFace(reader, root, corner));
+            } else if (saveUnknown) {
+                // Unknown value, save as comment, set the row number as the attribute key to reconstruct later
+                root.getProperty(COMMENTS_ATTRIBUTE).set(String.valueOf(reader.getRow()), reader.line());
             }
-            // Unknown value, save as comment, set the row number as the attribute key to reconstruct later
-            root.getProperty(COMMENTS_ATTRIBUTE).set(String.valueOf(row), lines[row]);
         }
         return root;
     }
 
     // # List of geometric vertices, with (x, y, z, [w]) coordinates, w is optional and defaults to 1.0.
-    private DataNode parseVertex(String[] tokens, int row) {
+    private DataNode parseVertex(ObjReader reader) {
         // vertex information - 3 floats (position in space)
-        if (tokens.length < 3) {
-            throw new RuntimeException(String.format("vertex line (row = %d) expected at least 3 floats but found %d", row, tokens.length - 1));
-        }
         DataNode vertexData = DataNode.Object();
-        vertexData.set("x", tokens[1]);
-        vertexData.set("y", tokens[2]);
-        vertexData.set("z", tokens[3]);
+        vertexData.set("x", reader.nextString("vertex"));
+        vertexData.set("y", reader.nextString("vertex"));
+        vertexData.set("z", reader.nextString("vertex"));
         String w = "1.0";
-        if (tokens.length > 4) {
-            w = tokens[4];
+        if (reader.hasNext()) {
+            w = reader.nextString("vertex");
         }
         vertexData.set("w", w);
         return vertexData;
     }
 
     // # List of texture coordinates, in (u, [v, w]) coordinates, these will vary between 0 and 1. v, w are optional and default to 0.
-    private DataNode parseTexture(String[] tokens) {
+    private DataNode parseTexture(ObjReader reader) {
         DataNode vertexData = DataNode.Object();
         String x = "0.0";
-        if (tokens.length > 2) {
-            x = tokens[1];
+        if (reader.hasNext()) {
+            x = reader.nextString("vertex texture");
         }
         vertexData.set("x", x);
         String y = "0.0";
-        if (tokens.length > 3) {
-            y = tokens[2];
+        if (reader.hasNext()) {
+            y = reader.nextString("vertex texture");
         }
         vertexData.set("y", y);
         return vertexData;
     }
 
     // # List of vertex normals in (x,y,z) form; normals might not be unit vectors.
-    private DataNode parseNormal(String[] tokens, int row) {
-        if (tokens.length != 4) {
-            throw new RuntimeException(String.format("vertex normal line (row = %d) expected 3 floats but found %d", row, tokens.length - 1));
-        }
+    private DataNode parseNormal(ObjReader reader) {
         DataNode vertexData = DataNode.Object();
-        vertexData.set("x", tokens[1]);
-        vertexData.set("y", tokens[2]);
-        vertexData.set("z", tokens[3]);
+        vertexData.set("x", reader.nextString("vertex normal"));
+        vertexData.set("y", reader.nextString("vertex normal"));
+        vertexData.set("z", reader.nextString("vertex normal"));
+        if (reader.hasNext()) {
+            throw new RuntimeException(String.format("vertex normal line (row = %d) expected 3 floats but found more", reader.getRow()));
+        }
         return vertexData;
     }
 
     // # Polygonal face element, defined using lists of vertex, texture and normal indices.
     // each index starts at 1 and increases corresponding to the order in which the referenced element was defined
     // Polygons such as quadrilaterals can be defined by using more than three indices.
-    private DataNode parseFace(String[] tokens, DataNode root, int row) {
-        if (tokens.length < 3) {
-            throw new RuntimeException(String.format("face line (row = %d) expected at least 3 vertices but found %d", row, tokens.length - 1));
-        }
+    private DataNode parseFace(ObjReader reader, DataNode root, int[] corner) {
         DataNode face = DataNode.Object();
-        for (int i = 1; i < tokens.length; i++) {
-            face.add(parseFaceVertexData(tokens[i], root, row));
+        while (reader.hasNext()) {
+            face.add(parseFaceVertexData(reader, root, corner));
+        }
+        if (face.contentCount() < 3) {
+            throw new RuntimeException(String.format("face line (row = %d) expected at least 3 vertices but found %d", reader.getRow(), face.contentCount()));
         }
         return face;
     }
@@ -142,37 +196,97 @@ public class ObjFormat implements DataFormat
     // vertex_index/texture_index/normal_index
     // vertex_index//normal_index
     // * vertex_index If an index is positive then it refers to the offset in that vertex list, starting at 1. If an index is negative then it relatively refers to the end of the vertex list, -1 referring to the last element.
-    private DataNode parseFaceVertexData(String token, DataNode root, int row) {
+    private DataNode parseFaceVertexData(ObjReader reader, DataNode root, int[] corner) {
+        reader.nextFaceCorner(listSize(root, VERTICES_ATTRIBUTE), listSize(root, VERTEX_TEXTURES_ATTRIBUTE), listSize(root, VERTEX_NORMALS_ATTRIBUTE), corner);
         DataNode faceVertexDataNode = DataNode.Object();
-        String[] tokens = token.split("/");
-        faceVertexDataNode.set(VERTEX_ATTRIBUTE, parseIndexAndValidate(tokens[0], root.get(VERTICES_ATTRIBUTE).contentCount(), row));
-        if (tokens.length == 1) {
-            // Format: vertex_index
-            return faceVertexDataNode;
-        }
-        if (!tokens[1].isBlank()) {
+        faceVertexDataNode.set(VERTEX_ATTRIBUTE, corner[0]);
+        if (corner[1] != ObjMesh.NO_INDEX) {
             // texture is optional
-            faceVertexDataNode.set(VERTEX_TEXTURE_ATTRIBUTE, parseIndexAndValidate(tokens[1], root.get(VERTEX_TEXTURES_ATTRIBUTE).contentCount(), row));
+            faceVertexDataNode.set(VERTEX_TEXTURE_ATTRIBUTE, corner[1]);
         }
-        if (tokens.length == 2) {
+        if (corner[2] != ObjMesh.NO_INDEX) {
             // normal is optional
-            return faceVertexDataNode;
+            faceVertexDataNode.set(VERTEX_NORMAL_ATTRIBUTE, corner[2]);
         }
-        faceVertexDataNode.set(VERTEX_NORMAL_ATTRIBUTE, parseIndexAndValidate(tokens[2], root.get(VERTEX_NORMALS_ATTRIBUTE).contentCount(), row));
         return faceVertexDataNode;
     }
 
-    private int parseIndexAndValidate(String index, int listSize, int row) {
-        int indexValue = parseIndex(index);
-        if (indexValue >= listSize) {
-            throw new RuntimeException(String.format("index out off bounds (row = %d) list size is %d but found index %d", row, listSize, indexValue));
+    private int listSize(DataNode root, String attribute) {
+        return root.contains(attribute) ? root.get(attribute).contentCount() : 0;
+    }
+
+    // -- Mesh ---------
+
+    /**
+     * Parses OBJ data straight into a packed {@link ObjMesh}, without creating a {@link DataNode} per value.
+     * Faces are triangulated, comments and elements that are not part of the mesh geometry are ignored.
+     *
+     * @param data the OBJ data to parse
+     * @return the parsed mesh
+     */
+    public ObjMesh deserializeMesh(String data) {
+        return deserializeMesh(ByteBuffer.wrap(data.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Parses OBJ data straight into a packed {@link ObjMesh}.
+     * In parallel mode, data longer than the threshold is split at line boundaries into chunks that are parsed
+     * concurrently into their own buffers and stitched in order, the result is the same as a sequential parse.
+     *
+     * @param data the OBJ data to parse (from the position to the limit), the position of the buffer is not changed
+     * @return the parsed mesh
+     */
+    public ObjMesh deserializeMesh(ByteBuffer data) {
+        return deserializeMesh(data, null);
+    }
+
+    /**
+     * Parses OBJ data straight into a packed {@link ObjMesh}, reporting the progress while parsing.
+     *
+     * @param data the OBJ data to parse (from the position to the limit), the position of the buffer is not changed
+     * @param listener the listener notified of the parse progress, or null
+     * @return the parsed mesh
+     * @see #deserializeMesh(ByteBuffer)
+     */
+    public ObjMesh deserializeMesh(ByteBuffer data, ObjReader.ProgressListener listener) {
+        if (isParallel() && data.remaining() >= parallelThreshold) {
+            return new ParallelObjReader(data, ParallelObjReader.CHUNK_SIZE).setProgressListener(listener).read();
         }
-        return indexValue;
+        return deserializeMesh(new ObjReader(data).setProgressListener(listener));
     }
 
-    private int parseIndex(String index) {
-        // indexes in obj file starts at 1, we should adjust when parsing to start at 0
-        return Integer.parseInt(index) - 1;
+    /**
+     * Loads OBJ data from a stream straight into a packed {@link ObjMesh}, the stream is closed when done.
+     * The stream is parsed sequentially, use {@link #deserializeMesh(ByteBuffer)} to parse in parallel.
+     *
+     * @param inputStream the stream containing the data
+     * @param totalBytes the length of the stream, or -1 if unknown
+     * @param listener the listener notified of the read progress, or null
+     * @return the parsed mesh
+     * @throws IOException if an I/O error occurs while reading the stream
+     */
+    public ObjMesh loadMesh(InputStream inputStream, long totalBytes, ObjReader.ProgressListener listener) throws IOException {
+        try (InputStream input = inputStream) {
+            return deserializeMesh(new ObjReader(input, totalBytes).setProgressListener(listener));
+        }
+    }
+
+    /**
+     * Parses the OBJ data of a reader into a packed {@link ObjMesh}, the data is read line by line.
+     *
+     * @param reader the reader of the data
+     * @return the parsed mesh
+     */
+    public ObjMesh deserializeMesh(ObjReader reader) {
+        // Rough estimation of the vertex count to avoid most of the array growth
+        return new ObjMesh.Builder(estimateVertices(reader.getTotalBytes())).read(reader).build();
+    }
+
+    /** The largest estimated vertex count, larger meshes grow their arrays instead of pre-sizing them from the file length */
+    private static final int MAX_ESTIMATED_VERTICES = 1 << 16;
+
+    static int estimateVertices(long bytes) {
+        return bytes > 0 ? (int) Math.min(bytes / 64, MAX_ESTIMATED_VERTICES) : 1024;
     }
 
     // -- Serialization ---------
@@ -183,6 +297,24 @@ public class ObjFormat implements DataFormat
 
     @Override
     public String serialize(DataNode data) {
+        StringWriter output = new StringWriter();
+        try {
+            write(data, new ObjWriter(output));
+        } catch (IOException e) {
+            // Not thrown when writing into a string
+            throw new UncheckedIOException(e);
+        }
+        return output.toString();
+    }
+
+    /**
+     * Writes OBJ data held by a {@link DataNode} line by line into a writer, without building the whole output in memory.
+     *
+     * @param data the {@link DataNode} to write
+     * @param writer the writer to write into, flushed when done
+     * @throws IOException if an I/O error occurs while writing
+     */
+    public void write(DataNode data, ObjWriter writer) throws IOException {
         // Validate required attributes
         if (!data.contains(VERTICES_ATTRIBUTE)) {
             throw new RuntimeException(String.format("obj data node must contain '%s' attribute", VERTICES_ATTRIBUTE));
@@ -194,30 +326,40 @@ public class ObjFormat implements DataFormat
         boolean hasNormals = data.contains(VERTEX_NORMALS_ATTRIBUTE);
         boolean hasTextures = data.contains(VERTEX_TEXTURES_ATTRIBUTE);
 
-        StringBuilder output = new StringBuilder();
         int row = 0;
         SerializeState serializeState = SerializeState.Vertex;
         while (serializeState != SerializeState.Done) {
             switch (serializeState) {
                 case Vertex:
-                    row = outputVertices(data, output, row);
+                    row = outputVertices(data, writer, row);
                     serializeState = getNextState(serializeState, hasNormals, hasTextures);
                     break;
                 case VertexTextures:
-                    row = outputTextures(data, output, row);
+                    row = outputTextures(data, writer, row);
                     serializeState = getNextState(serializeState, hasNormals, hasTextures);
                     break;
                 case VertexNormals:
-                    row = outputNormals(data, output, row);
+                    row = outputNormals(data, writer, row);
                     serializeState = getNextState(serializeState, hasNormals, hasTextures);
                     break;
                 case Faces:
-                    row = outputFaces(data, output, row, hasNormals, hasTextures);
+                    row = outputFaces(data, writer, row, hasNormals, hasTextures);
                     serializeState = getNextState(serializeState, hasNormals, hasTextures);
                     break;
             }
         }
-        return output.toString();
+        writer.flush();
+    }
+
+    /**
+     * Writes a mesh as OBJ data, encoded as UTF-8, into the given stream. The lines are streamed as they are written.
+     *
+     * @param mesh the mesh to write
+     * @param output the stream to write into, not closed by this method
+     * @throws IOException if an I/O error occurs while writing
+     */
+    public void writeMesh(ObjMesh mesh, OutputStream output) throws IOException {
+        new ObjWriter(new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8))).mesh(mesh).flush();
     }
 
     private SerializeState getNextState(SerializeState current, boolean hasNormals, boolean hasTextures) {
@@ -234,84 +376,64 @@ public class ObjFormat implements DataFormat
         }
     }
 
-    private int outputVertices(DataNode data, StringBuilder output, int currentRow) {
-        int row = outputCommentsIfExists(data, output, currentRow);
+    private int outputVertices(DataNode data, ObjWriter writer, int currentRow) throws IOException {
+        int row = outputCommentsIfExists(data, writer, currentRow);
         for (DataNode vertexNode : data.get(VERTICES_ATTRIBUTE)) {
             // Appends ordered vertex information
             float x = vertexNode.get("x").getFloat();
             float y = vertexNode.get("y").getFloat();
             float z = vertexNode.get("z").getFloat();
-            if (!vertexNode.contains("w") || vertexNode.get("w").getFloat() == 1.0f) {
-                output.append(String.format("v %s %s %s\n", x, y, z));
+            if (!vertexNode.contains("w")) {
+                writer.vertex(x, y, z);
             } else {
-                output.append(String.format("v %s %s %s %s\n", x, y, z, vertexNode.get("w").getFloat()));
+                writer.vertex(x, y, z, vertexNode.get("w").getFloat());
             }
-            row = outputCommentsIfExists(data, output, row + 1);
+            row = outputCommentsIfExists(data, writer, row + 1);
         }
         return row;
     }
 
-    private int outputNormals(DataNode data, StringBuilder output, int currentRow) {
-        int row = outputCommentsIfExists(data, output, currentRow);
+    private int outputNormals(DataNode data, ObjWriter writer, int currentRow) throws IOException {
+        int row = outputCommentsIfExists(data, writer, currentRow);
         for (DataNode vertexNormalNode : data.get(VERTEX_NORMALS_ATTRIBUTE)) {
             // Appends ordered normal information
-            float x = vertexNormalNode.get("x").getFloat();
-            float y = vertexNormalNode.get("y").getFloat();
-            float z = vertexNormalNode.get("z").getFloat();
-            output.append(String.format("vn %s %s %s\n", x, y, z));
-            row = outputCommentsIfExists(data, output, row + 1);
+            writer.normal(vertexNormalNode.get("x").getFloat(), vertexNormalNode.get("y").getFloat(), vertexNormalNode.get("z").getFloat());
+            row = outputCommentsIfExists(data, writer, row + 1);
         }
         return row;
     }
 
-    private int outputTextures(DataNode data, StringBuilder output, int currentRow) {
-        int row = outputCommentsIfExists(data, output, currentRow);
+    private int outputTextures(DataNode data, ObjWriter writer, int currentRow) throws IOException {
+        int row = outputCommentsIfExists(data, writer, currentRow);
         for (DataNode vertexTextureNode : data.get(VERTEX_TEXTURES_ATTRIBUTE)) {
             // Appends ordered texture information
-            float x = vertexTextureNode.get("x").getFloat();
-            float y = vertexTextureNode.get("y").getFloat();
-            output.append(String.format("vt %s %s\n", x, y));
-            row = outputCommentsIfExists(data, output, row + 1);
+            writer.texture(vertexTextureNode.get("x").getFloat(), vertexTextureNode.get("y").getFloat());
+            row = outputCommentsIfExists(data, writer, row + 1);
         }
         return row;
     }
 
-    private int outputFaces(DataNode data, StringBuilder output, int currentRow, boolean hasNormals, boolean hasTextures) {
-        int row = outputCommentsIfExists(data, output, currentRow);
+    private int outputFaces(DataNode data, ObjWriter writer, int currentRow, boolean hasNormals, boolean hasTextures) throws IOException {
+        int row = outputCommentsIfExists(data, writer, currentRow);
         for (DataNode faceNode : data.getProperty(FACES_ATTRIBUTE)) {
             // Appends face information
-            output.append("f").append(getFace(faceNode, hasNormals, hasTextures)).append("\n");
-            row = outputCommentsIfExists(data, output, row + 1);
+            writer.beginFace();
+            for (DataNode faceVertexNode : faceNode) {
+                writer.faceVertex(faceVertexNode.get(VERTEX_ATTRIBUTE).getInt(),
+                        hasTextures ? faceVertexNode.get(VERTEX_TEXTURE_ATTRIBUTE).getInt() : ObjMesh.NO_INDEX,
+                        hasNormals ? faceVertexNode.get(VERTEX_NORMAL_ATTRIBUTE).getInt() : ObjMesh.NO_INDEX);
+            }
+            writer.endFace();
+            row = outputCommentsIfExists(data, writer, row + 1);
         }
         return row;
     }
 
-    private String getFace(DataNode faceNode, boolean hasNormals, boolean hasTextures) {
-        StringBuilder output = new StringBuilder();
-        for (DataNode faceVertexNode : faceNode) {
-            output.append(" ").append(getFaceVertexData(faceVertexNode, hasNormals, hasTextures));
-        }
-        return output.toString();
-    }
-
-    private String getFaceVertexData(DataNode faceVertexNode, boolean hasNormals, boolean hasTextures) {
-        if (!hasNormals && !hasTextures) {
-            return String.format("%d", faceVertexNode.get(VERTEX_ATTRIBUTE).getInt() + 1);
-        }
-        if (!hasNormals) {
-            return String.format("%d/%d", faceVertexNode.get(VERTEX_ATTRIBUTE).getInt() + 1, faceVertexNode.get(VERTEX_TEXTURE_ATTRIBUTE).getInt() + 1);
-        }
-        if (!hasTextures) {
-            return String.format("%d//%d", faceVertexNode.get(VERTEX_ATTRIBUTE).getInt() + 1, faceVertexNode.get(VERTEX_NORMAL_ATTRIBUTE).getInt() + 1);
-        }
-        return String.format("%d/%d/%d", faceVertexNode.get(VERTEX_ATTRIBUTE).getInt() + 1, faceVertexNode.get(VERTEX_TEXTURE_ATTRIBUTE).getInt() + 1, faceVertexNode.get(VERTEX_NORMAL_ATTRIBUTE).getInt() + 1);
-    }
-
-    private int outputCommentsIfExists(DataNode data, StringBuilder output, int currentRow) {
+    private int outputCommentsIfExists(DataNode data, ObjWriter writer, int currentRow) throws IOException {
         int next = currentRow;
         String comment = getComment(data, next);
         while (comment != null) {
-            output.append(String.format("%s\n", comment));
+            writer.line(comment);
             next++;
             // check if next is also a comment
             comment = getComment(data, next);
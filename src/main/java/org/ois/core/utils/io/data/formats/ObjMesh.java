@@ -0,0 +1,379 @@
+package org.ois.core.utils.io.data.formats;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A mesh loaded from a Wavefront OBJ file into packed primitive arrays.
+ * <p>
+ * Unlike {@link ObjFormat#deserialize(String)}, which creates a {@link org.ois.core.utils.io.data.DataNode} per value,
+ * the mesh holds its data the way it is uploaded to the GPU:
+ * <ul>
+ *     <li>positions - (x, y, z) per vertex, the optional w coordinate is dropped</li>
+ *     <li>textures - (u, v) per texture coordinate</li>
+ *     <li>normals - (x, y, z) per normal</li>
+ *     <li>indices - faces are triangulated, every triangle corner references a position, a texture and a normal (0-based)</li>
+ * </ul>
+ * A corner that doesn't reference a texture or a normal holds {@link #NO_INDEX}.
+ */
+public class ObjMesh {
+
+    /** The index of a texture/normal that is not referenced by a triangle corner */
+    public static final int NO_INDEX = -1;
+
+    public static final int POSITION_SIZE = 3;
+    public static final int TEXTURE_SIZE = 2;
+    public static final int NORMAL_SIZE = 3;
+
+    private final float[] positions;
+    private final float[] textures;
+    private final float[] normals;
+    private final int[] positionIndices;
+    private final int[] textureIndices;
+    private final int[] normalIndices;
+
+    /**
+     * Constructs a mesh from packed arrays, the arrays are used as is (not copied).
+     *
+     * @param positions the vertex positions, {@link #POSITION_SIZE} floats per vertex
+     * @param textures the texture coordinates, {@link #TEXTURE_SIZE} floats per coordinate
+     * @param normals the normals, {@link #NORMAL_SIZE} floats per normal
+     * @param positionIndices the position index of every triangle corner
+     * @param textureIndices the texture index of every triangle corner, or null if no corner references a texture
+     * @param normalIndices the normal index of every triangle corner, or null if no corner references a normal
+     */
+    public ObjMesh(float[] positions, float[] textures, float[] normals, int[] positionIndices, int[] textureIndices, int[] normalIndices) {
+        if (positionIndices.length % 3 != 0) {
+            throw new IllegalArgumentException(String.format("expected 3 indices per triangle but found %d indices", positionIndices.length));
+        }
+        if ((textureIndices != null && textureIndices.length != positionIndices.length) || (normalIndices != null && normalIndices.length != positionIndices.length)) {
+            throw new IllegalArgumentException("texture and normal indices must match the position indices length");
+        }
+        this.positions = positions;
+        this.textures = textures;
+        this.normals = normals;
+        this.positionIndices = positionIndices;
+        this.textureIndices = textureIndices;
+        this.normalIndices = normalIndices;
+    }
+
+    public float[] getPositions() {
+        return positions;
+    }
+
+    public float[] getTextures() {
+        return textures;
+    }
+
+    public float[] getNormals() {
+        return normals;
+    }
+
+    public int[] getPositionIndices() {
+        return positionIndices;
+    }
+
+    /**
+     * Returns the texture index of every triangle corner.
+     *
+     * @return the texture indices, or null if the mesh faces don't reference textures
+     */
+    public int[] getTextureIndices() {
+        return textureIndices;
+    }
+
+    /**
+     * Returns the normal index of every triangle corner.
+     *
+     * @return the normal indices, or null if the mesh faces don't reference normals
+     */
+    public int[] getNormalIndices() {
+        return normalIndices;
+    }
+
+    public int getVertexCount() {
+        return positions.length / POSITION_SIZE;
+    }
+
+    public int getTextureCount() {
+        return textures.length / TEXTURE_SIZE;
+    }
+
+    public int getNormalCount() {
+        return normals.length / NORMAL_SIZE;
+    }
+
+    public int getTriangleCount() {
+        return positionIndices.length / 3;
+    }
+
+    public boolean hasTextures() {
+        return textureIndices != null;
+    }
+
+    public boolean hasNormals() {
+        return normalIndices != null;
+    }
+
+    /**
+     * Welds the triangle corners into unique vertices with a single index buffer.
+     *
+     * @return the indexed mesh
+     * @see IndexedMesh#weld(ObjMesh)
+     */
+    public IndexedMesh weld() {
+        return IndexedMesh.weld(this);
+    }
+
+    /**
+     * Collects the mesh data into growable primitive arrays while parsing.
+     */
+    static class Builder {
+        float[] positions;
+        float[] textures = new float[16];
+        float[] normals = new float[16];
+        int[] positionIndices;
+        /** Allocated when the first corner references a texture (or a normal), null for meshes without them */
+        int[] textureIndices;
+        int[] normalIndices;
+
+        int positionCount;
+        int textureCount;
+        int normalCount;
+        int indexCount;
+
+        /** The number of elements defined before the data of this builder, when it parses a part of a file */
+        int vertexBase;
+        int textureBase;
+        int normalBase;
+
+        /** The face corners of the face that is currently parsed, 3 indices (v, vt, vn) per corner */
+        private int[] face = new int[3 * 8];
+        private int faceSize;
+
+        Builder() {
+            this(1024);
+        }
+
+        Builder(int expectedVertices) {
+            int capacity = Math.max(expectedVertices, 16);
+            positions = new float[capacity * POSITION_SIZE];
+            positionIndices = new int[capacity * 3];
+        }
+
+        void addPosition(float x, float y, float z) {
+            if (positionCount + POSITION_SIZE > positions.length) {
+                positions = Arrays.copyOf(positions, positions.length * 2);
+            }
+            positions[positionCount++] = x;
+            positions[positionCount++] = y;
+            positions[positionCount++] = z;
+        }
+
+        void addTexture(float u, float v) {
+            if (textureCount + TEXTURE_SIZE > textures.length) {
+                textures = Arrays.copyOf(textures, textures.length * 2);
+            }
+            textures[textureCount++] = u;
+            textures[textureCount++] = v;
+        }
+
+        void addNormal(float x, float y, float z) {
+            if (normalCount + NORMAL_SIZE > normals.length) {
+                normals = Arrays.copyOf(normals, normals.length * 2);
+            }
+            normals[normalCount++] = x;
+            normals[normalCount++] = y;
+            normals[normalCount++] = z;
+        }
+
+        int vertices() {
+            return vertexBase + positionCount / POSITION_SIZE;
+        }
+
+        int textures() {
+            return textureBase + textureCount / TEXTURE_SIZE;
+        }
+
+        int normals() {
+            return normalBase + normalCount / NORMAL_SIZE;
+        }
+
+        /**
+         * Reads the mesh elements of all the lines of the reader, the other lines are ignored.
+         *
+         * @param reader the reader of the OBJ data
+         * @return this builder
+         */
+        Builder read(ObjReader reader) {
+            int[] corner = new int[3];
+            while (reader.nextLine()) {
+                if (reader.isKeyword("v")) {
+                    addPosition(reader.nextFloat("vertex"), reader.nextFloat("vertex"), reader.nextFloat("vertex"));
+                } else if (reader.isKeyword("vn")) {
+                    addNormal(reader.nextFloat("vertex normal"), reader.nextFloat("vertex normal"), reader.nextFloat("vertex normal"));
+                } else if (reader.isKeyword("vt")) {
+                    // v is optional and defaults to 0
+                    float u = reader.nextFloat("vertex texture");
+                    addTexture(u, reader.hasNext() ? reader.nextFloat("vertex texture") : 0f);
+                } else if (reader.isKeyword("f")) {
+                    while (reader.hasNext()) {
+                        reader.nextFaceCorner(vertices(), textures(), normals(), corner);
+                        addFaceCorner(corner[0], corner[1], corner[2]);
+                    }
+                    if (endFace() < 3) {
+                        throw new RuntimeException(String.format("face line (row = %d) expected at least 3 vertices", reader.getRow()));
+                    }
+                }
+            }
+            return this;
+        }
+
+        /**
+         * Adds a corner to the face that is currently parsed.
+         *
+         * @param position the 0-based position index
+         * @param texture the 0-based texture index or {@link #NO_INDEX}
+         * @param normal the 0-based normal index or {@link #NO_INDEX}
+         */
+        void addFaceCorner(int position, int texture, int normal) {
+            if (faceSize + 3 > face.length) {
+                face = Arrays.copyOf(face, face.length * 2);
+            }
+            face[faceSize++] = position;
+            face[faceSize++] = texture;
+            face[faceSize++] = normal;
+        }
+
+        /**
+         * Ends the face that is currently parsed, polygons are triangulated as a fan around their first corner.
+         *
+         * @return the number of corners of the face
+         */
+        int endFace() {
+            int corners = faceSize / 3;
+            for (int i = 2; i < corners; i++) {
+                addCorner(0);
+                addCorner(i - 1);
+                addCorner(i);
+            }
+            faceSize = 0;
+            return corners;
+        }
+
+        private void addCorner(int corner) {
+            if (indexCount == positionIndices.length) {
+                int capacity = positionIndices.length * 2;
+                positionIndices = Arrays.copyOf(positionIndices, capacity);
+                if (textureIndices != null) {
+                    textureIndices = Arrays.copyOf(textureIndices, capacity);
+                }
+                if (normalIndices != null) {
+                    normalIndices = Arrays.copyOf(normalIndices, capacity);
+                }
+            }
+            positionIndices[indexCount] = face[corner * 3];
+            int texture = face[corner * 3 + 1];
+            if (textureIndices == null && texture != NO_INDEX) {
+                textureIndices = noIndices(positionIndices.length, indexCount);
+            }
+            if (textureIndices != null) {
+                textureIndices[indexCount] = texture;
+            }
+            int normal = face[corner * 3 + 2];
+            if (normalIndices == null && normal != NO_INDEX) {
+                normalIndices = noIndices(positionIndices.length, indexCount);
+            }
+            if (normalIndices != null) {
+                normalIndices[indexCount] = normal;
+            }
+            indexCount++;
+        }
+
+        /**
+         * Allocates an index array where the corners that were already added have no index.
+         */
+        private static int[] noIndices(int capacity, int count) {
+            int[] indices = new int[capacity];
+            Arrays.fill(indices, 0, count, NO_INDEX);
+            return indices;
+        }
+
+        /**
+         * Returns the array itself when it is already at its final length, instead of copying it.
+         */
+        private static float[] trim(float[] array, int count) {
+            return array.length == count ? array : Arrays.copyOf(array, count);
+        }
+
+        private static int[] trim(int[] array, int count) {
+            return array == null || array.length == count ? array : Arrays.copyOf(array, count);
+        }
+
+        ObjMesh build() {
+            return new ObjMesh(
+                    trim(positions, positionCount),
+                    trim(textures, textureCount),
+                    trim(normals, normalCount),
+                    trim(positionIndices, indexCount),
+                    trim(textureIndices, indexCount),
+                    trim(normalIndices, indexCount)
+            );
+        }
+
+        /**
+         * Builds a mesh from the builders of consecutive parts of a file, the data of the parts is kept in order.
+         * The indices of the parts are already resolved against the whole file (using the base counts of each part).
+         *
+         * @param parts the builders of the parts, in the order of the file
+         * @return the mesh of the whole file
+         */
+        static ObjMesh merge(List<Builder> parts) {
+            int positionCount = 0, textureCount = 0, normalCount = 0, indexCount = 0;
+            boolean hasTextures = false, hasNormals = false;
+            for (Builder part : parts) {
+                positionCount += part.positionCount;
+                textureCount += part.textureCount;
+                normalCount += part.normalCount;
+                indexCount += part.indexCount;
+                hasTextures |= part.textureIndices != null;
+                hasNormals |= part.normalIndices != null;
+            }
+            float[] positions = new float[positionCount];
+            float[] textures = new float[textureCount];
+            float[] normals = new float[normalCount];
+            int[] positionIndices = new int[indexCount];
+            int[] textureIndices = hasTextures ? new int[indexCount] : null;
+            int[] normalIndices = hasNormals ? new int[indexCount] : null;
+            positionCount = textureCount = normalCount = indexCount = 0;
+            for (Builder part : parts) {
+                System.arraycopy(part.positions, 0, positions, positionCount, part.positionCount);
+                System.arraycopy(part.textures, 0, textures, textureCount, part.textureCount);
+                System.arraycopy(part.normals, 0, normals, normalCount, part.normalCount);
+                System.arraycopy(part.positionIndices, 0, positionIndices, indexCount, part.indexCount);
+                if (hasTextures) {
+                    copyIndices(part.textureIndices, textureIndices, indexCount, part.indexCount);
+                }
+                if (hasNormals) {
+                    copyIndices(part.normalIndices, normalIndices, indexCount, part.indexCount);
+                }
+                positionCount += part.positionCount;
+                textureCount += part.textureCount;
+                normalCount += part.normalCount;
+                indexCount += part.indexCount;
+            }
+            return new ObjMesh(positions, textures, normals, positionIndices, textureIndices, normalIndices);
+        }
+
+        /**
+         * Copies the indices of a part, a part without the indices (null) has no index for its corners.
+         */
+        private static void copyIndices(int[] part, int[] target, int offset, int count) {
+            if (part == null) {
+                Arrays.fill(target, offset, offset + count, NO_INDEX);
+            } else {
+                System.arraycopy(part, 0, target, offset, count);
+            }
+        }
+    }
+}
@@ -0,0 +1,456 @@
+package org.ois.core.utils.io.data.formats;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A streaming tokenizer of Wavefront OBJ data.
+ * <p>
+ * The data is scanned once through a reusable byte buffer, one line at a time, without regular expressions or
+ * intermediate line/token arrays. Numbers are parsed in place, strings are only created when requested.
+ * <pre>{@code
+ * ObjReader reader = new ObjReader(input, length);
+ * while (reader.nextLine()) {
+ *     if (reader.isKeyword("v")) {
+ *         float x = reader.nextFloat("vertex");
+ *         ...
+ *     }
+ * }
+ * }</pre>
+ * Trailing comments ({@code #}) are not part of the tokens of a line.
+ */
+public class ObjReader {
+
+    /**
+     * Listener notified while the data is read.
+     */
+    public interface ProgressListener {
+        /**
+         * Called after each block of the data is read.
+         *
+         * @param bytesRead the number of bytes read so far
+         * @param totalBytes the total number of bytes, or -1 if unknown
+         */
+        void onProgress(long bytesRead, long totalBytes);
+    }
+
+    public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    /** Powers of ten that are exactly representable as floats, used to parse numbers without rounding errors */
+    private static final float[] POWERS_OF_TEN = {1e0f, 1e1f, 1e2f, 1e3f, 1e4f, 1e5f, 1e6f, 1e7f, 1e8f, 1e9f, 1e10f};
+    /** Integers up to this value are exactly representable as floats */
+    private static final int MAX_EXACT_MANTISSA = 1 << 24;
+
+    private final InputStream input;
+    /** The buffer to read from when it is not backed by an array (memory mapped) */
+    private final ByteBuffer source;
+    private final long totalBytes;
+    private ProgressListener listener;
+
+    private byte[] buffer;
+    /** The number of valid bytes in the buffer */
+    private int limit;
+    private long bytesRead;
+    private boolean endOfInput;
+
+    private int lineStart;
+    private int lineEnd;
+    /** The end of the tokens of the current line (the line end or the start of a trailing comment) */
+    private int tokensEnd;
+    private int position;
+    private int tokenStart;
+    private int tokenEnd;
+    private int row = -1;
+
+    /**
+     * Constructs a reader over a stream of unknown length.
+     *
+     * @param input the stream to read, not closed by the reader
+     */
+    public ObjReader(InputStream input) {
+        this(input, -1);
+    }
+
+    /**
+     * Constructs a reader over a stream.
+     *
+     * @param input the stream to read, not closed by the reader
+     * @param totalBytes the length of the stream reported to the progress listener, or -1 if unknown
+     */
+    public ObjReader(InputStream input, long totalBytes) {
+        this.input = input;
+        this.source = null;
+        this.totalBytes = totalBytes;
+        this.buffer = new byte[DEFAULT_BUFFER_SIZE];
+        this.lineEnd = -1;
+    }
+
+    /**
+     * Constructs a reader over the remaining bytes of a buffer, the position of the buffer is not changed.
+     * Buffers backed by an array are scanned in place, other buffers (memory mapped files) are read in blocks.
+     *
+     * @param data the OBJ data
+     */
+    public ObjReader(ByteBuffer data) {
+        this.input = null;
+        this.totalBytes = data.remaining();
+        if (data.hasArray()) {
+            this.source = null;
+            this.buffer = data.array();
+            this.position = data.arrayOffset() + data.position();
+            this.lineEnd = position - 1;
+            this.limit = position + data.remaining();
+            this.bytesRead = data.remaining();
+            this.endOfInput = true;
+        } else {
+            this.source = data.duplicate();
+            this.buffer = new byte[(int) Math.min(DEFAULT_BUFFER_SIZE, Math.max(totalBytes, 16))];
+            this.lineEnd = -1;
+        }
+    }
+
+    /**
+     * Constructs a reader over the given bytes, the bytes are scanned in place.
+     *
+     * @param data the OBJ data
+     * @param offset the offset of the data in the array
+     * @param length the number of bytes of the data
+     */
+    public ObjReader(byte[] data, int offset, int length) {
+        this(ByteBuffer.wrap(data, offset, length));
+    }
+
+    /**
+     * Sets a listener that is notified of the read progress.
+     *
+     * @param listener the listener, or null to remove it
+     * @return this reader
+     */
+    public ObjReader setProgressListener(ProgressListener listener) {
+        this.listener = listener;
+        return this;
+    }
+
+    /**
+     * Sets the number of the first line of the data, used when the data is a part of a larger file.
+     *
+     * @param row the 0-based number of the first line
+     * @return this reader
+     */
+    ObjReader setFirstRow(int row) {
+        this.row = row - 1;
+        return this;
+    }
+
+    /**
+     * Returns the 0-based number of the current line, used in error messages.
+     *
+     * @return the row of the current line
+     */
+    public int getRow() {
+        return row;
+    }
+
+    public long getBytesRead() {
+        return bytesRead;
+    }
+
+    public long getTotalBytes() {
+        return totalBytes;
+    }
+
+    /**
+     * Moves to the next line and reads its first token (the keyword of the line).
+     *
+     * @return true if there is a line, false at the end of the data
+     */
+    public boolean nextLine() {
+        int start = lineEnd + 1;
+        int end = indexOfLineEnd(start);
+        while (end < 0 && !endOfInput) {
+            start = fill(start);
+            end = indexOfLineEnd(start);
+        }
+        if (end < 0) {
+            if (start >= limit) {
+                notifyProgress();
+                return false;
+            }
+            // Last line without a line break
+            end = limit;
+        }
+        row++;
+        lineStart = start;
+        lineEnd = end;
+        tokensEnd = end > start && buffer[end - 1] == '\r' ? end - 1 : end;
+        for (int i = start; i < tokensEnd; i++) {
+            if (buffer[i] == '#') {
+                tokensEnd = i;
+                break;
+            }
+        }
+        position = start;
+        tokenStart = tokenEnd = start;
+        if (hasNext()) {
+            nextToken();
+        }
+        return true;
+    }
+
+    /**
+     * Checks if the current line has no tokens (it is empty or only holds a comment).
+     *
+     * @return true if the line has no keyword
+     */
+    public boolean isBlank() {
+        return tokenStart == tokenEnd;
+    }
+
+    /**
+     * Checks the keyword of the current line, ignoring case. Call it before reading the other tokens of the line.
+     *
+     * @param keyword the lower case keyword to compare
+     * @return true if the first token of the line is the keyword
+     */
+    public boolean isKeyword(String keyword) {
+        if (tokenEnd - tokenStart != keyword.length()) {
+            return false;
+        }
+        for (int i = 0; i < keyword.length(); i++) {
+            if (Character.toLowerCase((char) buffer[tokenStart + i]) != keyword.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the content of the current line, without its line break.
+     *
+     * @return the current line
+     */
+    public String line() {
+        int end = lineEnd > lineStart && buffer[lineEnd - 1] == '\r' ? lineEnd - 1 : lineEnd;
+        return new String(buffer, lineStart, end - lineStart, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Checks if the current line has more tokens.
+     *
+     * @return true if there is a next token
+     */
+    public boolean hasNext() {
+        while (position < tokensEnd && isWhitespace(buffer[position])) {
+            position++;
+        }
+        return position < tokensEnd;
+    }
+
+    /**
+     * Reads the next token of the current line as a string.
+     *
+     * @param element the name of the element of the line, used in error messages
+     * @return the token
+     */
+    public String nextString(String element) {
+        requireNext(element);
+        return new String(buffer, tokenStart, tokenEnd - tokenStart, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Reads the next token of the current line as a float.
+     *
+     * @param element the name of the element of the line, used in error messages
+     * @return the parsed value
+     */
+    public float nextFloat(String element) {
+        requireNext(element);
+        float value = parseFloat(tokenStart, tokenEnd);
+        if (Float.isNaN(value)) {
+            // Not a simple decimal number (exponent, long mantissa, NaN...), use the full parser
+            String token = new String(buffer, tokenStart, tokenEnd - tokenStart, StandardCharsets.UTF_8);
+            try {
+                return Float.parseFloat(token);
+            } catch (NumberFormatException e) {
+                throw new RuntimeException(String.format("%s line (row = %d) has invalid value '%s'", element, row, token), e);
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Reads the next face corner of the current line, in one of the formats: v, v/vt, v/vt/vn, v//vn.
+     * Positive indexes start at 1, negative indexes are relative to the end of the list (-1 is the last element).
+     *
+     * @param vertices the number of vertices defined so far
+     * @param textures the number of texture coordinates defined so far
+     * @param normals the number of normals defined so far
+     * @param corner the array to put the resolved 0-based indexes (v, vt, vn) into, {@link ObjMesh#NO_INDEX} for missing indexes
+     */
+    public void nextFaceCorner(int vertices, int textures, int normals, int[] corner) {
+        requireNext("face");
+        int separator = indexOf('/', tokenStart, tokenEnd);
+        corner[0] = resolveIndex(tokenStart, separator, vertices);
+        corner[1] = ObjMesh.NO_INDEX;
+        corner[2] = ObjMesh.NO_INDEX;
+        if (separator < tokenEnd) {
+            int next = indexOf('/', separator + 1, tokenEnd);
+            if (next > separator + 1) {
+                corner[1] = resolveIndex(separator + 1, next, textures);
+            }
+            if (next < tokenEnd) {
+                corner[2] = resolveIndex(next + 1, tokenEnd, normals);
+            }
+        }
+    }
+
+    private void requireNext(String element) {
+        if (!hasNext()) {
+            throw new RuntimeException(String.format("%s line (row = %d) has missing values", element, row));
+        }
+        nextToken();
+    }
+
+    private void nextToken() {
+        tokenStart = position;
+        while (position < tokensEnd && !isWhitespace(buffer[position])) {
+            position++;
+        }
+        tokenEnd = position;
+    }
+
+    private int indexOf(char c, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (buffer[i] == c) {
+                return i;
+            }
+        }
+        return to;
+    }
+
+    private int resolveIndex(int from, int to, int listSize) {
+        boolean negative = from < to && buffer[from] == '-';
+        int value = 0;
+        for (int i = negative ? from + 1 : from; i < to; i++) {
+            int digit = buffer[i] - '0';
+            if (digit < 0 || digit > 9) {
+                throw new RuntimeException(String.format("face line (row = %d) has invalid index '%s'", row, new String(buffer, from, to - from, StandardCharsets.UTF_8)));
+            }
+            value = value * 10 + digit;
+        }
+        int index = negative ? listSize - value : value - 1;
+        if (index < 0 || index >= listSize) {
+            throw new RuntimeException(String.format("index out off bounds (row = %d) list size is %d but found index %d", row, listSize, index));
+        }
+        return index;
+    }
+
+    /**
+     * Parses a decimal number ([-+]digits[.digits]) that can be computed exactly with float arithmetic.
+     *
+     * @return the parsed value, or NaN if the token should be parsed by {@link Float#parseFloat(String)}
+     */
+    private float parseFloat(int from, int to) {
+        int i = from;
+        boolean negative = false;
+        if (i < to && (buffer[i] == '-' || buffer[i] == '+')) {
+            negative = buffer[i] == '-';
+            i++;
+        }
+        int mantissa = 0;
+        int digits = 0;
+        int fractionDigits = -1;
+        for (; i < to; i++) {
+            byte c = buffer[i];
+            if (c == '.' && fractionDigits < 0) {
+                fractionDigits = 0;
+                continue;
+            }
+            int digit = c - '0';
+            if (digit < 0 || digit > 9) {
+                return Float.NaN;
+            }
+            mantissa = mantissa * 10 + digit;
+            digits++;
+            if (fractionDigits >= 0) {
+                fractionDigits++;
+            }
+            if (mantissa > MAX_EXACT_MANTISSA) {
+                return Float.NaN;
+            }
+        }
+        if (digits == 0 || fractionDigits >= POWERS_OF_TEN.length) {
+            return Float.NaN;
+        }
+        // Both operands are exact, so the division is correctly rounded like Float.parseFloat
+        float value = fractionDigits > 0 ? mantissa / POWERS_OF_TEN[fractionDigits] : mantissa;
+        return negative ? -value : value;
+    }
+
+    private int indexOfLineEnd(int from) {
+        for (int i = from; i < limit; i++) {
+            if (buffer[i] == '\n') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Reads more data from the stream, keeping the unfinished line that starts at the given index.
+     *
+     * @param start the start of the unfinished line
+     * @return the new index of the start of the line
+     */
+    private int fill(int start) {
+        int pending = limit - start;
+        if (pending == buffer.length) {
+            // The line is longer than the buffer
+            byte[] grown = new byte[buffer.length * 2];
+            System.arraycopy(buffer, start, grown, 0, pending);
+            buffer = grown;
+        } else if (start > 0) {
+            System.arraycopy(buffer, start, buffer, 0, pending);
+        }
+        limit = pending;
+        int read = source != null ? readSource() : readInput();
+        if (read < 0) {
+            endOfInput = true;
+        } else {
+            limit += read;
+            bytesRead += read;
+        }
+        notifyProgress();
+        return 0;
+    }
+
+    private int readInput() {
+        try {
+            return input.read(buffer, limit, buffer.length - limit);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private int readSource() {
+        if (!source.hasRemaining()) {
+            return -1;
+        }
+        int read = Math.min(source.remaining(), buffer.length - limit);
+        source.get(buffer, limit, read);
+        return read;
+    }
+
+    private void notifyProgress() {
+        if (listener != null) {
+            listener.onProgress(bytesRead, totalBytes);
+        }
+    }
+
+    static boolean isWhitespace(byte c) {
+        return c == ' ' || c == '\t' || c == '\r' || c == '\f' || c == 0x0B;
+    }
+}
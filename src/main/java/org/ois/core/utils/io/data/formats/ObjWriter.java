@@ -0,0 +1,283 @@
+package org.ois.core.utils.io.data.formats;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Writes Wavefront OBJ lines into a {@link Writer}, the counterpart of {@link ObjReader}.
+ * <p>
+ * Lines are written as they are added, so the memory needed to export a mesh doesn't depend on its size.
+ * Numbers are formatted into a reusable character buffer: ints in full and floats with the shortest decimal
+ * representation that reads back as the same float (the same text as {@link Float#toString(float)} for the usual
+ * mesh values), without creating a string per value.
+ * <pre>{@code
+ * ObjWriter writer = new ObjWriter(output);
+ * writer.vertex(0, 0, 0).vertex(1, 0, 0).vertex(0, 1, 0);
+ * writer.beginFace().faceVertex(0).faceVertex(1).faceVertex(2).endFace();
+ * writer.flush();
+ * }</pre>
+ * Indexes are 0-based, they are written 1-based as the format requires.
+ */
+public class ObjWriter {
+
+    /** Powers of ten, used to find the shortest representation of a float */
+    private static final double[] POWERS_OF_TEN = {1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9};
+    /** Floats in this range are formatted without an exponent, like Float.toString */
+    private static final float MIN_PLAIN = 1e-3f;
+    private static final float MAX_PLAIN = 1e7f;
+
+    private final Writer output;
+    private final char[] digits = new char[20];
+
+    /**
+     * Constructs an ObjWriter.
+     *
+     * @param output the writer to write into, not closed by the ObjWriter
+     */
+    public ObjWriter(Writer output) {
+        this.output = output;
+    }
+
+    /**
+     * Writes a line as is, used for comments and lines that are not part of the geometry.
+     *
+     * @param line the line content, without a line break
+     * @return this writer
+     * @throws IOException if an I/O error occurs while writing
+     */
+    public ObjWriter line(String line) throws IOException {
+        output.write(line);
+        output.write('\n');
+        return this;
+    }
+
+    /**
+     * Writes a geometric vertex line.
+     *
+     * @return this writer
+     * @throws IOException if an I/O error occurs while writing
+     */
+    public ObjWriter vertex(float x, float y, float z) throws IOException {
+        output.write('v');
+        writeFloats(x, y, z);
+        output.write('\n');
+        return this;
+    }
+
+    /**
+     * Writes a geometric vertex line, w is omitted if it is the default (1.0).
+     *
+     * @return this writer
+     * @throws IOException if an I/O error occurs while writing
+     */
+    public ObjWriter vertex(float x, float y, float z, float w) throws IOException {
+        if (w == 1.0f) {
+            return vertex(x, y, z);
+        }
+        output.write('v');
+        writeFloats(x, y, z);
+        output.write(' ');
+        writeFloat(w);
+        output.write('\n');
+        return this;
+    }
+
+    /**
+     * Writes a texture coordinate line.
+     *
+     * @return this writer
+     * @throws IOException if an I/O error occurs while writing
+     */
+    public ObjWriter texture(float u, float v) throws IOException {
+        output.write("vt ");
+        writeFloat(u);
+        output.write(' ');
+        writeFloat(v);
+        output.write('\n');
+        return this;
+    }
+
+    /**
+     * Writes a vertex normal line.
+     *
+     * @return this writer
+     * @throws IOException if an I/O error occurs while writing
+     */
+    public ObjWriter normal(float x, float y, float z) throws IOException {
+        output.write("vn");
+        writeFloats(x, y, z);
+        output.write('\n');
+        return this;
+    }
+
+    /**
+     * Starts a face line, followed by its vertices and {@link #endFace()}.
+     *
+     * @return this writer
+     * @throws IOException if an I/O error occurs while writing
+     */
+    public ObjWriter beginFace() throws IOException {
+        output.write('f');
+        return this;
+    }
+
+    /**
+     * Writes a vertex of the current face.
+     *
+     * @param vertex the 0-based vertex index
+     * @return this writer
+     * @throws IOException if an I/O error occurs while writing
+     */
+    public ObjWriter faceVertex(int vertex) throws IOException {
+        return faceVertex(vertex, ObjMesh.NO_INDEX, ObjMesh.NO_INDEX);
+    }
+
+    /**
+     * Writes a vertex of the current face, in the format: v, v/vt, v/vt/vn or v//vn.
+     *
+     * @param vertex the 0-based vertex index
+     * @param texture the 0-based texture index or {@link ObjMesh#NO_INDEX}
+     * @param normal the 0-based normal index or {@link ObjMesh#NO_INDEX}
+     * @return this writer
+     * @throws IOException if an I/O error occurs while writing
+     */
+    public ObjWriter faceVertex(int vertex, int texture, int normal) throws IOException {
+        output.write(' ');
+        writeInt(vertex + 1);
+        if (texture == ObjMesh.NO_INDEX && normal == ObjMesh.NO_INDEX) {
+            return this;
+        }
+        output.write('/');
+        if (texture != ObjMesh.NO_INDEX) {
+            writeInt(texture + 1);
+        }
+        if (normal != ObjMesh.NO_INDEX) {
+            output.write('/');
+            writeInt(normal + 1);
+        }
+        return this;
+    }
+
+    /**
+     * Ends the current face line.
+     *
+     * @return this writer
+     * @throws IOException if an I/O error occurs while writing
+     */
+    public ObjWriter endFace() throws IOException {
+        output.write('\n');
+        return this;
+    }
+
+    /**
+     * Writes all the elements of a mesh: vertices, texture coordinates, normals and the triangles.
+     *
+     * @param mesh the mesh to write
+     * @return this writer
+     * @throws IOException if an I/O error occurs while writing
+     */
+    public ObjWriter mesh(ObjMesh mesh) throws IOException {
+        float[] positions = mesh.getPositions();
+        for (int i = 0; i < positions.length; i += ObjMesh.POSITION_SIZE) {
+            vertex(positions[i], positions[i + 1], positions[i + 2]);
+        }
+        float[] textures = mesh.getTextures();
+        for (int i = 0; i < textures.length; i += ObjMesh.TEXTURE_SIZE) {
+            texture(textures[i], textures[i + 1]);
+        }
+        float[] normals = mesh.getNormals();
+        for (int i = 0; i < normals.length; i += ObjMesh.NORMAL_SIZE) {
+            normal(normals[i], normals[i + 1], normals[i + 2]);
+        }
+        int[] positionIndices = mesh.getPositionIndices();
+        int[] textureIndices = mesh.getTextureIndices();
+        int[] normalIndices = mesh.getNormalIndices();
+        for (int i = 0; i < positionIndices.length; i += 3) {
+            beginFace();
+            for (int corner = i; corner < i + 3; corner++) {
+                faceVertex(positionIndices[corner],
+                        textureIndices != null ? textureIndices[corner] : ObjMesh.NO_INDEX,
+                        normalIndices != null ? normalIndices[corner] : ObjMesh.NO_INDEX);
+            }
+            endFace();
+        }
+        return this;
+    }
+
+    /**
+     * Writes any buffered data into the underlying writer.
+     *
+     * @throws IOException if an I/O error occurs while writing
+     */
+    public void flush() throws IOException {
+        output.flush();
+    }
+
+    private void writeFloats(float x, float y, float z) throws IOException {
+        output.write(' ');
+        writeFloat(x);
+        output.write(' ');
+        writeFloat(y);
+        output.write(' ');
+        writeFloat(z);
+    }
+
+    private void writeInt(int value) throws IOException {
+        if (value == Integer.MIN_VALUE) {
+            output.write(Integer.toString(value));
+            return;
+        }
+        int position = digits.length;
+        int remaining = Math.abs(value);
+        do {
+            digits[--position] = (char) ('0' + remaining % 10);
+            remaining /= 10;
+        } while (remaining > 0);
+        if (value < 0) {
+            digits[--position] = '-';
+        }
+        output.write(digits, position, digits.length - position);
+    }
+
+    /**
+     * Writes a float with the fewest fraction digits (at least one) that read back as the same value.
+     */
+    private void writeFloat(float value) throws IOException {
+        float magnitude = Math.abs(value);
+        if (magnitude != 0 && (magnitude < MIN_PLAIN || magnitude >= MAX_PLAIN) || Float.isNaN(value) || Float.isInfinite(value)) {
+            // Exponent notation, rare in meshes
+            output.write(Float.toString(value));
+            return;
+        }
+        for (int precision = 1; precision < POWERS_OF_TEN.length; precision++) {
+            long scaled = Math.round(magnitude * POWERS_OF_TEN[precision]);
+            if ((float) (scaled / POWERS_OF_TEN[precision]) == magnitude) {
+                // Drop the trailing zeros, keeping one fraction digit
+                while (precision > 1 && scaled % 10 == 0) {
+                    scaled /= 10;
+                    precision--;
+                }
+                writeFixed(Float.floatToRawIntBits(value) < 0, scaled, precision);
+                return;
+            }
+        }
+        output.write(Float.toString(value));
+    }
+
+    private void writeFixed(boolean negative, long scaled, int precision) throws IOException {
+        int position = digits.length;
+        for (int i = 0; i < precision; i++) {
+            digits[--position] = (char) ('0' + scaled % 10);
+            scaled /= 10;
+        }
+        digits[--position] = '.';
+        do {
+            digits[--position] = (char) ('0' + scaled % 10);
+            scaled /= 10;
+        } while (scaled > 0);
+        if (negative) {
+            digits[--position] = '-';
+        }
+        output.write(digits, position, digits.length - position);
+    }
+}
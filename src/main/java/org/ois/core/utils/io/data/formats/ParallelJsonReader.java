@@ -0,0 +1,203 @@
+package org.ois.core.utils.io.data.formats;
+
+import org.ois.core.utils.io.data.DataNode;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Reads large JSON documents using all the available cores.
+ * <p>
+ * Values that are smaller than the threshold are parsed by a regular {@link JsonParser}.
+ * Larger values are pre-scanned to find the boundaries of their items (without building any node), the items of a large
+ * collection are then parsed concurrently in chunks on the common fork/join pool and added to the collection in order.
+ * The attributes of a large object are scanned the same way, so a large collection nested in the root object
+ * (like the entities of a manifest) is split as well.
+ * <p>
+ * On platforms without threads (HTML) parallel streams run sequentially, so the result is the same everywhere.
+ */
+class ParallelJsonReader {
+
+    /** The approximate number of characters parsed by a single task */
+    private static final int CHUNK_SIZE = 64 * 1024;
+
+    private final char[] data;
+    private final int threshold;
+
+    /**
+     * Constructs a reader over the given characters.
+     *
+     * @param data the characters of the JSON document
+     * @param threshold the minimal length (in characters) of a value to split
+     */
+    ParallelJsonReader(char[] data, int threshold) {
+        this.data = data;
+        this.threshold = Math.max(threshold, 1);
+    }
+
+    /**
+     * Reads the root value of the document, data after the root value is ignored.
+     *
+     * @return the root value, or null if the root is a null value
+     */
+    DataNode read() {
+        int start = skipWhiteSpace(0, data.length);
+        if (start == data.length) {
+            throw new IllegalArgumentException("Unexpected end of JSON data at index " + start);
+        }
+        return readValue(start, skipValue(start, data.length), new String[JsonParser.KEY_CACHE_SIZE]);
+    }
+
+    /**
+     * Reads the value held by the given range, splitting it if it is large enough.
+     */
+    private DataNode readValue(int start, int end, String[] keyCache) {
+        if (end - start >= threshold) {
+            if (data[start] == '[') {
+                return readCollection(start, end);
+            }
+            if (data[start] == '{') {
+                return readObject(start, end, keyCache);
+            }
+        }
+        JsonParser parser = new JsonParser(data, start, end - start, keyCache);
+        parser.next();
+        return parser.readNode();
+    }
+
+    private DataNode readCollection(int start, int end) {
+        // Scan the boundaries of the items, [itemStarts[i], itemEnds[i]) holds the i-th item
+        List<int[]> items = new ArrayList<>();
+        int index = skipWhiteSpace(start + 1, end);
+        while (index < end && data[index] != ']') {
+            int itemEnd = skipValue(index, end);
+            items.add(new int[]{index, itemEnd});
+            index = skipSeparator(itemEnd, end);
+        }
+        // Group consecutive items into chunks of about the same size, chunkStarts[c] is the first item of chunk c
+        List<Integer> chunkStarts = new ArrayList<>();
+        int chunkLength = CHUNK_SIZE;
+        for (int i = 0; i < items.size(); i++) {
+            if (chunkLength >= CHUNK_SIZE) {
+                chunkStarts.add(i);
+                chunkLength = 0;
+            }
+            chunkLength += items.get(i)[1] - items.get(i)[0];
+        }
+        chunkStarts.add(items.size());
+
+        DataNode[] values = new DataNode[items.size()];
+        IntStream.range(0, chunkStarts.size() - 1).parallel().forEach(chunk -> {
+            String[] keyCache = new String[JsonParser.KEY_CACHE_SIZE];
+            for (int i = chunkStarts.get(chunk); i < chunkStarts.get(chunk + 1); i++) {
+                values[i] = valueOrNull(readValue(items.get(i)[0], items.get(i)[1], keyCache));
+            }
+        });
+        return DataNode.Collection(values);
+    }
+
+    private DataNode readObject(int start, int end, String[] keyCache) {
+        DataNode object = DataNode.Object();
+        int index = skipWhiteSpace(start + 1, end);
+        while (index < end && data[index] != '}') {
+            if (data[index] != '"') {
+                throw new IllegalArgumentException("Expected '\"' at index " + index);
+            }
+            int keyEnd = skipValue(index, end);
+            // Resolved through the chunk key cache, the shared table is only consulted for keys new to the chunk
+            String key = new JsonParser(data, index, keyEnd - index, keyCache).readKey(index, keyEnd);
+            index = skipWhiteSpace(keyEnd, end);
+            if (index == end || data[index] != ':') {
+                throw new IllegalArgumentException("Expected ':' after key at index " + index);
+            }
+            int valueStart = skipWhiteSpace(index + 1, end);
+            int valueEnd = skipValue(valueStart, end);
+            object.set(key, valueOrNull(readValue(valueStart, valueEnd, keyCache)));
+            index = skipSeparator(valueEnd, end);
+        }
+        return object;
+    }
+
+    /**
+     * Null values inside a container are kept as Unknown nodes, the same as {@link DataParser#readNode()}.
+     */
+    private static DataNode valueOrNull(DataNode value) {
+        return value == null ? new DataNode() : value;
+    }
+
+    private int skipWhiteSpace(int index, int end) {
+        while (index < end && Character.isWhitespace(data[index])) {
+            index++;
+        }
+        return index;
+    }
+
+    /**
+     * Skips the whitespace and the optional comma after a value.
+     */
+    private int skipSeparator(int index, int end) {
+        index = skipWhiteSpace(index, end);
+        if (index < end && data[index] == ',') {
+            index = skipWhiteSpace(index + 1, end);
+        }
+        return index;
+    }
+
+    /**
+     * Finds the end of the value that starts at the given index, without parsing it.
+     *
+     * @param index the index of the first character of the value
+     * @param end the index after the last character of the enclosing range
+     * @return the index after the last character of the value
+     * @throws IllegalArgumentException if the value is not terminated before the end of the range
+     */
+    private int skipValue(int index, int end) {
+        if (index >= end) {
+            throw new IllegalArgumentException("Unexpected end of JSON data at index " + index);
+        }
+        char first = data[index];
+        if (first == '"') {
+            return skipString(index + 1, end);
+        }
+        if (first != '{' && first != '[') {
+            // Number, boolean or null
+            while (index < end && !Character.isWhitespace(data[index]) && data[index] != ',' && data[index] != ']' && data[index] != '}') {
+                index++;
+            }
+            return index;
+        }
+        int depth = 0;
+        while (index < end) {
+            char current = data[index];
+            if (current == '"') {
+                index = skipString(index + 1, end);
+                continue;
+            }
+            if (current == '{' || current == '[') {
+                depth++;
+            } else if ((current == '}' || current == ']') && --depth == 0) {
+                return index + 1;
+            }
+            index++;
+        }
+        throw new IllegalArgumentException("Expected '" + (first == '{' ? '}' : ']') + "' at index " + end);
+    }
+
+    /**
+     * Finds the end of a string, the index is the first character after the opening '"'.
+     */
+    private int skipString(int index, int end) {
+        while (index < end) {
+            char current = data[index];
+            if (current == '\\') {
+                index += 2;
+            } else if (current == '"') {
+                return index + 1;
+            } else {
+                index++;
+            }
+        }
+        throw new IllegalArgumentException("Unterminated string at index " + end);
+    }
+}
@@ -0,0 +1,152 @@
+package org.ois.core.utils.io.data.formats;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Reads large OBJ meshes using all the available cores.
+ * <p>
+ * The data is split at line boundaries into chunks of about the same size. The chunks are parsed in two passes:
+ * <ol>
+ *     <li>The lines and the vertices/textures/normals defined in each chunk are counted concurrently</li>
+ *     <li>Each chunk is parsed concurrently into its own primitive buffers. With the counts of the previous chunks
+ *     (the prefix sums of the first pass) face indexes, including negative relative indexes, are resolved and validated
+ *     exactly like a sequential read</li>
+ * </ol>
+ * The buffers of the chunks are then copied in order into the mesh.
+ * <p>
+ * On platforms without threads (HTML) parallel streams run sequentially, so the result is the same everywhere.
+ */
+class ParallelObjReader {
+
+    /** The approximate number of bytes parsed by a single task */
+    static final int CHUNK_SIZE = 1024 * 1024;
+
+    private final ByteBuffer data;
+    private final int chunkSize;
+    private ObjReader.ProgressListener listener;
+    private long bytesParsed;
+
+    /**
+     * Constructs a reader over the remaining bytes of a buffer.
+     *
+     * @param data the OBJ data, the position of the buffer is not changed
+     * @param chunkSize the approximate number of bytes parsed by a single task
+     */
+    ParallelObjReader(ByteBuffer data, int chunkSize) {
+        this.data = data;
+        this.chunkSize = Math.max(chunkSize, 1);
+    }
+
+    /**
+     * Sets a listener that is notified each time a chunk is parsed.
+     *
+     * @param listener the listener, or null to remove it
+     * @return this reader
+     */
+    ParallelObjReader setProgressListener(ObjReader.ProgressListener listener) {
+        this.listener = listener;
+        return this;
+    }
+
+    ObjMesh read() {
+        int[] bounds = split();
+        int chunks = bounds.length - 1;
+        // First pass - count the lines and the elements of each chunk, counts[chunk] = {rows, vertices, textures, normals}
+        int[][] counts = new int[chunks][];
+        IntStream.range(0, chunks).parallel().forEach(chunk -> counts[chunk] = count(bounds[chunk], bounds[chunk + 1]));
+        // Second pass - parse each chunk with the counts of the chunks before it
+        ObjMesh.Builder[] parts = new ObjMesh.Builder[chunks];
+        int[][] bases = new int[chunks][];
+        int[] base = new int[4];
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            bases[chunk] = base.clone();
+            for (int i = 0; i < base.length; i++) {
+                base[i] += counts[chunk][i];
+            }
+        }
+        IntStream.range(0, chunks).parallel().forEach(chunk -> parts[chunk] = parse(bounds[chunk], bounds[chunk + 1], bases[chunk]));
+        return ObjMesh.Builder.merge(Arrays.asList(parts));
+    }
+
+    /**
+     * Splits the data into chunks that end with a line break (except the last one).
+     *
+     * @return the bounds of the chunks, chunk i is [bounds[i], bounds[i + 1]) relative to the buffer position
+     */
+    private int[] split() {
+        int length = data.remaining();
+        List<Integer> bounds = new ArrayList<>();
+        bounds.add(0);
+        int start = 0;
+        while (start < length) {
+            int end = Math.min(start + chunkSize, length);
+            while (end < length && data.get(data.position() + end - 1) != '\n') {
+                end++;
+            }
+            bounds.add(end);
+            start = end;
+        }
+        if (bounds.size() == 1) {
+            // Empty data, a single empty chunk
+            bounds.add(0);
+        }
+        return bounds.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private int[] count(int start, int end) {
+        int offset = data.position();
+        int rows = 0, vertices = 0, textures = 0, normals = 0;
+        int index = start;
+        while (index < end) {
+            // Skip the white space before the keyword
+            while (index < end && ObjReader.isWhitespace(data.get(offset + index))) {
+                index++;
+            }
+            if (index + 1 < end && (data.get(offset + index) | 0x20) == 'v') {
+                byte next = data.get(offset + index + 1);
+                if (isSeparator(next)) {
+                    vertices++;
+                } else if (index + 2 < end && isSeparator(data.get(offset + index + 2))) {
+                    if ((next | 0x20) == 't') {
+                        textures++;
+                    } else if ((next | 0x20) == 'n') {
+                        normals++;
+                    }
+                }
+            }
+            // Move to the next line
+            while (index < end && data.get(offset + index) != '\n') {
+                index++;
+            }
+            index++;
+            rows++;
+        }
+        return new int[]{rows, vertices, textures, normals};
+    }
+
+    private ObjMesh.Builder parse(int start, int end, int[] base) {
+        ByteBuffer chunk = data.duplicate();
+        chunk.position(data.position() + start).limit(data.position() + end);
+        ObjMesh.Builder part = new ObjMesh.Builder(ObjFormat.estimateVertices(end - start));
+        part.vertexBase = base[1];
+        part.textureBase = base[2];
+        part.normalBase = base[3];
+        part.read(new ObjReader(chunk.slice()).setFirstRow(base[0]));
+        if (listener != null) {
+            synchronized (this) {
+                bytesParsed += end - start;
+                listener.onProgress(bytesParsed, data.remaining());
+            }
+        }
+        return part;
+    }
+
+    // Matches the end of a keyword token of ObjReader
+    private static boolean isSeparator(byte c) {
+        return ObjReader.isWhitespace(c) || c == '#';
+    }
+}
@@ -1,20 +1,80 @@
 package org.ois.core.utils.io.data.properties;
 
 import org.ois.core.utils.io.data.DataNode;
+import org.ois.core.utils.io.data.DataObject;
 import org.ois.core.utils.io.data.IDataObject;
+import org.ois.core.utils.io.data.formats.DataParser;
+import org.ois.core.utils.io.data.formats.DataWriter;
+
+import java.io.IOException;
 
 public class DataProperty<T extends IDataObject<T>> extends Property<T> {
 
+    /** Forwards the changes of the nested object as changes of this property */
+    private final DataObject.ChangeListener nestedListener = (object, propertyIndex) -> markDirty();
+    /** The nested object observed by {@link #nestedListener}, null if the value is not a {@link DataObject} */
+    private DataObject observed;
+
     public DataProperty(String key) {
         super(key);
     }
 
+    @Override
+    public Property<T> set(T data) {
+        super.set(data);
+        observe();
+        return this;
+    }
+
+    @Override
+    public Property<T> setDefaultValue(T defaultValue) {
+        super.setDefaultValue(defaultValue);
+        observe();
+        return this;
+    }
+
+    @Override
+    public <D extends T> D loadMissing() {
+        D value = super.loadMissing();
+        observe();
+        return value;
+    }
+
+    /**
+     * Moves the listener of the nested object to the current value, so changes of its properties mark this property (and its owner) as changed.
+     */
+    private void observe() {
+        DataObject current = managedData instanceof DataObject ? (DataObject) managedData : null;
+        if (current == observed) {
+            return;
+        }
+        if (observed != null) {
+            observed.removeChangeListener(nestedListener);
+        }
+        if (current != null) {
+            current.addChangeListener(nestedListener);
+        }
+        observed = current;
+    }
+
     @Override
     public T loadProperty(DataNode attributeValue) {
         if (managedData == null) {
             throw new RuntimeException("can't load DataObject property if managed data is null, set default value or optional");
         }
-        return managedData.loadData(attributeValue);
+        managedData = managedData.loadData(attributeValue);
+        observe();
+        return managedData;
+    }
+
+    @Override
+    public T loadProperty(DataParser parser) {
+        if (managedData instanceof DataObject && parser.current() == DataParser.Event.ObjectStart) {
+            // Bind the nested object directly from the parser
+            ((DataObject) managedData).loadData(parser);
+            return managedData;
+        }
+        return super.loadProperty(parser);
     }
 
     @Override
@@ -26,6 +86,21 @@ public class DataProperty<T extends IDataObject<T>> extends Property<T> {
         return root;
     }
 
+    @Override
+    public boolean isWritten() {
+        return super.isWritten() && !(managedData == null && optional);
+    }
+
+    @Override
+    public void write(DataWriter writer) throws IOException {
+        if (managedData == null) {
+            writer.beginObject(0);
+            writer.endObject();
+            return;
+        }
+        managedData.write(writer);
+    }
+
     @Override
     public DataNode convertToDataNode() {
         return managedData == null ? DataNode.Object() : managedData.convertToDataNode();
@@ -1,6 +1,10 @@
 package org.ois.core.utils.io.data.properties;
 
 import org.ois.core.utils.io.data.DataNode;
+import org.ois.core.utils.io.data.formats.DataParser;
+import org.ois.core.utils.io.data.formats.DataWriter;
+
+import java.io.IOException;
 
 public class FloatProperty extends Property<Float> {
     public FloatProperty(String key) {
@@ -13,12 +17,30 @@ public class FloatProperty extends Property<Float> {
         return managedData;
     }
 
+    @Override
+    public Float loadProperty(DataParser parser) {
+        if (parser.current() != DataParser.Event.Primitive) {
+            return super.loadProperty(parser);
+        }
+        managedData = parser.getFloat();
+        return managedData;
+    }
+
     @Override
     public DataNode appendProperty(DataNode root) {
         root.set(this.key, managedData);
         return root;
     }
 
+    @Override
+    public void write(DataWriter writer) throws IOException {
+        if (managedData == null) {
+            writer.nullValue();
+            return;
+        }
+        writer.value(managedData);
+    }
+
     @Override
     public DataNode convertToDataNode() {
         return DataNode.Primitive(managedData);
@@ -11,13 +11,32 @@ public class Properties {
     public interface DataPropertyHandler<D> {
         D load(DataNode attributeValue);
         DataNode convert(D data);
+
+        /**
+         * Loads the value into an existing instance, handlers of mutable types override it to avoid allocating a new instance.
+         * The result must be the same as {@link #load(DataNode)}, attributes that are not in the data are reset.
+         * Properties only pass instances that were returned by the handler, never values given with {@link Property#set(Object)}.
+         *
+         * @param attributeValue the data to load
+         * @param target the instance to load into, null to create a new instance
+         * @return the loaded value, the target if it was loaded in place
+         */
+        default D load(DataNode attributeValue, D target) {
+            return load(attributeValue);
+        }
     }
 
     public static <C> Property<C> create(String key, DataPropertyHandler<C> handler) {
         return new Property<>(key) {
+            /** The last instance created or loaded by the handler, values given with set() or the default value may be shared */
+            private C owned;
+
             @Override
             public C loadProperty(DataNode attributeValue) {
-                return handler.load(attributeValue);
+                // Only the instance allocated by the property is loaded in place, other instances are replaced and not modified
+                managedData = handler.load(attributeValue, managedData != null && managedData == owned ? managedData : null);
+                owned = managedData;
+                return managedData;
             }
 
             @Override
@@ -38,8 +57,16 @@ public class Properties {
     }
 
     private static class ColorDataPropertyHandler implements DataPropertyHandler<Color> {
+        /** The shared named colors, never modified when loading in place */
+        private static final Color[] NAMED_COLORS = {Color.GREEN, Color.RED, Color.BLUE, Color.BLACK, Color.YELLOW, Color.ORANGE, Color.WHITE, Color.PURPLE, Color.BROWN, Color.GRAY};
+
         @Override
         public Color load(DataNode attributeValue) {
+            return load(attributeValue, null);
+        }
+
+        @Override
+        public Color load(DataNode attributeValue, Color target) {
             if (!attributeValue.getType().equals(DataNode.Type.Object)) {
                 switch (attributeValue.getString().toLowerCase()) {
                     case "green":
@@ -64,7 +91,7 @@ public class Properties {
                         return Color.GRAY;
                 }
             }
-            Color color = new Color();
+            Color color = isNamedColor(target) ? new Color() : target.set(0, 0, 0, 0);
             if (attributeValue.contains("r")) {
                 color.r = attributeValue.get("r").getFloat();
             }
@@ -80,6 +107,18 @@ public class Properties {
             return color;
         }
 
+        private static boolean isNamedColor(Color color) {
+            if (color == null) {
+                return true;
+            }
+            for (Color namedColor : NAMED_COLORS) {
+                if (namedColor == color) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
         @Override
         public DataNode convert(Color data) {
             DataNode root = DataNode.Object();
@@ -130,19 +169,26 @@ public class Properties {
         return new DataPropertyHandler<>() {
             @Override
             public Transform load(DataNode attributeValue) {
-                Transform transform = new Transform();
-                if (attributeValue.contains(positionProperty)) {
-                    transform.position = positionHandler.load(attributeValue.get(positionProperty));
-                }
-                if (attributeValue.contains(scaleProperty)) {
-                    transform.scale = scaleHandler.load(attributeValue.get(scaleProperty));
-                }
-                if (attributeValue.contains(rotationProperty)) {
-                    transform.rotation = rotationHandler.load(attributeValue.get(rotationProperty));
-                }
+                return load(attributeValue, null);
+            }
+
+            @Override
+            public Transform load(DataNode attributeValue, Transform target) {
+                Transform transform = target == null ? new Transform() : target;
+                transform.position = loadVector(attributeValue.get(positionProperty), transform.position, positionHandler, target != null);
+                transform.scale = loadVector(attributeValue.get(scaleProperty), transform.scale, scaleHandler, target != null);
+                transform.rotation = loadVector(attributeValue.get(rotationProperty), transform.rotation, rotationHandler, target != null);
                 return transform;
             }
 
+            private Vector3 loadVector(DataNode value, Vector3 current, DataPropertyHandler<Vector3> handler, boolean inPlace) {
+                if (value != null) {
+                    return handler.load(value, current);
+                }
+                // Not in the data, keep the value of a new transform
+                return inPlace && current != null ? current.set(0, 0, 0) : current;
+            }
+
             @Override
             public DataNode convert(Transform data) {
                 DataNode root = DataNode.Object();
@@ -166,7 +212,12 @@ public class Properties {
         return new DataPropertyHandler<>() {
             @Override
             public Vector3 load(DataNode attributeValue) {
-                Vector3 vector = new Vector3();
+                return load(attributeValue, null);
+            }
+
+            @Override
+            public Vector3 load(DataNode attributeValue, Vector3 target) {
+                Vector3 vector = target == null ? new Vector3() : target.set(0, 0, 0);
                 if (attributeValue.contains(xProperty)) {
                     vector.x = attributeValue.get(xProperty).getFloat();
                 }
@@ -202,7 +253,12 @@ public class Properties {
         return new DataPropertyHandler<>() {
             @Override
             public Vector2 load(DataNode attributeValue) {
-                Vector2 vector = new Vector2();
+                return load(attributeValue, null);
+            }
+
+            @Override
+            public Vector2 load(DataNode attributeValue, Vector2 target) {
+                Vector2 vector = target == null ? new Vector2() : target.set(0, 0);
                 if (attributeValue.contains(xProperty)) {
                     vector.x = attributeValue.get(xProperty).getFloat();
                 }
@@ -1,10 +1,30 @@
 package org.ois.core.utils.io.data.properties;
 
+import org.ois.core.utils.io.data.DataKeys;
 import org.ois.core.utils.io.data.DataNode;
 import org.ois.core.utils.io.data.IDataObject;
+import org.ois.core.utils.io.data.formats.DataParser;
+import org.ois.core.utils.io.data.formats.DataWriter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
 
 public abstract class Property<T> implements IDataObject<T> {
 
+    /**
+     * Listener that is notified when the value of a property changes.
+     */
+    public interface ChangeListener {
+        /**
+         * Called after the value of the property changed.
+         *
+         * @param property the property that changed
+         */
+        void onChange(Property<?> property);
+    }
+
     protected final String key;
 
     protected T managedData;
@@ -14,12 +34,74 @@ public abstract class Property<T> implements IDataObject<T> {
 
     protected boolean optional;
 
+    /** True if the value changed since the last {@link #clearDirty()} */
+    private boolean dirty;
+    private final List<ChangeListener> listeners = new ArrayList<>(1);
+
     public Property(String key) {
-        this.key = key;
+        // Interned, so looking up the attribute in parsed data (interned keys) is an identity check
+        this.key = DataKeys.intern(key);
+    }
+
+    public String getKey() {
+        return key;
     }
 
     public Property<T> set(T data) {
+        boolean changed = !Objects.equals(this.managedData, data);
         this.managedData = data;
+        if (changed) {
+            markDirty();
+        }
+        return this;
+    }
+
+    /**
+     * Marks the property as changed and notifies the listeners.
+     * Call it after modifying a mutable value (such as a vector) in place, setting an equal value is not a change.
+     */
+    public void markDirty() {
+        dirty = true;
+        for (int i = 0; i < listeners.size(); i++) {
+            listeners.get(i).onChange(this);
+        }
+    }
+
+    /**
+     * Checks if the value of the property changed (was set to a different value or loaded) since the last {@link #clearDirty()}.
+     *
+     * @return true if the property changed, false otherwise
+     */
+    public boolean isDirty() {
+        return dirty;
+    }
+
+    /**
+     * Marks the property as unchanged, usually after the change was processed.
+     */
+    public void clearDirty() {
+        dirty = false;
+    }
+
+    /**
+     * Adds a listener that is notified when the value of the property changes, listeners are notified in the order they were added.
+     *
+     * @param listener the listener to add
+     * @return the property for chaining
+     */
+    public Property<T> addChangeListener(ChangeListener listener) {
+        listeners.add(Objects.requireNonNull(listener));
+        return this;
+    }
+
+    /**
+     * Removes a listener that was added with {@link #addChangeListener(ChangeListener)}.
+     *
+     * @param listener the listener to remove
+     * @return the property for chaining
+     */
+    public Property<T> removeChangeListener(ChangeListener listener) {
+        listeners.remove(listener);
         return this;
     }
 
@@ -39,31 +121,102 @@ public abstract class Property<T> implements IDataObject<T> {
         return managedData;
     }
 
+    /**
+     * Checks if the property holds its default value (the same instance).
+     *
+     * @return true if a default value was set and the property holds it, false otherwise
+     */
+    protected boolean isDefaultValue() {
+        return defaultSet && managedData == defaultValue;
+    }
+
     @Override
     public <D extends T> D loadData(DataNode dataNode) {
-        if (!dataNode.contains(key)) {
-            if (!optional) {
-                throw new RuntimeException(String.format("Can't load '%s' from data node: expected '%s' attribute", managedData.getClass().getName(), this.key));
-            }
-            if (defaultSet) {
-                managedData = defaultValue;
-            }
-            return (D) managedData;
+        DataNode attributeValue = dataNode.get(key);
+        if (attributeValue == null) {
+            return loadMissing();
         }
-        return (D) loadProperty(dataNode.get(key));
+        D value = (D) loadProperty(attributeValue);
+        markDirty();
+        return value;
+    }
+
+    /**
+     * Loads the property from a parser positioned at the event that starts the value of the attribute.
+     * If the value is an object or a collection, the parser is left at its end event.
+     *
+     * @param parser the parser of the data
+     * @return the loaded value
+     */
+    public <D extends T> D loadData(DataParser parser) {
+        D value = (D) loadProperty(parser);
+        markDirty();
+        return value;
+    }
+
+    /**
+     * Handles a missing attribute, an optional property is set to its default value (if one was set).
+     *
+     * @return the value of the property
+     * @throws RuntimeException if the property is not optional
+     */
+    public <D extends T> D loadMissing() {
+        if (!optional) {
+            throw new RuntimeException(String.format("Can't load '%s' from data node: expected '%s' attribute", managedData == null ? getClass().getName() : managedData.getClass().getName(), this.key));
+        }
+        if (defaultSet && managedData != defaultValue) {
+            managedData = defaultValue;
+            markDirty();
+        }
+        return (D) managedData;
     }
 
     public abstract T loadProperty(DataNode attributeValue);
+
+    /**
+     * Loads the value of the property from a parser, override to bind the value without materialising a {@link DataNode}.
+     *
+     * @param parser the parser positioned at the event that starts the value
+     * @return the loaded value
+     */
+    public T loadProperty(DataParser parser) {
+        DataNode attributeValue = parser.readNode();
+        // Same as the data node path, where a null attribute is an Unknown node
+        return loadProperty(attributeValue == null ? new DataNode() : attributeValue);
+    }
     public abstract DataNode appendProperty(DataNode root);
 
+    /**
+     * Checks if the property is part of the serialized data, optional properties that hold their default value are omitted.
+     *
+     * @return true if the property should be written, false otherwise
+     */
+    public boolean isWritten() {
+        // No need to append optional default value
+        return !(optional && isDefaultValue());
+    }
+
     public DataNode appendPropertyToDataNode(DataNode root) {
-        if (optional && defaultSet && managedData == defaultValue) {
-            // No need to append optional default value
+        if (!isWritten()) {
             return root;
         }
         return appendProperty(root);
     }
 
+    /**
+     * Writes the attribute of the property (key and value) into the writer of the containing object, if {@link #isWritten()}.
+     *
+     * @param writer the writer to write into
+     * @throws IOException if an I/O error occurs while writing
+     */
+    public void writeProperty(DataWriter writer) throws IOException {
+        if (!isWritten()) {
+            return;
+        }
+        writer.key(key);
+        write(writer);
+    }
+
     @Override
     public String toString() {
         return "'" + key + '\'' + ": " + managedData;
@@ -46,7 +46,7 @@ public class Logger<T> implements ILogger {
      * @param <T> the type of the class
      * @return a logger instance for the specified class
      */
-    public static <T>Logger<T> get(Class<T> c)
+    public static synchronized <T>Logger<T> get(Class<T> c)
     {
         if(!logMap.containsKey(c)) {
             logMap.put(c,new Logger<>(c));
@@ -0,0 +1,53 @@
+package org.ois.core.project;
+
+import org.ois.core.utils.io.data.DataNode;
+import org.ois.core.utils.io.data.formats.DataParser;
+import org.testng.annotations.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.testng.Assert.*;
+
+public class ProjectBundleTest {
+
+    private static Map<String, DataNode> createEntries() {
+        Map<String, DataNode> entries = new LinkedHashMap<>();
+        DataNode manifest = DataNode.Object();
+        manifest.set("initialState", "Start");
+        manifest.set("states", DataNode.Map(Map.of("Start", "org.example.StartState")));
+        entries.put(SimulationManifest.DEFAULT_FILE_NAME, manifest);
+        DataNode blueprint = DataNode.Object();
+        blueprint.set("speed", 2.5f);
+        entries.put("entities\\player\\player.blueprint.ois", blueprint);
+        return entries;
+    }
+
+    @Test
+    public void testWriteOpen() {
+        ProjectBundle bundle = ProjectBundle.open(ByteBuffer.wrap(ProjectBundle.toBytes(createEntries())));
+
+        assertEquals(bundle.getPaths(), Arrays.asList(SimulationManifest.DEFAULT_FILE_NAME, "entities/player/player.blueprint.ois"));
+        assertTrue(bundle.contains("entities/player/player.blueprint.ois"));
+        assertTrue(bundle.contains("entities\\player\\player.blueprint.ois"));
+        assertFalse(bundle.contains("entities/enemy/enemy.blueprint.ois"));
+
+        assertEquals(bundle.get(SimulationManifest.DEFAULT_FILE_NAME).get("initialState").getString(), "Start");
+        assertEquals(bundle.get("entities/player/player.blueprint.ois").get("speed").getFloat(), 2.5f);
+        DataParser parser = bundle.parser("entities/player/player.blueprint.ois");
+        parser.next();
+        assertEquals(parser.readNode().get("speed").getFloat(), 2.5f);
+
+        assertThrows(RuntimeException.class, () -> bundle.get("entities/enemy/enemy.blueprint.ois"));
+    }
+
+    @Test
+    public void testOpenInvalid() {
+        assertThrows(RuntimeException.class, () -> ProjectBundle.open(ByteBuffer.wrap("{}".getBytes())));
+
+        byte[] data = ProjectBundle.toBytes(createEntries());
+        assertThrows(RuntimeException.class, () -> ProjectBundle.open(ByteBuffer.wrap(Arrays.copyOf(data, data.length - 1))));
+    }
+}
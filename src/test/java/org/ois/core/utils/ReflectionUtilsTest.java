@@ -0,0 +1,60 @@
+package org.ois.core.utils;
+
+import com.badlogic.gdx.utils.reflect.ReflectionException;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.function.Supplier;
+
+import static org.testng.Assert.*;
+
+public class ReflectionUtilsTest {
+
+    public static class Counter {
+        static int created;
+
+        public Counter() {
+            created++;
+        }
+    }
+
+    public static class Failing {
+        public Failing() {
+            throw new IllegalStateException("failed");
+        }
+    }
+
+    @Test
+    public void testNewInstance() throws Exception {
+        Object first = ReflectionUtils.newInstance(ArrayList.class.getName());
+        Object second = ReflectionUtils.newInstance(ArrayList.class.getName());
+        assertTrue(first instanceof ArrayList);
+        assertNotSame(first, second);
+
+        assertThrows(ReflectionException.class, () -> ReflectionUtils.newInstance("org.example.Missing"));
+        assertThrows(NoSuchMethodException.class, () -> ReflectionUtils.newInstance(Integer.class.getName()));
+    }
+
+    @Test
+    public void testGetFactory() throws Exception {
+        Supplier<Counter> factory = ReflectionUtils.getFactory(Counter.class.getName());
+        int created = Counter.created;
+        assertNotSame(factory.get(), factory.get());
+        assertEquals(Counter.created, created + 2);
+
+        Supplier<Failing> failing = ReflectionUtils.getFactory(Failing.class.getName());
+        RuntimeException error = expectThrows(RuntimeException.class, failing::get);
+        assertTrue(error.getCause() instanceof IllegalStateException);
+    }
+
+    @Test
+    public void testRegisterFactory() throws Exception {
+        String className = "org.example.Registered";
+        StringBuilder instance = new StringBuilder("registered");
+        ReflectionUtils.registerFactory(className, () -> instance);
+
+        assertSame(ReflectionUtils.newInstance(className), instance);
+        assertSame(ReflectionUtils.getFactory(className).get(), instance);
+        assertThrows(IllegalArgumentException.class, () -> ReflectionUtils.registerFactory(className, null));
+    }
+}
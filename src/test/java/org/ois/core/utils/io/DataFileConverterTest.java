@@ -0,0 +1,57 @@
+package org.ois.core.utils.io;
+
+import org.ois.core.runner.RunnerConfiguration;
+import org.ois.core.utils.io.data.formats.BinaryFormat;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.testng.Assert.*;
+
+public class DataFileConverterTest {
+
+    private Path simulationDir;
+
+    @BeforeMethod
+    public void setUp() throws IOException {
+        simulationDir = Files.createTempDirectory("simulation");
+        write("simulation.ois", "{\"title\":\"Converted\",\"initialState\":\"Start\",\"states\":{\"Start\":\"java.lang.Object\"}}");
+        write("entities/player/player.blueprint.ois", "{\"speed\":2}");
+    }
+
+    @AfterMethod
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(simulationDir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(file -> file.toFile().delete());
+        }
+    }
+
+    private void write(String path, String content) throws IOException {
+        Path file = simulationDir.resolve(path);
+        Files.createDirectories(file.getParent());
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testConvertDirectoryRunnerConfiguration() throws IOException {
+        List<Path> converted = DataFileConverter.convertDirectory(simulationDir, BinaryFormat.get());
+        assertEquals(converted.size(), 2);
+        Path manifest = simulationDir.resolve("simulation.ois");
+        assertTrue(BinaryFormat.isBinary(Files.readAllBytes(manifest)));
+
+        // Launchers read the manifest of the converted project
+        RunnerConfiguration configuration = RunnerConfiguration.getRunnerConfigurations(Files.newInputStream(manifest));
+        assertEquals(configuration.getSimulationManifest().getTitle(), "Converted");
+        assertEquals(configuration.getSimulationManifest().getInitialState(), "Start");
+        assertEquals(configuration.getSimulationManifest().getStates(), Map.of("Start", "java.lang.Object"));
+    }
+}
@@ -0,0 +1,69 @@
+package org.ois.core.utils.io;
+
+import com.badlogic.gdx.files.FileHandle;
+import org.ois.core.utils.io.data.DataFiles;
+import org.ois.core.utils.io.data.DataNode;
+import org.ois.core.utils.io.data.formats.BinaryFormat;
+import org.ois.core.utils.io.data.formats.DataParser;
+import org.ois.core.utils.io.data.formats.JsonFormat;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+public class MappedFileReaderTest {
+
+    private DataNode createNode() {
+        DataNode entities = DataNode.Collection();
+        for (int i = 0; i < 500; i++) {
+            entities.add(DataNode.Object().set("type", "tree").set("id", i).set("scale", i * 0.5f));
+        }
+        return DataNode.Object().set("entities", entities);
+    }
+
+    @Test
+    public void testMappedBinary() throws IOException {
+        DataNode node = createNode();
+        Path file = Files.createTempFile("mapped", ".ois");
+        try {
+            Files.write(file, BinaryFormat.get().serializeToBytes(node));
+            ByteBuffer mapped = new MappedFileReader().read(new FileHandle(file.toFile()));
+            assertTrue(mapped.isDirect());
+            assertTrue(BinaryFormat.isBinary(mapped));
+            assertEquals(BinaryFormat.get().deserialize(mapped), node);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    public void testMappedJson() throws IOException {
+        DataNode node = createNode();
+        Path file = Files.createTempFile("mapped", ".ois");
+        try {
+            Files.write(file, JsonFormat.humanReadable().serialize(node).getBytes(StandardCharsets.UTF_8));
+            ByteBuffer mapped = new MappedFileReader().read(new FileHandle(file.toFile()));
+            assertEquals(JsonFormat.compact().load(new ByteArrayInputStream(toArray(mapped))), node);
+            // Heap fallback path
+            assertEquals(DataFiles.load(new FileHandle(file.toFile())), node);
+            DataParser parser = DataFiles.parser(new FileHandle(file.toFile()));
+            parser.next();
+            assertEquals(parser.readNode(), node);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static byte[] toArray(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.duplicate().get(bytes);
+        return bytes;
+    }
+}
@@ -0,0 +1,69 @@
+package org.ois.core.utils.io;
+
+import org.ois.core.project.ProjectBundle;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import static org.testng.Assert.*;
+
+public class ProjectBundlerTest {
+
+    private Path simulationDir;
+
+    @BeforeMethod
+    public void setUp() throws IOException {
+        simulationDir = Files.createTempDirectory("simulation");
+        write("simulation.ois", "{\"initialState\":\"Start\",\"states\":{\"Start\":\"java.lang.Object\"}}");
+        write("entities/player/player.blueprint.ois", "{\"blueprint-class\":\"java.lang.String\",\"speed\":2}");
+        write("states/Start/entities.manifest.ois", "{\"entities\":[{\"type\":\"player\"}]}");
+        write("assets/ignored.ois", "{}");
+    }
+
+    @AfterMethod
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(simulationDir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(file -> file.toFile().delete());
+        }
+    }
+
+    private void write(String path, String content) throws IOException {
+        Path file = simulationDir.resolve(path);
+        Files.createDirectories(file.getParent());
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testBundle() throws IOException {
+        Path target = simulationDir.resolve(ProjectBundle.DEFAULT_FILE_NAME);
+        assertEquals(ProjectBundler.bundle(simulationDir, target, getClass().getClassLoader()),
+                Arrays.asList("simulation.ois", "entities/player/player.blueprint.ois", "states/Start/entities.manifest.ois"));
+
+        ProjectBundle bundle = ProjectBundle.open(ByteBuffer.wrap(Files.readAllBytes(target)));
+        assertEquals(bundle.get("entities/player/player.blueprint.ois").get("speed").getInt(), 2);
+        assertEquals(bundle.get("states/Start/entities.manifest.ois").get("entities").contentCount(), 1);
+    }
+
+    @Test
+    public void testBundleValidation() throws IOException {
+        Path target = simulationDir.resolve(ProjectBundle.DEFAULT_FILE_NAME);
+        write("entities/enemy/enemy.blueprint.ois", "{\"blueprint-class\":\"org.example.Missing\"}");
+        // Classes are only resolved with a class loader
+        ProjectBundler.bundle(simulationDir, target);
+        RuntimeException error = expectThrows(RuntimeException.class, () -> ProjectBundler.bundle(simulationDir, target, getClass().getClassLoader()));
+        assertTrue(error.getMessage().contains("org.example.Missing"));
+
+        write("entities/enemy/enemy.blueprint.ois", "{\"blueprint-class\":");
+        error = expectThrows(RuntimeException.class, () -> ProjectBundler.bundle(simulationDir, target));
+        assertTrue(error.getMessage().contains("entities/enemy/enemy.blueprint.ois"));
+    }
+}
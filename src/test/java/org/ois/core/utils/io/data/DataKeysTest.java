@@ -0,0 +1,63 @@
+package org.ois.core.utils.io.data;
+
+import org.ois.core.utils.io.data.formats.BinaryFormat;
+import org.ois.core.utils.io.data.formats.JsonFormat;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Map;
+import java.util.stream.IntStream;
+
+public class DataKeysTest {
+
+    @Test
+    public void testIntern() {
+        String key = new String("interned-key");
+        String canonical = DataKeys.intern(key);
+        Assert.assertSame(DataKeys.intern(new String("interned-key")), canonical, "Keys with the same content should be the same instance.");
+        Assert.assertSame(DataKeys.intern(canonical), canonical);
+    }
+
+    @Test
+    public void testLongKeysNotInterned() {
+        String longKey = "k".repeat(DataKeys.MAX_KEY_LENGTH + 1);
+        Assert.assertSame(DataKeys.intern(longKey), longKey);
+        Assert.assertNotSame(DataKeys.intern(new String(longKey)), longKey, "Long keys should not be added to the table.");
+    }
+
+    @Test
+    public void testParsedKeysShared() {
+        DataNode node = JsonFormat.compact().deserialize("[{\"shared-type\": 1}, {\"shared-type\": 2}]");
+        Map.Entry<String, DataNode> first = node.get(0).properties().iterator().next();
+        Map.Entry<String, DataNode> second = node.get(1).properties().iterator().next();
+        Assert.assertSame(first.getKey(), second.getKey(), "Parsed keys should share the same instance.");
+        Assert.assertSame(first.getKey(), DataKeys.intern("shared-type"));
+
+        DataNode binary = BinaryFormat.get().deserialize(BinaryFormat.get().serializeToBytes(node));
+        Assert.assertSame(binary.get(1).properties().iterator().next().getKey(), first.getKey());
+    }
+
+    @Test
+    public void testSetInternsKeys() {
+        DataNode node = DataNode.Object().set(new String("set-key"), 1);
+        Assert.assertSame(node.properties().iterator().next().getKey(), DataKeys.intern("set-key"));
+    }
+
+    @Test
+    public void testConcurrentIntern() {
+        // Threads racing on new keys get the same canonical instances
+        String[][] interned = new String[8][];
+        IntStream.range(0, interned.length).parallel().forEach(thread -> {
+            interned[thread] = new String[200];
+            for (int i = 0; i < interned[thread].length; i++) {
+                interned[thread][i] = DataKeys.intern(new String("concurrent-key-" + i));
+            }
+        });
+        for (String[] keys : interned) {
+            for (int i = 0; i < keys.length; i++) {
+                Assert.assertSame(keys[i], interned[0][i]);
+                Assert.assertSame(DataKeys.intern(new String("concurrent-key-" + i)), keys[i]);
+            }
+        }
+    }
+}
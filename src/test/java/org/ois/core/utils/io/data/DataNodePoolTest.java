@@ -0,0 +1,71 @@
+package org.ois.core.utils.io.data;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class DataNodePoolTest {
+
+    private DataNode createBlueprint(String type) {
+        return DataNode.Object()
+                .set("type", type)
+                .set("components", DataNode.Object()
+                        .set("render", DataNode.Object().set("color", "green").set("scale", 1.0f))
+                        .set("physics", DataNode.Object().set("mass", 10)));
+    }
+
+    @Test
+    public void testIntern() {
+        DataNodePool pool = new DataNodePool();
+        DataNode tree = pool.intern(createBlueprint("tree"));
+        DataNode sameTree = pool.intern(createBlueprint("tree"));
+        DataNode rock = pool.intern(createBlueprint("rock"));
+
+        Assert.assertTrue(tree.isFrozen(), "Pooled nodes should be frozen.");
+        Assert.assertSame(sameTree, tree, "Equal trees should resolve to the same instance.");
+        Assert.assertNotSame(rock, tree);
+        Assert.assertSame(rock.get("components"), tree.get("components"), "Equal subtrees should be shared.");
+        Assert.assertTrue(pool.contains(createBlueprint("rock")));
+        Assert.assertTrue(pool.getHits() > 0);
+
+        pool.clear();
+        Assert.assertEquals(pool.size(), 0);
+    }
+
+    @Test
+    public void testInternDoesNotModifyTree() {
+        DataNodePool pool = new DataNodePool();
+        DataNode tree = pool.intern(createBlueprint("tree"));
+
+        DataNode rock = createBlueprint("rock");
+        DataNode components = rock.get("components");
+        DataNode pooled = pool.intern(rock);
+        Assert.assertFalse(rock.isFrozen(), "The given tree should not be frozen.");
+        Assert.assertSame(rock.get("components"), components, "The children of the given tree should not be replaced.");
+        Assert.assertSame(pooled.get("components"), tree.get("components"));
+        rock.set("type", "stone");
+        Assert.assertEquals(pooled.get("type").getString(), "rock");
+
+        // A tree that is already canonical is pooled as is
+        DataNode frozen = createBlueprint("bush").frozenCopy();
+        Assert.assertSame(pool.intern(new DataNodePool().intern(frozen)), pool.intern(frozen));
+    }
+
+    @Test
+    public void testInternUnknownContainers() {
+        // Containers built with getProperty(key) are Unknown typed until resolved by their content
+        DataNode first = DataNode.Object();
+        first.getProperty("entities").add(DataNode.Object().set("type", "tree"));
+        DataNode second = DataNode.Object();
+        second.getProperty("entities").add(DataNode.Object().set("type", "rock"));
+        Assert.assertEquals(first.get("entities").getType(), DataNode.Type.Collection);
+        Assert.assertNotEquals(first, second);
+
+        DataNodePool pool = new DataNodePool();
+        DataNode pooledFirst = pool.intern(first);
+        DataNode pooledSecond = pool.intern(second);
+        Assert.assertNotSame(pooledSecond, pooledFirst);
+        Assert.assertEquals(pooledFirst, first);
+        Assert.assertEquals(pooledSecond, second);
+        Assert.assertEquals(pooledSecond.get("entities").get(0).get("type").getString(), "rock");
+    }
+}
@@ -148,6 +148,16 @@ public class DataNodeTest {
         Assert.assertNotSame(original, deepCopy, "Deep copy should create a new object.");
         Assert.assertEquals(original, deepCopy, "Deep copy should be equal to the original.");
         Assert.assertNotSame(original.get("key1"), deepCopy.get("key1"), "Deep copy's attributes should not reference the same objects as the original.");
+
+        // Frozen subtrees and containers built with getProperty (Unknown type) are cloned too
+        original.set("shared", DataNode.Collection("a").freeze());
+        original.getProperty("list").add(DataNode.Object().set("x", 1));
+        DataNode copy = original.deepCopy();
+        Assert.assertEquals(copy.get("list").contentCount(), 1);
+        copy.get("shared").add("b");
+        copy.get("list").get(0).set("x", 2);
+        Assert.assertEquals(original.get("shared").contentCount(), 1, "Original frozen subtree should not change.");
+        Assert.assertEquals(original.get("list").get(0).get("x").getInt(), 1, "Original should not change.");
     }
 
     @Test
@@ -184,4 +194,70 @@ public class DataNodeTest {
 
         Assert.assertEquals(objectNode.toMap().size(), 0, "Object node should have no attributes after clearAttributes.");
     }
+
+    @Test
+    public void testFreeze() {
+        DataNode node = DataNode.Object().set("items", DataNode.Collection(1, 2)).freeze();
+
+        Assert.assertTrue(node.isFrozen(), "Node should be frozen.");
+        Assert.assertTrue(node.get("items").isFrozen(), "Children of a frozen node should be frozen.");
+        Assert.assertThrows(IllegalStateException.class, () -> node.set("key", "value"));
+        Assert.assertThrows(IllegalStateException.class, () -> node.get("items").add(3));
+        Assert.assertThrows(IllegalStateException.class, () -> node.get("items").get(0).setValue(5));
+        Assert.assertThrows(UnsupportedOperationException.class, () -> {
+            Iterator<DataNode> iterator = node.get("items").iterator();
+            iterator.next();
+            iterator.remove();
+        });
+    }
+
+    @Test
+    public void testCopyOnWrite() {
+        DataNode blueprint = DataNode.Object()
+                .set("type", "tree")
+                .set("position", DataNode.Object().set("x", 1).set("y", 2))
+                .set("tags", DataNode.Collection("a", "b"))
+                .freeze();
+
+        DataNode instance = blueprint.mutableCopy();
+        Assert.assertFalse(instance.isFrozen(), "Copy should be mutable.");
+        Assert.assertEquals(instance, blueprint, "Copy should be equal to the original.");
+        Assert.assertSame(instance.get("position"), blueprint.get("position"), "Unchanged children should be shared.");
+        DataNode deepCopy = blueprint.deepCopy();
+        Assert.assertEquals(deepCopy, blueprint);
+        Assert.assertNotSame(deepCopy.get("tags"), blueprint.get("tags"), "Deep copy of frozen data should clone the children.");
+        deepCopy.get("tags").add("c");
+        deepCopy.get("position").set("x", 5);
+        Assert.assertEquals(blueprint.get("tags").contentCount(), 2, "Original should not change.");
+
+        instance.getProperty("position", "x").setValue(10);
+        Assert.assertEquals(instance.get("position", "x").getInt(), 10);
+        Assert.assertEquals(blueprint.get("position", "x").getInt(), 1, "Original should not change.");
+        Assert.assertNotSame(instance.get("position"), blueprint.get("position"), "Modified path should be copied.");
+        Assert.assertSame(instance.get("tags"), blueprint.get("tags"), "Unmodified children should stay shared.");
+
+        // Copy of mutable data is a deep copy
+        DataNode mutable = DataNode.Object().set("key", "value");
+        Assert.assertNotSame(mutable.mutableCopy().get("key"), mutable.get("key"));
+    }
+
+    @Test
+    public void testHashCode() {
+        DataNode first = DataNode.Object().set("items", DataNode.Collection(1, 2)).set("name", "n");
+        DataNode second = DataNode.Object().set("items", DataNode.Collection(1, 2)).set("name", "n");
+        Assert.assertEquals(first.hashCode(), second.hashCode(), "Equal nodes should have equal hashes.");
+        Assert.assertEquals(new DataNode().hashCode(), DataNode.Object().getProperty("unknown").hashCode(), "Unknown nodes are equal, so their hashes should be too.");
+
+        int hash = first.hashCode();
+        first.freeze();
+        Assert.assertEquals(first.hashCode(), hash, "Freezing should not change the hash.");
+        Assert.assertEquals(first, second.freeze());
+        Assert.assertNotEquals(first, DataNode.Object().set("items", DataNode.Collection(1, 3)).set("name", "n").freeze());
+
+        // Mutable nodes are always hashed by their current content
+        DataNode mutable = DataNode.Object().set("key", "value");
+        int before = mutable.hashCode();
+        mutable.set("key", "other");
+        Assert.assertNotEquals(mutable.hashCode(), before);
+    }
 }
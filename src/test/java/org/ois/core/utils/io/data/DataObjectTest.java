@@ -0,0 +1,172 @@
+package org.ois.core.utils.io.data;
+
+import org.ois.core.utils.io.data.formats.BinaryFormat;
+import org.ois.core.utils.io.data.formats.DataParser;
+import org.ois.core.utils.io.data.formats.JsonFormat;
+import org.ois.core.utils.io.data.properties.*;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+public class DataObjectTest {
+
+    private static class Stats extends DataObject {
+        final IntProperty level = registerProperty(new IntProperty("level"));
+        final FloatProperty speed = registerProperty(new FloatProperty("speed"));
+    }
+
+    private static class Unit extends DataObject {
+        final StringProperty name = registerProperty(new StringProperty("name"));
+        final BooleanProperty visible = registerProperty(new BooleanProperty("visible"));
+        final IntProperty count = registerProperty(new IntProperty("count"));
+        final DataProperty<DataObject> stats = registerProperty(new DataProperty<>("stats"));
+
+        Unit() {
+            visible.setOptional(true).setDefaultValue(true);
+            stats.set(new Stats());
+        }
+    }
+
+    private DataNode createUnitData() {
+        return DataNode.Object()
+                .set("name", "archer")
+                .set("ignored", DataNode.Collection(DataNode.Object().set("a", 1), DataNode.Collection(2, 3)))
+                .set("stats", DataNode.Object().set("speed", 1.5f).set("level", 3))
+                .set("count", 7);
+    }
+
+    @Test
+    public void testLoadFromParser() {
+        DataNode data = createUnitData();
+        Unit fromNode = new Unit().loadData(data);
+
+        DataParser parser = JsonFormat.compact().parser(JsonFormat.compact().serialize(data));
+        parser.next();
+        Unit fromParser = new Unit().loadData(parser);
+        Assert.assertEquals(parser.current(), DataParser.Event.ObjectEnd);
+
+        Assert.assertEquals(fromParser.name.get(), "archer");
+        Assert.assertTrue(fromParser.visible.get(), "Missing optional property should get its default value.");
+        Assert.assertEquals(fromParser.count.get(), Integer.valueOf(7));
+        Assert.assertEquals(((Stats) fromParser.stats.get()).level.get(), Integer.valueOf(3));
+        Assert.assertEquals(((Stats) fromParser.stats.get()).speed.get(), 1.5f);
+        Assert.assertEquals(fromParser.convertToDataNode(), fromNode.convertToDataNode());
+
+        DataParser binaryParser = BinaryFormat.get().parser(BinaryFormat.get().serializeToBytes(data));
+        binaryParser.next();
+        Assert.assertEquals(new Unit().loadData(binaryParser).convertToDataNode(), fromNode.convertToDataNode());
+    }
+
+    @Test
+    public void testLoadMissingProperty() {
+        DataParser parser = JsonFormat.compact().parser("{\"name\": \"archer\"}");
+        parser.next();
+        Assert.assertThrows(RuntimeException.class, () -> new Unit().loadData(parser));
+    }
+
+    @Test
+    public void testSchema() {
+        Unit unit = new Unit();
+        DataSchema schema = unit.getSchema();
+        Assert.assertSame(new Unit().getSchema(), schema, "Instances of the same class should share the schema.");
+        Assert.assertEquals(schema.size(), 4);
+        Assert.assertEquals(schema.indexOf("count"), 2);
+        Assert.assertEquals(schema.indexOf("ignored"), DataSchema.NOT_FOUND);
+
+        // An instance with different properties gets its own schema
+        Unit extended = new Unit();
+        extended.registerProperty(new IntProperty("extra"));
+        Assert.assertNotSame(extended.getSchema(), schema);
+        Assert.assertEquals(extended.getSchema().indexOf("extra"), 4);
+        Assert.assertSame(new Unit().getSchema(), schema);
+
+        // Instances loaded in parallel share the schema of their class
+        DataSchema[] schemas = IntStream.range(0, 64).parallel().mapToObj(i -> new Stats().getSchema()).toArray(DataSchema[]::new);
+        for (DataSchema statsSchema : schemas) {
+            Assert.assertSame(statsSchema, schemas[0]);
+        }
+    }
+
+    @Test
+    public void testWrite() {
+        Unit unit = new Unit().loadData(createUnitData());
+        unit.visible.set(false);
+        DataNode expected = unit.convertToDataNode();
+        Assert.assertEquals(expected.getType(), DataNode.Type.Object);
+
+        // Written directly, without converting to a DataNode first
+        Assert.assertEquals(JsonFormat.humanReadable().serialize(unit), JsonFormat.humanReadable().serialize(expected));
+        Assert.assertEquals(JsonFormat.compact().serialize(unit), JsonFormat.compact().serialize(expected));
+        Assert.assertEquals(BinaryFormat.get().deserialize(BinaryFormat.get().serializeToBytes(unit)), expected);
+
+        // The optional property with its default value is omitted
+        unit.visible.set(true);
+        Assert.assertFalse(JsonFormat.compact().serialize(unit).contains("visible"));
+        Assert.assertEquals(JsonFormat.compact().deserialize(JsonFormat.compact().serializeToBytes(unit)), unit.convertToDataNode());
+    }
+
+    @Test
+    public void testDirtyTracking() {
+        Unit unit = new Unit().loadData(createUnitData());
+        Assert.assertTrue(unit.isDirty(), "Loaded properties should be marked as changed.");
+        unit.clearDirty();
+        Assert.assertFalse(unit.isDirty());
+        Assert.assertFalse(unit.name.isDirty());
+
+        List<Integer> changes = new ArrayList<>();
+        unit.addChangeListener((object, propertyIndex) -> changes.add(propertyIndex));
+        unit.name.set("archer");
+        Assert.assertFalse(unit.isDirty(), "Setting an equal value is not a change.");
+        unit.count.set(8);
+        unit.name.set("knight");
+        Assert.assertTrue(unit.isDirty());
+        Assert.assertTrue(unit.count.isDirty());
+        Assert.assertFalse(unit.visible.isDirty());
+        Assert.assertEquals(changes, List.of(2, 0));
+        Assert.assertEquals(unit.getDirtyProperties().cardinality(), 2);
+        Assert.assertTrue(unit.getDirtyProperties().get(unit.getSchema().indexOf("name")));
+
+        unit.clearDirty();
+        unit.visible.markDirty();
+        Assert.assertEquals(unit.getDirtyProperties().nextSetBit(0), 1);
+    }
+
+    @Test
+    public void testChangeListeners() {
+        Unit unit = new Unit().loadData(createUnitData());
+        unit.clearDirty();
+
+        // Listeners added to a registered property are notified next to the owning object
+        List<Integer> objectChanges = new ArrayList<>();
+        List<String> propertyChanges = new ArrayList<>();
+        unit.addChangeListener((object, propertyIndex) -> objectChanges.add(propertyIndex));
+        Property.ChangeListener listener = property -> propertyChanges.add(property.getKey());
+        unit.count.addChangeListener(listener);
+        unit.count.set(9);
+        Assert.assertEquals(objectChanges, List.of(2));
+        Assert.assertEquals(propertyChanges, List.of("count"));
+        unit.count.removeChangeListener(listener);
+        unit.count.set(10);
+        Assert.assertEquals(objectChanges, List.of(2, 2));
+        Assert.assertEquals(propertyChanges, List.of("count"));
+
+        // Changes of a nested object are reported as changes of the property holding it
+        unit.clearDirty();
+        objectChanges.clear();
+        Stats stats = (Stats) unit.stats.get();
+        stats.level.set(4);
+        Assert.assertTrue(unit.stats.isDirty());
+        Assert.assertEquals(objectChanges, List.of(3));
+
+        // A replaced nested object is no longer observed
+        unit.stats.set(new Stats());
+        objectChanges.clear();
+        stats.level.set(5);
+        Assert.assertTrue(objectChanges.isEmpty());
+        ((Stats) unit.stats.get()).speed.set(2f);
+        Assert.assertEquals(objectChanges, List.of(3));
+    }
+}
@@ -0,0 +1,146 @@
+package org.ois.core.utils.io.data;
+
+import org.ois.core.entities.EntityManager;
+import org.ois.core.utils.io.data.formats.JsonFormat;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class DataPatchTest {
+
+    private DataNode createState() {
+        return DataNode.Object()
+                .set("title", "level-1")
+                .set("score", 10)
+                .set("player", DataNode.Object().set("x", 1.0f).set("y", 2.0f).set("name", "p1"))
+                .set("entities", DataNode.Collection(
+                        DataNode.Object().set("type", "tree").set("enable", true),
+                        DataNode.Object().set("type", "rock").set("enable", true)));
+    }
+
+    @Test
+    public void testDiffEqual() {
+        Assert.assertNull(DataPatch.diff(createState(), createState()), "Equal trees should have no patch.");
+        DataNode shared = createState().freeze();
+        Assert.assertNull(DataPatch.diff(shared, shared));
+    }
+
+    @Test
+    public void testDiffAndApply() {
+        DataNode source = createState();
+        DataNode target = createState();
+        target.set("score", 25);
+        target.remove("title");
+        target.set("time", 3.5f);
+        target.get("player").set("x", 4.0f);
+        target.get("entities").get(1).set("enable", false);
+        target.get("entities").add(DataNode.Object().set("type", "bush"));
+
+        DataNode patch = DataPatch.diff(source, target);
+        Assert.assertNotNull(patch);
+        Assert.assertFalse(patch.get(DataPatch.PATCH).contains("title"));
+        Assert.assertEquals(patch.get(DataPatch.REMOVE), DataNode.Collection("title"));
+        Assert.assertEquals(patch.get(DataPatch.PATCH, "player"), DataNode.Object().set(DataPatch.SET, DataNode.Object().set("x", 4.0f)));
+        // Unchanged attributes are not in the patch
+        Assert.assertFalse(patch.get(DataPatch.PATCH, "player", DataPatch.SET).contains("name"));
+        Assert.assertFalse(patch.get(DataPatch.PATCH, "entities", DataPatch.PATCH).contains("0"));
+
+        DataNode patched = DataPatch.apply(source, patch);
+        Assert.assertSame(patched, source, "Mutable trees are patched in place.");
+        Assert.assertEquals(patched, target);
+    }
+
+    @Test
+    public void testApplySerializedPatch() {
+        DataNode source = createState();
+        DataNode target = createState();
+        target.get("entities").clearContent().add(DataNode.Object().set("type", "tree"));
+        target.set("player", DataNode.Primitive("none"));
+
+        String patch = JsonFormat.compact().serialize(DataPatch.diff(source, target));
+        Assert.assertEquals(DataPatch.apply(source, JsonFormat.compact().deserialize(patch)), target);
+    }
+
+    @Test
+    public void testDeleteAndEmptyTargets() {
+        DataNode source = createState();
+        DataNode deleted = DataPatch.diff(source, null);
+        Assert.assertNull(DataPatch.apply(source, deleted));
+        Assert.assertNull(DataPatch.apply(source, JsonFormat.compact().deserialize(JsonFormat.compact().serialize(deleted))));
+
+        // An empty node (such as a getProperty(key) placeholder) is a value, not a deletion
+        DataNode empty = new DataNode();
+        DataNode patched = DataPatch.apply(createState(), DataPatch.diff(createState(), empty));
+        Assert.assertNotNull(patched);
+        Assert.assertEquals(patched.getType(), DataNode.Type.Unknown);
+
+        DataNode target = createState();
+        target.getProperty("placeholder");
+        target.set("player", new DataNode());
+        Assert.assertEquals(DataPatch.apply(source, DataPatch.diff(createState(), target)), target);
+    }
+
+    @Test
+    public void testApplyFrozen() {
+        DataNode source = createState().freeze();
+        DataNode target = createState();
+        target.get("player").set("name", "p2");
+
+        DataNode patched = DataPatch.apply(source, DataPatch.diff(source, target));
+        Assert.assertEquals(patched, target);
+        Assert.assertEquals(source, createState(), "Frozen tree should not change.");
+        Assert.assertSame(patched.get("entities"), source.get("entities"), "Unchanged subtrees should be shared.");
+    }
+
+    @Test
+    public void testCheckpoint() {
+        DataPatch.Checkpoint checkpoint = new DataPatch.Checkpoint();
+        DataNode first = checkpoint.commit(createState());
+        Assert.assertEquals(first.get(DataPatch.REPLACE), createState());
+
+        DataNode state = checkpoint.getSaved().mutableCopy();
+        Assert.assertNull(checkpoint.commit(state), "No changes since the last checkpoint.");
+
+        DataNode next = checkpoint.getSaved().mutableCopy();
+        next.getProperty("player", "y").setValue(7.0f);
+        DataNode patch = checkpoint.commit(next);
+        Assert.assertEquals(patch, DataNode.Object().set(DataPatch.PATCH, DataNode.Object().set("player",
+                DataNode.Object().set(DataPatch.SET, DataNode.Object().set("y", 7.0f)))));
+    }
+
+    @Test
+    public void testCheckpointDoesNotFreezeState() {
+        DataPatch.Checkpoint checkpoint = new DataPatch.Checkpoint();
+        DataNode state = createState();
+        checkpoint.commit(state);
+        Assert.assertFalse(state.isFrozen(), "The committed state should stay mutable.");
+        Assert.assertTrue(checkpoint.getSaved().isFrozen());
+
+        state.set("score", 11);
+        state.get("entities").add(DataNode.Object().set("type", "bush"));
+        DataNode patch = checkpoint.commit(state);
+        Assert.assertNotNull(patch, "Changes of the committed state should be detected.");
+        Assert.assertEquals(checkpoint.getSaved().get("score").getInt(), 11);
+    }
+
+    @Test
+    public void testDiffEntityManager() {
+        // The entities list is built with getProperty(key).add(...), its node type stays Unknown
+        EntityManager manager = new EntityManager();
+        manager.create("tree", true);
+        DataNode source = manager.convertToDataNode();
+        for (int i = 0; i < 4; i++) {
+            manager.create("rock", true);
+        }
+        DataNode target = manager.convertToDataNode();
+
+        DataNode patch = DataPatch.diff(source, target);
+        Assert.assertNotNull(patch, "Added entities should be detected.");
+        Assert.assertEquals(DataPatch.apply(source, patch).get("entities").contentCount(), 5);
+
+        DataPatch.Checkpoint checkpoint = new DataPatch.Checkpoint();
+        checkpoint.commit(manager);
+        Assert.assertNull(checkpoint.commit(manager), "No changes since the last checkpoint.");
+        manager.create("bush", true);
+        Assert.assertNotNull(checkpoint.commit(manager), "A new entity should be committed.");
+    }
+}
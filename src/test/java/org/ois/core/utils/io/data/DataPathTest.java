@@ -0,0 +1,67 @@
+package org.ois.core.utils.io.data;
+
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+public class DataPathTest {
+
+    private DataNode root;
+
+    @BeforeMethod
+    public void setUp() {
+        root = DataNode.Object()
+                .set("title", "test")
+                .set("runner", DataNode.Object().set("screenWidth", 800).set("screenHeight", 600).set("fullscreen", true));
+    }
+
+    @Test
+    public void testResolve() {
+        DataPath width = DataPath.of("runner", "screenWidth");
+        Assert.assertEquals(width.resolve(root), DataNode.Primitive(800));
+        Assert.assertEquals(root.get(width), root.get("runner", "screenWidth"));
+        Assert.assertEquals(width.getInt(root, 0), 800);
+        Assert.assertTrue(DataPath.of("runner").child("fullscreen").getBoolean(root, false));
+        Assert.assertEquals(DataPath.of("runner", "scale").getFloat(root, 1.5f), 1.5f);
+        Assert.assertNull(DataPath.of("runner", "missing", "deep").resolve(root), "Missing path should resolve to null.");
+        Assert.assertFalse(DataPath.of("title", "inner").exists(root));
+    }
+
+    @Test
+    public void testGetOrCreate() {
+        DataPath path = DataPath.of("runner", "platforms", "html");
+        DataNode created = root.getProperty(path);
+        Assert.assertEquals(created.getType(), DataNode.Type.Unknown);
+        Assert.assertEquals(root.get("runner", "platforms").getType(), DataNode.Type.Object);
+        Assert.assertSame(root.getProperty(path), created, "Existing path should not be recreated.");
+    }
+
+    @Test
+    public void testExtractor() {
+        DataPath.Extractor extractor = DataPath.extractor(
+                DataPath.of("runner", "screenHeight"),
+                DataPath.of("missing"),
+                DataPath.of("title"),
+                DataPath.of("runner", "screenWidth"),
+                DataPath.of("title")
+        );
+        DataNode[] values = extractor.extract(root);
+        Assert.assertEquals(values.length, extractor.size());
+        Assert.assertEquals(values[0].getInt(), 600);
+        Assert.assertNull(values[1]);
+        Assert.assertEquals(values[2].getString(), "test");
+        Assert.assertEquals(values[3].getInt(), 800);
+        Assert.assertSame(values[4], values[2]);
+
+        // Reused results array is cleared between extractions
+        extractor.extract(DataNode.Object().set("title", "other"), values);
+        Assert.assertNull(values[0]);
+        Assert.assertEquals(values[2].getString(), "other");
+    }
+
+    @Test
+    public void testEquals() {
+        Assert.assertEquals(DataPath.of("a", "b"), DataPath.of("a").child("b"));
+        Assert.assertEquals(DataPath.of("a", "b").toString(), "a.b");
+    }
+}
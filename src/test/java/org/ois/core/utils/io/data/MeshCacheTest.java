@@ -0,0 +1,172 @@
+package org.ois.core.utils.io.data;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import org.ois.core.runner.GdxFilesMock;
+import org.ois.core.utils.io.data.formats.ObjFormat;
+import org.ois.core.utils.io.data.formats.ObjMesh;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+
+import static org.testng.Assert.*;
+
+public class MeshCacheTest {
+
+    private static final String TRIANGLE = "v 0 0 0\nv 1 0 0\nv 0 1 0\nvt 0 0\nvn 0 0 1\nf 1/1/1 2/1/1 3/1/1\n";
+    private static final String QUAD = "v 0 0 0\nv 1 0 0\nv 1 1 0\nv 0 1 0\nf 1 2 3 4\n";
+
+    @Test
+    public void testWriteRead() throws IOException {
+        ObjMesh mesh = ObjFormat.parser(true).deserializeMesh(TRIANGLE);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        MeshCache.write(output, 10, 20, Collections.singletonList(mesh));
+
+        List<ObjMesh> meshes = MeshCache.read(ByteBuffer.wrap(output.toByteArray()), 10, 20);
+        assertEquals(meshes.size(), 1);
+        assertEquals(meshes.get(0).getPositions(), mesh.getPositions());
+        assertEquals(meshes.get(0).getTextures(), mesh.getTextures());
+        assertEquals(meshes.get(0).getNormalIndices(), mesh.getNormalIndices());
+        assertTrue(meshes.get(0).hasTextures());
+
+        // Written for another version of the source
+        assertNull(MeshCache.read(ByteBuffer.wrap(output.toByteArray()), 10, 21));
+        assertThrows(RuntimeException.class, () -> MeshCache.read(ByteBuffer.wrap(TRIANGLE.getBytes(StandardCharsets.UTF_8)), 10, 20));
+    }
+
+    @Test
+    public void testLoad() throws IOException {
+        Path dir = Files.createTempDirectory("meshes");
+        Path source = dir.resolve("triangle.obj");
+        try {
+            Files.write(source, TRIANGLE.getBytes(StandardCharsets.UTF_8));
+            FileHandle file = new FileHandle(source.toFile());
+            ObjMesh mesh = MeshCache.load(file);
+            assertEquals(mesh.getTriangleCount(), 1);
+            FileHandle cacheFile = MeshCache.getCacheFile(file);
+            assertTrue(cacheFile.exists());
+
+            // Replace the cached mesh to check that the next load reads it
+            ObjMesh quad = ObjFormat.parser(true).deserializeMesh(QUAD);
+            try (OutputStream output = cacheFile.write(false)) {
+                MeshCache.write(output, file.length(), MeshCache.stamp(file), Collections.singletonList(quad));
+            }
+            assertEquals(MeshCache.load(file).getTriangleCount(), 2);
+
+            // Changing the source invalidates the cache
+            Files.write(source, (TRIANGLE + "f 1 3 2\n").getBytes(StandardCharsets.UTF_8));
+            assertEquals(MeshCache.load(file).getTriangleCount(), 2);
+            assertEquals(MeshCache.load(file).getPositionIndices(), new int[]{0, 1, 2, 0, 2, 1});
+        } finally {
+            Files.deleteIfExists(dir.resolve("triangle.obj" + MeshCache.CACHE_EXTENSION));
+            Files.deleteIfExists(source);
+            Files.deleteIfExists(dir);
+        }
+    }
+
+    @Test
+    public void testLoadLods() throws IOException {
+        Path dir = Files.createTempDirectory("meshes");
+        Path source = dir.resolve("quad.obj");
+        try {
+            Files.write(source, "v 0 0 0\nv 1 0 0\nv 2 0 0\nv 0 1 0\nv 1 1 0\nv 2 1 0\nf 1 2 5 4\nf 2 3 6 5\n".getBytes(StandardCharsets.UTF_8));
+            FileHandle file = new FileHandle(source.toFile());
+            List<ObjMesh> meshes = MeshCache.loadLods(file, 0.5f);
+            assertEquals(meshes.size(), 2);
+            assertEquals(meshes.get(0).getTriangleCount(), 4);
+            assertEquals(meshes.get(1).getTriangleCount(), 2);
+            assertTrue(MeshCache.getLodCacheFile(file).exists());
+
+            List<ObjMesh> cached = MeshCache.loadLods(file, 0.5f);
+            assertEquals(cached.get(1).getPositions(), meshes.get(1).getPositions());
+            assertEquals(cached.get(1).getPositionIndices(), meshes.get(1).getPositionIndices());
+            // Other levels regenerate the cache
+            assertEquals(MeshCache.loadLods(file, 0.5f, 0.25f).size(), 3);
+        } finally {
+            Files.deleteIfExists(dir.resolve("quad.obj" + MeshCache.LOD_CACHE_EXTENSION));
+            Files.deleteIfExists(source);
+            Files.deleteIfExists(dir);
+        }
+    }
+
+    @Test
+    public void testWriteReadLargeMesh() throws IOException {
+        // Larger than the buffer the cache is streamed through
+        StringBuilder obj = new StringBuilder();
+        int columns = 200;
+        for (int y = 0; y < 2; y++) {
+            for (int x = 0; x < columns; x++) {
+                obj.append("v ").append(x).append(' ').append(y).append(" 0\n");
+            }
+        }
+        for (int x = 1; x < columns; x++) {
+            obj.append("f ").append(x).append(' ').append(x + 1).append(' ').append(columns + x + 1).append(' ').append(columns + x).append('\n');
+        }
+        ObjMesh mesh = ObjFormat.parser(true).deserializeMesh(obj.toString());
+        List<ObjMesh> lods = List.of(mesh, mesh, mesh, mesh, mesh, mesh, mesh, mesh, mesh, mesh, mesh, mesh);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        MeshCache.write(output, 1, 2, lods);
+        assertTrue(output.size() > 64 * 1024);
+
+        List<ObjMesh> meshes = MeshCache.read(ByteBuffer.wrap(output.toByteArray()), 1, 2);
+        assertEquals(meshes.size(), lods.size());
+        for (ObjMesh cached : meshes) {
+            assertEquals(cached.getPositions(), mesh.getPositions());
+            assertEquals(cached.getPositionIndices(), mesh.getPositionIndices());
+        }
+    }
+
+    @Test
+    public void testInternalFileCache() throws IOException {
+        Path dir = Files.createTempDirectory("meshes");
+        Path localDir = Files.createTempDirectory("local");
+        Path source = dir.resolve("triangle.obj");
+        com.badlogic.gdx.Files files = Gdx.files;
+        try {
+            Files.write(source, TRIANGLE.getBytes(StandardCharsets.UTF_8));
+            Gdx.files = new GdxFilesMock() {
+                @Override
+                public FileHandle local(String path) {
+                    return new FileHandle(localDir.resolve(new File(path).getName()).toFile());
+                }
+            };
+            // Assets can't be written and have no modification time (inside a jar)
+            FileHandle file = new FileHandle(source.toFile()) {
+                {
+                    type = com.badlogic.gdx.Files.FileType.Internal;
+                }
+
+                @Override
+                public long lastModified() {
+                    return 0;
+                }
+            };
+            assertEquals(MeshCache.stamp(file), MeshCache.stamp(file));
+            assertEquals(MeshCache.load(file).getTriangleCount(), 1);
+            assertTrue(Files.exists(localDir.resolve("triangle.obj" + MeshCache.CACHE_EXTENSION)));
+            assertFalse(Files.exists(dir.resolve("triangle.obj" + MeshCache.CACHE_EXTENSION)));
+            assertEquals(MeshCache.load(file).getTriangleCount(), 1);
+
+            // The content hash detects the change
+            long stamp = MeshCache.stamp(file);
+            Files.write(source, (TRIANGLE + "f 1 3 2\n").getBytes(StandardCharsets.UTF_8));
+            assertNotEquals(MeshCache.stamp(file), stamp);
+            assertEquals(MeshCache.load(file).getTriangleCount(), 2);
+        } finally {
+            Gdx.files = files;
+            Files.deleteIfExists(localDir.resolve("triangle.obj" + MeshCache.CACHE_EXTENSION));
+            Files.deleteIfExists(source);
+            Files.deleteIfExists(localDir);
+            Files.deleteIfExists(dir);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package org.ois.core.utils.io.data.formats;
+
+import org.testng.annotations.Test;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.assertFalse;
+
+import org.ois.core.utils.io.data.DataNode;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+public class BinaryFormatTest {
+
+    Path testFilesDirPath = Paths.get(".").toAbsolutePath().normalize().resolve(Paths.get("src","test","resources", "json"));
+
+    @Test
+    public void testRoundTrip() throws IOException {
+        DataNode expected = JsonFormat.compact().deserialize(Files.readString(testFilesDirPath.resolve("testNode.json")));
+        expected.set("int", -42);
+        expected.set("float", 0.1f);
+        expected.set("bool", true);
+        expected.set("big", "12345678901");
+        expected.set("number_like", "007");
+        expected.set("unicode", "שלום é");
+
+        byte[] data = BinaryFormat.get().serializeToBytes(expected);
+        assertTrue(BinaryFormat.isBinary(data));
+        assertEquals(BinaryFormat.get().deserialize(data), expected);
+        assertEquals(BinaryFormat.get().load(new ByteArrayInputStream(data)), expected);
+        // String API
+        assertEquals(BinaryFormat.get().deserialize(BinaryFormat.get().serialize(expected)), expected);
+    }
+
+    @Test
+    public void testDirectBuffer() throws IOException {
+        DataNode expected = JsonFormat.compact().deserialize(Files.readString(testFilesDirPath.resolve("testNode.json")));
+        expected.set("unicode", "שלום é");
+        expected.set("long", "x".repeat(200));
+
+        byte[] data = BinaryFormat.get().serializeToBytes(expected);
+        // Direct and read only buffers (like memory mapped files) don't expose their array
+        ByteBuffer direct = ByteBuffer.allocateDirect(data.length + 3);
+        direct.put(new byte[]{1, 2, 3}).put(data).flip().position(3);
+        assertEquals(BinaryFormat.get().deserialize(direct), expected);
+        assertEquals(direct.position(), 3, "The position of the buffer should not change.");
+        assertEquals(BinaryFormat.get().deserialize(ByteBuffer.wrap(data).asReadOnlyBuffer()), expected);
+    }
+
+    @Test
+    public void testSmallerThanJson() {
+        DataNode entities = DataNode.Collection();
+        for (int i = 0; i < 100; i++) {
+            DataNode entity = DataNode.Object();
+            entity.set("type", "enemy");
+            entity.set("id", i);
+            entity.set("position", DataNode.Object().set("x", i * 1.5f).set("y", i * 0.25f));
+            entities.add(entity);
+        }
+        DataNode manifest = DataNode.Object().set("entities", entities);
+
+        byte[] binary = BinaryFormat.get().serializeToBytes(manifest);
+        byte[] json = JsonFormat.compact().serializeToBytes(manifest);
+        assertTrue(binary.length < json.length, "binary " + binary.length + " bytes, json " + json.length + " bytes");
+        assertEquals(BinaryFormat.get().deserialize(binary), manifest);
+    }
+
+    @Test
+    public void testParserTypedValues() {
+        DataNode node = DataNode.Object().set("i", 7).set("f", 2.5f).set("b", false).set("s", "text");
+        BinaryParser parser = BinaryFormat.get().parser(BinaryFormat.get().serializeToBytes(node));
+
+        assertEquals(parser.next(), DataParser.Event.ObjectStart);
+        assertEquals(parser.next(), DataParser.Event.Key);
+        assertEquals(parser.getKey(), "i");
+        parser.next();
+        assertEquals(parser.getInt(), 7);
+        parser.next();
+        parser.next();
+        assertEquals(parser.getFloat(), 2.5f);
+        parser.next();
+        parser.next();
+        assertFalse(parser.getBoolean());
+        parser.next();
+        parser.next();
+        assertEquals(parser.getString(), "text");
+        assertEquals(parser.next(), DataParser.Event.ObjectEnd);
+        assertEquals(parser.next(), DataParser.Event.EndOfData);
+    }
+
+    @Test
+    public void testDetect() {
+        DataNode node = DataNode.Object().set("key", "value");
+        assertEquals(DataFormat.detect(BinaryFormat.get().serializeToBytes(node)), BinaryFormat.get());
+        byte[] json = "{\"key\":\"value\"}".getBytes(StandardCharsets.UTF_8);
+        assertTrue(DataFormat.detect(json) instanceof JsonFormat);
+        assertEquals(DataFormat.detect(json).deserialize(json), node);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testInvalidHeader() {
+        BinaryFormat.get().deserialize("{}".getBytes(StandardCharsets.UTF_8));
+    }
+}
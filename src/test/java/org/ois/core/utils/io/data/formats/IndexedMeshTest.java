@@ -0,0 +1,50 @@
+package org.ois.core.utils.io.data.formats;
+
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+
+import static org.testng.Assert.*;
+
+public class IndexedMeshTest {
+
+    @Test
+    public void testWeld() {
+        // Two triangles of a quad share 2 corners with the same (v, vt, vn)
+        ObjMesh mesh = ObjFormat.parser(true).deserializeMesh("v 0 0 0\nv 1 0 0\nv 1 1 0\nv 0 1 0\n"
+                + "vt 0 0\nvt 1 0\nvt 1 1\nvt 0 1\nvn 0 0 1\n"
+                + "f 1/1/1 2/2/1 3/3/1 4/4/1\n"
+                // Same position with another texture coordinate is a different vertex
+                + "f 1/3/1 3/3/1 4/4/1\n");
+        IndexedMesh indexed = mesh.weld();
+        assertEquals(indexed.getSourceVertexCount(), 9);
+        assertEquals(indexed.getVertexCount(), 5);
+        assertEquals(indexed.getVertexSize(), 8);
+        assertTrue(indexed.hasShortIndices());
+        assertEquals(indexed.getIndices(), new int[]{0, 1, 2, 0, 2, 3, 4, 2, 3});
+        assertEquals(indexed.getDedupRatio(), 1 - 5 / 9f, 0.0001f);
+
+        // Interleaved position, texture and normal
+        float[] vertices = indexed.getVertices();
+        assertEquals(Arrays.copyOfRange(vertices, 8, 16), new float[]{1, 0, 0, 1, 0, 0, 0, 1});
+        assertEquals(Arrays.copyOfRange(vertices, 32, 40), new float[]{0, 0, 0, 1, 1, 0, 0, 1});
+    }
+
+    @Test
+    public void testIntIndices() {
+        // A triangle strip with more vertices than a short can index
+        int count = IndexedMesh.MAX_SHORT_VERTICES + 2;
+        float[] positions = new float[count * 3];
+        int[] indices = new int[(count - 2) * 3];
+        for (int i = 0; i < count - 2; i++) {
+            indices[i * 3] = i;
+            indices[i * 3 + 1] = i + 1;
+            indices[i * 3 + 2] = i + 2;
+        }
+        IndexedMesh indexed = new ObjMesh(positions, new float[0], new float[0], indices, null, null).weld();
+        assertFalse(indexed.hasShortIndices());
+        assertEquals(indexed.getVertexCount(), count);
+        assertEquals(indexed.getVertexSize(), 3);
+        assertEquals(indexed.getIntIndices(), indices);
+    }
+}
@@ -3,15 +3,22 @@ package org.ois.core.utils.io.data.formats;
 import org.testng.annotations.Test;
 import org.testng.annotations.BeforeTest;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertThrows;
+import static org.testng.Assert.assertSame;
 
+import org.ois.core.utils.io.data.DataKeys;
 import org.ois.core.utils.io.data.DataNode;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 public class JsonFormatTest {
@@ -50,4 +57,127 @@ public class JsonFormatTest {
     public void testDeserialize() throws IOException {
         assertEquals(JsonFormat.compact().deserialize(Files.readString(testFilesDirPath.resolve("testNode.json"))), node);
     }
+
+    @Test
+    public void testParserEvents() {
+        DataParser parser = JsonFormat.compact().parser("{\"a\": [1, \"b\", null], \"c\": {\"d\": true}}");
+        DataParser.Event[] expected = {
+                DataParser.Event.ObjectStart,
+                DataParser.Event.Key, DataParser.Event.CollectionStart, DataParser.Event.Primitive, DataParser.Event.Primitive, DataParser.Event.Null, DataParser.Event.CollectionEnd,
+                DataParser.Event.Key, DataParser.Event.ObjectStart, DataParser.Event.Key, DataParser.Event.Primitive, DataParser.Event.ObjectEnd,
+                DataParser.Event.ObjectEnd,
+                DataParser.Event.EndOfData
+        };
+        for (DataParser.Event event : expected) {
+            assertEquals(parser.next(), event);
+        }
+        assertFalse(parser.hasNext());
+    }
+
+    @Test
+    public void testParserSkipAndReadNode() {
+        DataParser parser = JsonFormat.compact().parser("{\"skip\": {\"x\": [1, 2]}, \"items\": [{\"v\": 1}, {\"v\": 2.5}], \"last\": \"\\u0041\"}");
+        List<DataNode> items = new ArrayList<>();
+        String last = null;
+        assertEquals(parser.next(), DataParser.Event.ObjectStart);
+        while (parser.next() == DataParser.Event.Key) {
+            String key = parser.getKey();
+            DataParser.Event event = parser.next();
+            if (key.equals("items")) {
+                while (parser.next() != DataParser.Event.CollectionEnd) {
+                    items.add(parser.readNode());
+                }
+            } else if (event == DataParser.Event.Primitive) {
+                last = parser.getString();
+            } else {
+                parser.skipValue();
+            }
+        }
+        assertEquals(items, List.of(DataNode.Object().set("v", 1), DataNode.Object().set("v", 2.5f)));
+        assertEquals(last, "A");
+    }
+
+    @Test
+    public void testDataNodeParser() {
+        DataParser parser = new DataNodeParser(node);
+        assertEquals(parser.next(), DataParser.Event.ObjectStart);
+        assertEquals(parser.next(), DataParser.Event.Key);
+        assertEquals(parser.getKey(), "test");
+        assertEquals(parser.next(), DataParser.Event.ObjectStart);
+        assertEquals(parser.readNode(), node.get("test"));
+        assertEquals(parser.next(), DataParser.Event.Key);
+        assertEquals(parser.getKey(), "empty_str");
+    }
+
+    @Test
+    public void testLoadStream() throws IOException {
+        // Values spanning line ends must be kept as is
+        String json = "{\n\t\"text\": \"line end \n  next line\",\n\t\"unicode\": \"שלום\"\n}";
+        DataNode loaded = JsonFormat.compact().load(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+        assertEquals(loaded.get("text").getString(), "line end \n  next line");
+        assertEquals(loaded.get("unicode").getString(), "שלום");
+
+        // Data larger than the parser buffer is read incrementally
+        DataNode large = DataNode.Collection();
+        for (int i = 0; i < 2000; i++) {
+            large.add(DataNode.Object().set("id", i).set("visible", i % 2 == 0).set("name", "item-" + i));
+        }
+        byte[] data = JsonFormat.humanReadable().serialize(large).getBytes(StandardCharsets.UTF_8);
+        assertEquals(JsonFormat.compact().load(new ByteArrayInputStream(data)), large);
+    }
+
+    @Test
+    public void testParallelDeserialize() throws IOException {
+        DataNode entities = DataNode.Collection();
+        for (int i = 0; i < 3000; i++) {
+            entities.add(DataNode.Object()
+                    .set("id", i)
+                    .set("name", "entity \"[" + i + "]\" {")
+                    .set("position", DataNode.Collection(i * 0.5f, -i))
+                    .set("tags", DataNode.Collection("a", "b,c")));
+        }
+        entities.add(new DataNode());
+        DataNode manifest = DataNode.Object().set("title", "parallel").set("entities", entities).set("count", 3001);
+
+        String json = JsonFormat.humanReadable().serialize(manifest);
+        // A small threshold splits the root object, the entities collection and its items
+        JsonFormat parallel = new JsonFormat(new JsonFormat.Options("", ""), 16);
+        DataNode parsed = parallel.deserialize(json);
+        assertEquals(parsed, JsonFormat.compact().deserialize(json));
+        assertEquals(parsed, manifest);
+        assertEquals(parsed.get("entities").contentCount(), 3001);
+        assertEquals(parsed.get("entities").get(1234).get("name").getString(), "entity \"[1234]\" {");
+        // Keys parsed by the workers are the canonical instances
+        assertSame(parsed.get("entities").get(2999).properties().iterator().next().getKey(), DataKeys.intern("id"));
+        assertEquals(parallel.load(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8))), manifest);
+        assertEquals(JsonFormat.parallel().deserialize(json), manifest);
+    }
+
+    @Test
+    public void testDeserializeLazy() {
+        String json = "{\"runner\": {\"platforms\": [\"Desktop\", \"Html\"]}, \"states\": {\"menu\": \"org.Menu\"}," +
+                " \"entities\": [{\"id\": 1, \"name\": \"a\\\"]b\"}, null, [2.5, true]], \"initialState\": \"menu\"} trailing";
+        DataNode eager = JsonFormat.compact().deserialize(json);
+        DataNode lazy = JsonFormat.compact().deserializeLazy(json);
+
+        assertEquals(lazy.get("initialState").getString(), "menu");
+        assertEquals(lazy.get("runner", "platforms").toStringCollection(), new String[]{"Desktop", "Html"});
+        assertEquals(lazy.get("entities").get(0).get("name").getString(), "a\"]b");
+        assertEquals(lazy.get("entities").get(1).getType(), DataNode.Type.Unknown);
+        assertEquals(lazy, eager);
+        assertEquals(eager, lazy);
+        assertEquals(lazy.hashCode(), eager.hashCode());
+
+        // Lazy nodes are regular mutable nodes
+        lazy.get("states").set("game", "org.Game");
+        lazy.get("entities").add(3);
+        assertEquals(lazy.get("states").getPropertyCount(), 2);
+        assertEquals(lazy.get("entities").contentCount(), 4);
+        assertEquals(JsonFormat.compact().deserialize(JsonFormat.compact().serialize(lazy)), lazy);
+
+        assertEquals(new JsonTape("[1, {\"a\": []}, \"b\"]".toCharArray()).size(), 6);
+        assertEquals(JsonFormat.compact().deserializeLazy("null"), null);
+        assertThrows(IllegalArgumentException.class, () -> JsonFormat.compact().deserializeLazy("{\"a\": [1, 2}"));
+        assertThrows(IllegalArgumentException.class, () -> JsonFormat.compact().deserializeLazy("[\"a"));
+    }
 }
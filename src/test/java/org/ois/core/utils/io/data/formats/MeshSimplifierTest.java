@@ -0,0 +1,61 @@
+package org.ois.core.utils.io.data.formats;
+
+import org.testng.annotations.Test;
+
+import java.util.List;
+
+import static org.testng.Assert.*;
+
+public class MeshSimplifierTest {
+
+    private ObjMesh createGrid(int size) {
+        return ObjFormat.parser(true).deserializeMesh(ObjTestData.createGrid(size));
+    }
+
+    @Test
+    public void testSimplify() {
+        ObjMesh grid = createGrid(20);
+        assertEquals(grid.getTriangleCount(), 800);
+        ObjMesh simplified = MeshSimplifier.simplify(grid, 0.25f);
+        assertTrue(simplified.getTriangleCount() <= 200, "expected at most 200 triangles but found " + simplified.getTriangleCount());
+        assertTrue(simplified.getTriangleCount() > 0);
+        assertTrue(simplified.getVertexCount() < grid.getVertexCount());
+        assertTrue(simplified.hasTextures());
+        assertEquals(simplified.getTextureCount(), simplified.getVertexCount(), "Unused texture coordinates should be removed.");
+
+        // The border is kept, the grid still covers the same area
+        float[] positions = simplified.getPositions();
+        float minX = Float.MAX_VALUE, maxX = -Float.MAX_VALUE, minY = Float.MAX_VALUE, maxY = -Float.MAX_VALUE;
+        for (int i = 0; i < positions.length; i += 3) {
+            minX = Math.min(minX, positions[i]);
+            maxX = Math.max(maxX, positions[i]);
+            minY = Math.min(minY, positions[i + 1]);
+            maxY = Math.max(maxY, positions[i + 1]);
+            assertEquals(positions[i + 2], 0f);
+        }
+        assertEquals(new float[]{minX, maxX, minY, maxY}, new float[]{0, 20, 0, 20});
+        double area = 0;
+        int[] indices = simplified.getPositionIndices();
+        for (int i = 0; i < indices.length; i += 3) {
+            float ax = positions[indices[i] * 3], ay = positions[indices[i] * 3 + 1];
+            float bx = positions[indices[i + 1] * 3], by = positions[indices[i + 1] * 3 + 1];
+            float cx = positions[indices[i + 2] * 3], cy = positions[indices[i + 2] * 3 + 1];
+            // No triangle is flipped
+            double signed = ((bx - ax) * (cy - ay) - (by - ay) * (cx - ax)) / 2;
+            assertTrue(signed >= 0);
+            area += signed;
+        }
+        assertEquals((float) area, 400f, 0.001f);
+    }
+
+    @Test
+    public void testGenerateLods() {
+        ObjMesh grid = createGrid(10);
+        List<ObjMesh> lods = MeshSimplifier.generateLods(grid, 0.5f, 0.2f);
+        assertEquals(lods.size(), 2);
+        assertTrue(lods.get(0).getTriangleCount() <= 100);
+        assertTrue(lods.get(1).getTriangleCount() <= 40);
+        assertTrue(lods.get(1).getTriangleCount() < lods.get(0).getTriangleCount());
+        assertThrows(IllegalArgumentException.class, () -> MeshSimplifier.generateLods(grid, 0.2f, 0.5f));
+    }
+}
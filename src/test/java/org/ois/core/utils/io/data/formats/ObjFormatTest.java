@@ -3,13 +3,23 @@ package org.ois.core.utils.io.data.formats;
 import org.testng.annotations.Test;
 import org.testng.annotations.BeforeTest;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertThrows;
+import static org.testng.Assert.assertTrue;
 
 import org.ois.core.utils.io.data.DataNode;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Arrays;
 
 public class ObjFormatTest {
 
@@ -158,4 +168,133 @@ public class ObjFormatTest {
         // Parse object with triangles Faces (v/vt/vn)
         assertEquals(parser.deserialize(Files.readString(testFilesDirPath.resolve("testCubeTriangulated.obj"))), triangulatedCube);
     }
+
+    @Test
+    public void testDeserializeMesh() throws IOException {
+        ObjFormat parser = ObjFormat.parser(true);
+        // Quads are triangulated, faces without textures and normals have no indices for them
+        ObjMesh mesh = parser.deserializeMesh(Files.readString(testFilesDirPath.resolve("testCube.obj")));
+        assertEquals(mesh.getVertexCount(), 8);
+        assertEquals(mesh.getTriangleCount(), 12);
+        assertFalse(mesh.hasTextures());
+        assertFalse(mesh.hasNormals());
+        assertEquals(Arrays.copyOfRange(mesh.getPositions(), 3, 6), new float[]{0.5f, -0.5f, -0.5f});
+        assertEquals(Arrays.copyOfRange(mesh.getPositionIndices(), 0, 6), new int[]{0, 1, 2, 0, 2, 3});
+
+        mesh = parser.deserializeMesh(Files.readString(testFilesDirPath.resolve("testCubeTriangulated.obj")));
+        assertEquals(mesh.getVertexCount(), 8);
+        assertEquals(mesh.getTextureCount(), 4);
+        assertEquals(mesh.getNormalCount(), 6);
+        assertEquals(mesh.getTriangleCount(), 12);
+        assertEquals(Arrays.copyOfRange(mesh.getPositionIndices(), 6, 9), new int[]{4, 7, 6});
+        assertEquals(Arrays.copyOfRange(mesh.getTextureIndices(), 6, 9), new int[]{0, 3, 2});
+        assertEquals(Arrays.copyOfRange(mesh.getNormalIndices(), 6, 9), new int[]{1, 1, 1});
+        assertEquals(Arrays.copyOfRange(mesh.getNormals(), 3, 6), new float[]{0f, 0f, 1f});
+
+        // Negative indexes are relative to the end of the lists
+        mesh = parser.deserializeMesh("v 0 0 0\nv 1 0 0\nv 1 1 0\nvn 0 0 1\nf -3//-1 -2//-1 -1//-1\n");
+        assertEquals(mesh.getPositionIndices(), new int[]{0, 1, 2});
+        assertEquals(mesh.getNormalIndices(), new int[]{0, 0, 0});
+        assertThrows(RuntimeException.class, () -> parser.deserializeMesh("v 0 0 0\nf 1 2 3\n"));
+
+        // Corners before the first texture (or normal) reference have no index
+        String mixed = "v 0 0 0\nv 1 0 0\nv 1 1 0\nvt 0 0\nf 1 2 3\nf 1/1 2/1 3/1\n";
+        mesh = parser.deserializeMesh(mixed);
+        assertEquals(mesh.getTextureIndices(), new int[]{ObjMesh.NO_INDEX, ObjMesh.NO_INDEX, ObjMesh.NO_INDEX, 0, 0, 0});
+        assertFalse(mesh.hasNormals());
+        mesh = new ParallelObjReader(ByteBuffer.wrap(mixed.getBytes(StandardCharsets.UTF_8)), 1).read();
+        assertEquals(mesh.getTextureIndices(), new int[]{ObjMesh.NO_INDEX, ObjMesh.NO_INDEX, ObjMesh.NO_INDEX, 0, 0, 0});
+        assertFalse(mesh.hasNormals());
+
+        // Large files grow their arrays instead of pre-sizing them from the length
+        assertEquals(ObjFormat.estimateVertices(1L << 40), ObjFormat.estimateVertices(1L << 30));
+    }
+
+    @Test
+    public void testStreamingReader() throws IOException {
+        ObjFormat parser = ObjFormat.parser(false);
+        byte[] data = Files.readAllBytes(testFilesDirPath.resolve("testCubeTriangulated.obj"));
+        ObjMesh expected = parser.deserializeMesh(new String(data, StandardCharsets.UTF_8));
+
+        // Stream that returns a few bytes per read, lines are split between reads
+        InputStream input = new ByteArrayInputStream(data) {
+            @Override
+            public synchronized int read(byte[] b, int off, int len) {
+                return super.read(b, off, Math.min(len, 7));
+            }
+        };
+        long[] progress = new long[2];
+        ObjMesh mesh = parser.loadMesh(input, data.length, (bytesRead, totalBytes) -> {
+            progress[0]++;
+            progress[1] = bytesRead;
+        });
+        assertEquals(mesh.getPositions(), expected.getPositions());
+        assertEquals(mesh.getNormals(), expected.getNormals());
+        assertEquals(mesh.getPositionIndices(), expected.getPositionIndices());
+        assertEquals(mesh.getTextureIndices(), expected.getTextureIndices());
+        assertTrue(progress[0] > 1);
+        assertEquals(progress[1], (long) data.length);
+
+        assertEquals(parser.load(new ByteArrayInputStream(data)), parser.deserialize(data));
+
+        // Numbers are parsed like Float.parseFloat
+        mesh = parser.deserializeMesh("v 0.1 -1e-3 +12345.678\r\nv 3 .5 0.30000001192092896\n");
+        assertEquals(mesh.getPositions(), new float[]{0.1f, -1e-3f, 12345.678f, 3f, .5f, 0.30000001192092896f});
+    }
+
+    @Test
+    public void testParallelDeserializeMesh() {
+        String data = ObjTestData.createGrid(20);
+        ObjMesh expected = ObjFormat.parser(true).deserializeMesh(data);
+        assertEquals(expected.getTriangleCount(), 20 * 20 * 2);
+
+        for (int chunkSize : new int[]{1, 37, 1000, data.length()}) {
+            ObjMesh mesh = new ParallelObjReader(ByteBuffer.wrap(data.getBytes(StandardCharsets.UTF_8)), chunkSize).read();
+            assertEquals(mesh.getPositions(), expected.getPositions());
+            assertEquals(mesh.getTextures(), expected.getTextures());
+            assertEquals(mesh.getNormals(), expected.getNormals());
+            assertEquals(mesh.getPositionIndices(), expected.getPositionIndices());
+            assertEquals(mesh.getTextureIndices(), expected.getTextureIndices());
+            assertEquals(mesh.getNormalIndices(), expected.getNormalIndices());
+        }
+        ObjFormat parallel = new ObjFormat(false, 1);
+        assertTrue(parallel.isParallel());
+        assertEquals(parallel.deserializeMesh(data).getPositionIndices(), expected.getPositionIndices());
+
+        // Errors report the row in the whole file
+        String invalid = data + "f 1 2 999999\n";
+        RuntimeException sequentialError = assertThrows(RuntimeException.class, () -> ObjFormat.parser(true).deserializeMesh(invalid));
+        RuntimeException parallelError = assertThrows(RuntimeException.class, () -> new ParallelObjReader(ByteBuffer.wrap(invalid.getBytes(StandardCharsets.UTF_8)), 100).read());
+        assertTrue(parallelError.getMessage().contains(sequentialError.getMessage()));
+    }
+
+    @Test
+    public void testWriteMesh() throws IOException {
+        ObjFormat parser = ObjFormat.parser(true);
+        ObjMesh mesh = parser.deserializeMesh(ObjTestData.createGrid(10));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        parser.writeMesh(mesh, output);
+        ObjMesh written = parser.deserializeMesh(new String(output.toByteArray(), StandardCharsets.UTF_8));
+        assertEquals(written.getPositions(), mesh.getPositions());
+        assertEquals(written.getTextures(), mesh.getTextures());
+        assertEquals(written.getPositionIndices(), mesh.getPositionIndices());
+        assertEquals(written.getTextureIndices(), mesh.getTextureIndices());
+        assertEquals(written.getNormalIndices(), mesh.getNormalIndices());
+
+        // Numbers are written like Float.toString
+        StringWriter text = new StringWriter();
+        ObjWriter writer = new ObjWriter(text);
+        float[] values = {0f, -0f, 1f, -0.5f, 0.1f, 1 / 3f, 123.456f, 0.001f, 9999999f, 1e-5f, 3e7f};
+        for (float value : values) {
+            writer.vertex(value, value, value, value);
+        }
+        writer.flush();
+        StringBuilder expected = new StringBuilder();
+        for (float value : values) {
+            String number = Float.toString(value);
+            expected.append("v ").append(number).append(' ').append(number).append(' ').append(number);
+            expected.append(value == 1f ? "" : " " + number).append('\n');
+        }
+        assertEquals(text.toString(), expected.toString());
+    }
 }
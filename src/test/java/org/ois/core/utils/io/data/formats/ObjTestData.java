@@ -0,0 +1,35 @@
+package org.ois.core.utils.io.data.formats;
+
+/**
+ * OBJ data shared by the mesh tests.
+ */
+final class ObjTestData {
+
+    private ObjTestData() {
+    }
+
+    /**
+     * Creates a flat grid of quads in the z = 0 plane, with the texture coordinates of the corners and a shared normal.
+     * The faces mix absolute and relative indexes and the lines hold comments.
+     *
+     * @param size the number of quads in each direction
+     * @return the OBJ data of the grid
+     */
+    static String createGrid(int size) {
+        StringBuilder data = new StringBuilder("# Grid\n");
+        for (int x = 0; x <= size; x++) {
+            for (int y = 0; y <= size; y++) {
+                data.append("v ").append(x).append(' ').append(y).append(" 0\n");
+                data.append("vt ").append(x / (float) size).append(' ').append(y / (float) size).append('\n');
+            }
+        }
+        data.append("vn 0 0 1\n\n");
+        for (int x = 0; x < size; x++) {
+            for (int y = 0; y < size; y++) {
+                int corner = x * (size + 1) + y + 1;
+                data.append(String.format("f %d/%d/1 %d/%d/-1 %d/%d/1 %d/%d/1 # quad\n", corner, corner, corner + size + 1, corner + size + 1, corner + size + 2, corner + size + 2, corner + 1, corner + 1));
+            }
+        }
+        return data.toString();
+    }
+}
@@ -0,0 +1,82 @@
+package org.ois.core.utils.io.data.properties;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.math.Vector3;
+import org.ois.core.utils.io.data.DataNode;
+import org.ois.core.utils.math.Transform;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class PropertiesTest {
+
+    @Test
+    public void testLoadInPlace() {
+        Property<Vector3> position = Properties.vector3("position");
+        position.loadData(DataNode.Object().set("position", DataNode.Object().set("x", 1).set("y", 2).set("z", 3)));
+        Vector3 loaded = position.get();
+        Assert.assertEquals(loaded, new Vector3(1, 2, 3));
+
+        // Reloading reuses the instance, attributes that are missing are reset
+        position.loadData(DataNode.Object().set("position", DataNode.Object().set("x", 5)));
+        Assert.assertSame(position.get(), loaded);
+        Assert.assertEquals(loaded, new Vector3(5, 0, 0));
+
+        Property<Transform> transform = Properties.transform("transform");
+        transform.loadData(DataNode.Object().set("transform", DataNode.Object()
+                .set("position", DataNode.Object().set("x", 1))
+                .set("scale", DataNode.Object().set("x", 2).set("y", 2).set("z", 2))));
+        Transform loadedTransform = transform.get();
+        Vector3 scale = loadedTransform.scale;
+        transform.loadData(DataNode.Object().set("transform", DataNode.Object().set("scale", DataNode.Object().set("y", 4))));
+        Assert.assertSame(transform.get(), loadedTransform);
+        Assert.assertSame(loadedTransform.scale, scale);
+        Assert.assertEquals(loadedTransform.scale, new Vector3(0, 4, 0));
+        Assert.assertEquals(loadedTransform.position, new Vector3());
+    }
+
+    @Test
+    public void testSharedValuesNotModified() {
+        Vector3 defaultValue = new Vector3(1, 1, 1);
+        Property<Vector3> scale = Properties.vector3("scale").setOptional(true).setDefaultValue(defaultValue);
+        scale.loadData(DataNode.Object().set("scale", DataNode.Object().set("x", 3)));
+        Assert.assertEquals(defaultValue, new Vector3(1, 1, 1), "The default value should not be modified.");
+        Assert.assertEquals(scale.get(), new Vector3(3, 0, 0));
+
+        Property<Color> color = Properties.color("color");
+        color.loadData(DataNode.Object().set("color", "green"));
+        Assert.assertSame(color.get(), Color.GREEN);
+        color.loadData(DataNode.Object().set("color", DataNode.Object().set("r", 0.5f)));
+        Assert.assertEquals(Color.GREEN, new Color(0, 1, 0, 1), "Named colors should not be modified.");
+        Color loaded = color.get();
+        Assert.assertEquals(loaded, new Color(0.5f, 0, 0, 0));
+        color.loadData(DataNode.Object().set("color", DataNode.Object().set("g", 0.25f)));
+        Assert.assertSame(color.get(), loaded);
+        Assert.assertEquals(loaded, new Color(0, 0.25f, 0, 0));
+    }
+
+    @Test
+    public void testSetValuesNotModified() {
+        Vector3 shared = new Vector3(1, 2, 3);
+        Property<Vector3> position = Properties.vector3("position");
+        position.set(shared);
+        position.loadData(DataNode.Object().set("position", DataNode.Object().set("x", 7)));
+        Assert.assertEquals(shared, new Vector3(1, 2, 3), "Values given with set() should not be modified.");
+        Assert.assertNotSame(position.get(), shared);
+        Assert.assertEquals(position.get(), new Vector3(7, 0, 0));
+
+        // The instance loaded by the property is reused again
+        Vector3 loaded = position.get();
+        position.loadData(DataNode.Object().set("position", DataNode.Object().set("y", 1)));
+        Assert.assertSame(position.get(), loaded);
+
+        Property<Vector3> zero = Properties.vector3("zero");
+        zero.set(Vector3.Zero);
+        zero.loadData(DataNode.Object().set("zero", DataNode.Object().set("z", 9)));
+        Assert.assertEquals(Vector3.Zero, new Vector3(), "Shared constants should not be modified.");
+
+        Property<Color> color = Properties.color("color");
+        color.set(Color.CLEAR);
+        color.loadData(DataNode.Object().set("color", DataNode.Object().set("r", 1)));
+        Assert.assertEquals(Color.CLEAR, new Color(0, 0, 0, 0), "Shared colors should not be modified.");
+    }
+}